@@ -73,6 +73,7 @@ jest.mock("vscode-languageclient", () => ({
 jest.mock("../services/reporter/TelemetryService");
 jest.mock("../services/copybook/CopybookMessageHandler", () => ({
     resolveCopybookHandler: jest.fn(),
+    resolveCopybooksHandler: jest.fn(),
     downloadCopybookHandler: jest.fn(),
 }));
 
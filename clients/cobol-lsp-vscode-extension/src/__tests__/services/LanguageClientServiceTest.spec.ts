@@ -111,6 +111,24 @@ describe("LanguageClientService positive scenario", () => {
         });
     });
 
+    test("Test LanguageClientService passes the copybook cache path to the server", async () => {
+        LanguageClient.prototype.start = jest.fn().mockReturnValue(Promise.resolve());
+        const serverPath = join("/test", "server", "jar", "server.jar");
+        const expectedDialectPath = join("/test", "server", "jar", "dialects");
+        const expectedCachePath = join("/storage", "cache");
+        languageClientService = new LanguageClientService(jest.fn() as any, "/storage");
+        expect(await languageClientService.start()).toBe(undefined);
+        expect(LanguageClient).toHaveBeenLastCalledWith(SERVER_ID, SERVER_DESC, {
+            args: ["-Dline.separator=\r\n", `-Ddialect.path=${expectedDialectPath}`, `-Dcopybook.cache.path=${expectedCachePath}`,
+                "-Xmx768M", "-jar", serverPath, "pipeEnabled"],
+            command: "java",
+            options: {detached: false},
+        }, {
+            documentSelector: [SERVER_ID],
+            outputChannel: expect.any(Function),
+        });
+    });
+
     test("LanguageClientService starts the language server when port is provided", async () => {
         new JavaCheck().isJavaInstalled = jest.fn().mockResolvedValue(true);
         vscode.workspace.getConfiguration(expect.any(String)).get = jest.fn().mockReturnValue(9999);
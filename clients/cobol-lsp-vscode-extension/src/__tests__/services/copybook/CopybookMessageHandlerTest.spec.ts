@@ -12,7 +12,7 @@
  *   Broadcom, Inc. - initial API and implementation
  */
 
-import { resolveCopybookHandler } from "../../../services/copybook/CopybookMessageHandler";
+import { resolveCopybookHandler, resolveCopybooksHandler } from "../../../services/copybook/CopybookMessageHandler";
 import { CopybookURI } from "../../../services/copybook/CopybookURI";
 import { SettingsService } from "../../../services/Settings";
 import { searchCopybookInWorkspace } from "../../../services/util/FSUtils";
@@ -52,4 +52,12 @@ describe("Test the copybook message handler", () => {
             .mockReturnValue("Downloaded USS copybook content");
         expect(resolveCopybookHandler("cobolFileName", "copybookName", "dialectType")).toBe("Downloaded USS copybook content");
     });
+
+    it("checks several copybooks are resolved in one call", () => {
+        SettingsService.getCopybookExtension = jest.fn().mockReturnValue([".cpy"]);
+        SettingsService.getCopybookLocalPath = jest.fn().mockReturnValue("/configured/path/from/setting");
+        (searchCopybookInWorkspace as any) = jest.fn().mockReturnValueOnce("first copybook").mockReturnValueOnce("second copybook");
+        expect(resolveCopybooksHandler("cobolFileName", ["first", "second"], "dialectType"))
+            .toEqual(["first copybook", "second copybook"]);
+    });
 })
@@ -26,6 +26,7 @@ import { initSmartTab, RangeTabShiftStore } from "./commands/SmartTabCommand";
 import {
     downloadCopybookHandler,
     resolveCopybookHandler,
+    resolveCopybooksHandler,
 } from "./services/copybook/CopybookMessageHandler";
 import { DialectRegistry } from "./services/DialectRegistry";
 import { LanguageClientService } from "./services/LanguageClientService";
@@ -40,18 +41,18 @@ let languageClientService: LanguageClientService;
 let outputChannel: vscode.OutputChannel;
 const API_VERSION: string = "1.0";
 
-function initialize() {
+function initialize(context: vscode.ExtensionContext) {
     // We need lazy initialization to be able to mock this for unit testing
     const copyBooksDownloader = new CopybookDownloadService();
     outputChannel = vscode.window.createOutputChannel("COBOL Language Support");
-    languageClientService = new LanguageClientService(outputChannel);
+    languageClientService = new LanguageClientService(outputChannel, context.storageUri?.fsPath);
     const configurationWatcher = new  ConfigurationWatcher();
     return {copyBooksDownloader, configurationWatcher};
 }
 
 export async function activate(context: vscode.ExtensionContext) {
     DialectRegistry.clear();
-    const {copyBooksDownloader, configurationWatcher} = initialize();
+    const {copyBooksDownloader, configurationWatcher} = initialize(context);
     initSmartTab(context);
 
     TelemetryService.registerEvent("log", ["bootstrap", "experiment-tag"], "Extension activation event was triggered");
@@ -85,6 +86,7 @@ export async function activate(context: vscode.ExtensionContext) {
     // Custom client handlers
     languageClientService.addRequestHandler("cobol/resolveSubroutine", resolveSubroutineURI);
     languageClientService.addRequestHandler("copybook/resolve", resolveCopybookHandler);
+    languageClientService.addRequestHandler("copybook/resolveAll", resolveCopybooksHandler);
     languageClientService.addRequestHandler("copybook/download", downloadCopybookHandler.bind(copyBooksDownloader));
     languageClientService.addRequestHandler("workspace/configuration", configHandler);
 
@@ -37,7 +37,7 @@ export class LanguageClientService {
     private isNativeBuildEnabled: boolean = false;
     private executableService: NativeExecutableService;
 
-    constructor(private outputChannel: vscode.OutputChannel) {
+    constructor(private outputChannel: vscode.OutputChannel, private storagePath?: string) {
         const ext = vscode.extensions.getExtension(extensionId);
         this.executablePath = join(ext.extensionPath, "server", "jar", "server.jar");
         this.executableService = new NativeExecutableService(join(ext.extensionPath, "server"));
@@ -129,8 +129,9 @@ export class LanguageClientService {
                 return Promise.resolve(result);
             };
         }
+        const cacheArgs = this.storagePath ? ["-Dcopybook.cache.path=" + join(this.storagePath, "cache")] : [];
         return {
-            args: ["-Dline.separator=\r\n", "-Ddialect.path=" + this.dialectsPath, "-Xmx768M", "-jar", jarPath, "pipeEnabled"],
+            args: ["-Dline.separator=\r\n", "-Ddialect.path=" + this.dialectsPath, ...cacheArgs, "-Xmx768M", "-jar", jarPath, "pipeEnabled"],
             command: "java",
             options: { detached: false },
         };
@@ -36,6 +36,10 @@ export function resolveCopybookHandler(cobolFileName: string, copybookName: stri
     return result;
 }
 
+export function resolveCopybooksHandler(cobolFileName: string, copybookNames: string[], dialectType: string): string[] {
+    return copybookNames.map(copybookName => resolveCopybookHandler(cobolFileName, copybookName, dialectType));
+}
+
 function searchCopybook(cobolFileName: string, copybookName: string, dialectType: string) {
     let result: string;
     for (let i = 0; i < Object.values(CopybookFolderKind).length; i++) {
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
+import org.eclipse.lsp.cobol.core.CobolLexer;
+import org.eclipse.lsp.cobol.core.CobolParser;
+import org.eclipse.lsp.cobol.core.engine.CobolLanguageEngine;
+import org.eclipse.lsp.cobol.core.engine.processor.AstProcessor;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolAccumulatorService;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.PreprocessorContext;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsingStrategy;
+import org.eclipse.lsp.cobol.core.visitor.CobolVisitor;
+import org.eclipse.lsp.cobol.service.settings.CachingConfigurationService;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.lsp.cobol.benchmarks.SyntheticProgram.URI;
+
+/**
+ * Benchmarks of the analysis stages in the order the language engine runs them, and of the whole
+ * analysis. Each stage gets the input prepared by the previous ones in the setup, so only the stage
+ * itself is measured. The stages that change their input get a fresh copy for each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisStagesBenchmark {
+  private static final int MAPPED_RANGES = 1000;
+
+  /** The program after the text preprocessing, before the copybooks are inserted */
+  @State(Scope.Thread)
+  public static class CleanSource {
+    ExtendedSource source;
+
+    /**
+     * Clean up the program text
+     *
+     * @param state the benchmark state
+     */
+    @Setup(Level.Invocation)
+    public void setUp(ProgramState state) {
+      source = cleanUp(state);
+    }
+  }
+
+  /** The program parsed once for the stages that don't change the parse tree */
+  @State(Scope.Benchmark)
+  public static class ParsedProgram {
+    ExtendedSource source;
+    CopybooksRepository copybooks;
+    CommonTokenStream tokens;
+    CobolParser.StartRuleContext tree;
+    List<Range> ranges;
+
+    /**
+     * Run the stages up to the parser
+     *
+     * @param state the benchmark state
+     */
+    @Setup(Level.Trial)
+    public void setUp(ProgramState state) {
+      source = cleanUp(state);
+      copybooks = runPreprocessor(state, source);
+      CobolLexer lexer = new CobolLexer(CharStreams.fromString(source.extendedText()));
+      lexer.removeErrorListeners();
+      tokens = new CommonTokenStream(lexer);
+      tree = runParser(state, tokens);
+      ranges = new ArrayList<>();
+      int lines = source.extendedText().split("\n", -1).length;
+      for (int i = 0; i < MAPPED_RANGES; i++) {
+        int line = (int) ((long) i * lines / MAPPED_RANGES);
+        ranges.add(new Range(new Position(line, 0), new Position(line, 1)));
+      }
+    }
+  }
+
+  /** The syntax tree built by the visitor, built for each invocation since the processing changes it */
+  @State(Scope.Thread)
+  public static class SyntaxTree {
+    List<Node> nodes;
+
+    /**
+     * Build the syntax tree
+     *
+     * @param state the benchmark state
+     * @param parsed the parsed program
+     */
+    @Setup(Level.Invocation)
+    public void setUp(ProgramState state, ParsedProgram parsed) {
+      nodes = buildSyntaxTree(state, parsed);
+    }
+  }
+
+  /**
+   * Clean up the program text, i.e. join the continuation lines and remove the comments and the
+   * sequence areas
+   *
+   * @param state the benchmark state
+   * @return the result of the text preprocessor
+   */
+  @Benchmark
+  public ResultWithErrors<TextTransformations> cleanUpCode(ProgramState state) {
+    return state.injector
+        .getInstance(TextPreprocessor.class)
+        .cleanUpCode(URI, state.program.getText());
+  }
+
+  /**
+   * Insert the copybooks and apply the replacing
+   *
+   * @param state the benchmark state
+   * @param clean the cleaned up program
+   * @return the copybooks used in the program
+   */
+  @Benchmark
+  public CopybooksRepository preprocess(ProgramState state, CleanSource clean) {
+    return runPreprocessor(state, clean.source);
+  }
+
+  /**
+   * Run the lexer and the parser on the preprocessed text
+   *
+   * @param state the benchmark state
+   * @param parsed the parsed program
+   * @return the parse tree
+   */
+  @Benchmark
+  public CobolParser.StartRuleContext parse(ProgramState state, ParsedProgram parsed) {
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(parsed.source.extendedText()));
+    lexer.removeErrorListeners();
+    return runParser(state, new CommonTokenStream(lexer));
+  }
+
+  /**
+   * Build the syntax tree from the parse tree
+   *
+   * @param state the benchmark state
+   * @param parsed the parsed program
+   * @return the syntax tree nodes
+   */
+  @Benchmark
+  public List<Node> visit(ProgramState state, ParsedProgram parsed) {
+    return buildSyntaxTree(state, parsed);
+  }
+
+  /**
+   * Run the AST processors: define the symbols, resolve the usages and validate the nodes
+   *
+   * @param state the benchmark state
+   * @param syntaxTree the syntax tree
+   * @return the errors found by the processors
+   */
+  @Benchmark
+  public List<SyntaxError> processSyntaxTree(ProgramState state, SyntaxTree syntaxTree) {
+    SymbolAccumulatorService symbols = new SymbolAccumulatorService();
+    ProcessingContext ctx =
+        new ProcessingContext(new ArrayList<>(), symbols, state.config.getDialectsSettings());
+    state.injector.getInstance(CobolLanguageEngine.class).registerProcessors(state.config, ctx, symbols);
+    return state.injector
+        .getInstance(AstProcessor.class)
+        .processSyntaxTree(ctx, syntaxTree.nodes.get(0));
+  }
+
+  /**
+   * Map the positions of the preprocessed text to the original documents
+   *
+   * @param parsed the parsed program
+   * @param blackhole the consumer of the locations
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @OperationsPerInvocation(MAPPED_RANGES)
+  public void mapLocation(ParsedProgram parsed, Blackhole blackhole) {
+    for (Range range : parsed.ranges) {
+      Location location = parsed.source.mapLocation(range);
+      blackhole.consume(location);
+    }
+  }
+
+  /**
+   * Run the whole analysis the same way the server does for an opened document
+   *
+   * @param state the benchmark state
+   * @return the analysis result
+   */
+  @Benchmark
+  public AnalysisResult analyze(ProgramState state) {
+    return state.injector
+        .getInstance(LanguageEngineFacade.class)
+        .analyze(URI, state.program.getText(), state.config);
+  }
+
+  private static ExtendedSource cleanUp(ProgramState state) {
+    return new ExtendedSource(
+        state.injector
+            .getInstance(TextPreprocessor.class)
+            .cleanUpCode(URI, state.program.getText())
+            .getResult());
+  }
+
+  private static CopybooksRepository runPreprocessor(ProgramState state, ExtendedSource source) {
+    CopybooksRepository copybooks =
+        state.injector
+            .getInstance(GrammarPreprocessor.class)
+            .preprocess(
+                new PreprocessorContext(
+                    URI,
+                    source,
+                    source.getMainMap(),
+                    state.config.getCopybookConfig(),
+                    new CopybookHierarchy(),
+                    new CopybooksRepository()))
+            .getResult();
+    source.commitTransformations();
+    return copybooks;
+  }
+
+  private static CobolParser.StartRuleContext runParser(ProgramState state, CommonTokenStream tokens) {
+    return state.injector
+        .getInstance(TwoStageParsingStrategy.class)
+        .parse(new CobolParser(tokens), new BaseErrorListener(), CobolParser::startRule);
+  }
+
+  private static List<Node> buildSyntaxTree(ProgramState state, ParsedProgram parsed) {
+    return new CobolVisitor(
+            parsed.copybooks,
+            parsed.tokens,
+            parsed.source,
+            state.injector.getInstance(MessageService.class),
+            state.injector.getInstance(SubroutineService.class),
+            Collections.emptyList(),
+            state.injector.getInstance(CachingConfigurationService.class))
+        .visit(parsed.tree);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.common.base.Defaults;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp.cobol.domain.modules.DatabusModule;
+import org.eclipse.lsp.cobol.domain.modules.EngineModule;
+import org.eclipse.lsp.cobol.domain.modules.ServiceModule;
+import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
+import org.eclipse.lsp.cobol.service.settings.SettingsService;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Creates the injector with the production bindings of the server. The client side is replaced with
+ * stubs: the client doesn't resolve any copybook, so all of them should be stored in the copybook
+ * service in advance, and the settings are empty, so the default configuration is used.
+ */
+@UtilityClass
+public class BenchmarkInjector {
+
+  /**
+   * Create the injector
+   *
+   * @return the injector with the server bindings
+   */
+  public Injector create() {
+    return Guice.createInjector(
+        Modules.override(new ServiceModule(), new EngineModule(), new DatabusModule())
+            .with(
+                new AbstractModule() {
+                  @Override
+                  protected void configure() {
+                    bind(CobolLanguageClient.class)
+                        .toInstance(stub(CobolLanguageClient.class, method -> null));
+                    bind(SettingsService.class)
+                        .toInstance(
+                            stub(
+                                SettingsService.class,
+                                method ->
+                                    "fetchConfiguration".equals(method.getName())
+                                        ? CompletableFuture.completedFuture(Collections.emptyList())
+                                        : null));
+                  }
+                }));
+  }
+
+  private <T> T stub(Class<T> type, Function<Method, Object> answer) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return type.getSimpleName() + " stub";
+                default:
+                  Object result = answer.apply(method);
+                  return result == null ? Defaults.defaultValue(method.getReturnType()) : result;
+              }
+            }));
+  }
+}
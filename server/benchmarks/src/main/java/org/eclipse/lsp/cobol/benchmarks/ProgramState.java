@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.inject.Injector;
+import org.eclipse.lsp.cobol.common.AnalysisConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The benchmark state shared by all the benchmarks: the server injector and the generated program
+ * with its copybooks stored in the copybook service. The size of the program and the depth of the
+ * copybooks are configured with the JMH parameters, e.g. <code>-p size=5000 -p copybookDepth=10
+ * </code>.
+ */
+@State(Scope.Benchmark)
+public class ProgramState {
+  @Param({"100", "1000"})
+  int size;
+
+  @Param({"0", "5"})
+  int copybookDepth;
+
+  Injector injector;
+  SyntheticProgram program;
+  AnalysisConfig config;
+
+  /** Create the injector and generate the program */
+  @Setup(Level.Trial)
+  public void setUp() {
+    injector = BenchmarkInjector.create();
+    program = new SyntheticProgram(size, copybookDepth);
+    config = AnalysisConfig.defaultConfig(CopybookProcessingMode.ENABLED);
+    CopybookService copybookService = injector.getInstance(CopybookService.class);
+    program.getCopybooks().forEach(copybook -> copybookService.store(copybook, true));
+  }
+}
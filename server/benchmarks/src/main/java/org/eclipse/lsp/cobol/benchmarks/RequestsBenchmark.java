@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
+import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.delegates.completions.Completions;
+import org.eclipse.lsp.cobol.service.delegates.hover.HoverProvider;
+import org.eclipse.lsp.cobol.service.delegates.references.Occurrences;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.lsp.cobol.benchmarks.SyntheticProgram.URI;
+
+/**
+ * Benchmarks of the LSP requests the user triggers while typing. The requests are resolved on the
+ * analysis result of the generated program, at a variable usage in the PROCEDURE DIVISION.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestsBenchmark {
+
+  /** The analyzed document and the position of the requests */
+  @State(Scope.Benchmark)
+  public static class AnalyzedDocument {
+    CobolDocumentModel document;
+    TextDocumentPositionParams position;
+    CompletionParams completion;
+
+    /**
+     * Analyze the program
+     *
+     * @param state the benchmark state
+     */
+    @Setup(Level.Trial)
+    public void setUp(ProgramState state) {
+      document =
+          new CobolDocumentModel(
+              state.program.getText(),
+              state.injector
+                  .getInstance(LanguageEngineFacade.class)
+                  .analyze(URI, state.program.getText(), state.config));
+      TextDocumentIdentifier identifier = new TextDocumentIdentifier(URI);
+      position = new TextDocumentPositionParams(identifier, state.program.getUsagePosition());
+      completion = new CompletionParams(identifier, state.program.getUsagePosition());
+    }
+  }
+
+  /**
+   * Collect the completion suggestions
+   *
+   * @param state the benchmark state
+   * @param analyzed the analyzed document
+   * @return the completion list
+   */
+  @Benchmark
+  public CompletionList completion(ProgramState state, AnalyzedDocument analyzed) {
+    return state.injector
+        .getInstance(Completions.class)
+        .collectFor(analyzed.document, analyzed.completion);
+  }
+
+  /**
+   * Find the hover information of the variable
+   *
+   * @param state the benchmark state
+   * @param analyzed the analyzed document
+   * @return the hover
+   */
+  @Benchmark
+  public Hover hover(ProgramState state, AnalyzedDocument analyzed) {
+    return state.injector
+        .getInstance(HoverProvider.class)
+        .getHover(analyzed.document, analyzed.position);
+  }
+
+  /**
+   * Find the definition of the variable
+   *
+   * @param state the benchmark state
+   * @param analyzed the analyzed document
+   * @return the definition locations
+   */
+  @Benchmark
+  public List<Location> definition(ProgramState state, AnalyzedDocument analyzed) {
+    return state.injector
+        .getInstance(Occurrences.class)
+        .findDefinitions(analyzed.document, analyzed.position);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import lombok.Getter;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp4j.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated COBOL program of the given size. The program has a group of variables and a paragraph
+ * with several statements for each step of the size, and includes a chain of nested copybooks of the
+ * given depth. The generated code is free of errors, so the benchmarks measure the common path of
+ * the analysis.
+ */
+@Getter
+public class SyntheticProgram {
+  public static final String URI = "file:///c:/workspace/BENCHMARK.cbl";
+  private static final String AREA_A = "       ";
+  private static final String AREA_B = "           ";
+
+  private final String text;
+  private final List<CopybookModel> copybooks = new ArrayList<>();
+  /** The position of a variable usage in the PROCEDURE DIVISION, used for the LSP requests */
+  private final Position usagePosition;
+
+  /**
+   * Generate the program
+   *
+   * @param size the number of the variable groups and the paragraphs
+   * @param copybookDepth the depth of the nested copybooks chain, no copybooks if it is 0
+   */
+  public SyntheticProgram(int size, int copybookDepth) {
+    List<String> lines = new ArrayList<>();
+    lines.add(AREA_A + "IDENTIFICATION DIVISION.");
+    lines.add(AREA_A + "PROGRAM-ID. BENCHMARK.");
+    lines.add(AREA_A + "DATA DIVISION.");
+    lines.add(AREA_A + "WORKING-STORAGE SECTION.");
+    for (int i = 0; i < size; i++) {
+      lines.add(AREA_A + "01 WS-GROUP-" + i + ".");
+      lines.add(AREA_B + "05 WS-NUM-" + i + " PIC 9(5) VALUE " + i + ".");
+      lines.add(AREA_B + "05 WS-TEXT-" + i + " PIC X(20).");
+    }
+    if (copybookDepth > 0) {
+      lines.add(AREA_A + "COPY CPY0.");
+    }
+    lines.add(AREA_A + "PROCEDURE DIVISION.");
+    int usageLine = lines.size() + 2;
+    for (int i = 0; i < size; i++) {
+      int next = (i + 1) % size;
+      lines.add(AREA_A + "PARA-" + i + ".");
+      lines.add(AREA_B + "ADD 1 TO WS-NUM-" + i + ".");
+      lines.add(AREA_B + "MOVE WS-NUM-" + i + " TO WS-NUM-" + next + ".");
+      lines.add(AREA_B + "IF WS-NUM-" + i + " > 10");
+      lines.add(AREA_B + "  DISPLAY WS-TEXT-" + i);
+      lines.add(AREA_B + "END-IF.");
+      if (i + 1 < size) {
+        lines.add(AREA_B + "PERFORM PARA-" + next + ".");
+      }
+    }
+    lines.add(AREA_B + "GOBACK.");
+    text = String.join("\n", lines) + "\n";
+    usagePosition = new Position(usageLine, AREA_B.length() + "MOVE ".length() + 1);
+
+    for (int depth = 0; depth < copybookDepth; depth++) {
+      copybooks.add(createCopybook(depth, size, depth + 1 < copybookDepth));
+    }
+  }
+
+  private static CopybookModel createCopybook(int depth, int size, boolean nested) {
+    String name = "CPY" + depth;
+    List<String> lines = new ArrayList<>();
+    lines.add(AREA_A + "01 " + name + "-GROUP.");
+    for (int i = 0; i < size; i++) {
+      lines.add(AREA_B + "05 " + name + "-FIELD-" + i + " PIC X(10).");
+    }
+    if (nested) {
+      lines.add(AREA_A + "COPY CPY" + (depth + 1) + ".");
+    }
+    CopybookName copybookName = new CopybookName(name);
+    return new CopybookModel(
+        copybookName.toCopybookId(URI),
+        copybookName,
+        "file:///c:/workspace/.copybooks/" + name + ".cpy",
+        String.join("\n", lines) + "\n");
+  }
+}
@@ -16,6 +16,8 @@ package org.eclipse.lsp.cobol.common.copybook;
 
 import lombok.NonNull;
 
+import java.util.List;
+
 /**
  * Provide API definition to search for copybooks files. The service also caches copybook to reduce
  * filesystem load.
@@ -24,6 +26,14 @@ public interface CopybookService {
   /** Remove all the stored copybook. */
   void invalidateCache();
 
+  /**
+   * Remove the stored copybooks loaded from the given URI, so they are read again on the next
+   * resolution. The other stored copybooks are kept.
+   *
+   * @param copybookUri - the URI of the changed copybook file
+   */
+  void invalidateCache(String copybookUri);
+
   /**
    * Retrieve and return the copybook by its name.
    *
@@ -44,6 +54,26 @@ public interface CopybookService {
       @NonNull CopybookConfig copybookConfig,
       boolean preprocess);
 
+  /**
+   * Resolve the given copybooks in advance, so the following calls of {@link #resolve} for them are
+   * served from the cache. The default implementation does nothing.
+   *
+   * @param copybookNames - the names of the copybooks used in the document
+   * @param programDocumentUri - the currently processing program document
+   * @param documentUri - the currently processing document that contains the copy statements
+   * @param copybookConfig - contains config info like: copybook processing mode, target backend sql
+   *     server
+   * @param preprocess - indicates if copybooks need to be preprocessed after resolving
+   */
+  default void prefetch(
+      @NonNull List<CopybookName> copybookNames,
+      @NonNull String programDocumentUri,
+      @NonNull String documentUri,
+      @NonNull CopybookConfig copybookConfig,
+      boolean preprocess) {
+    // Copybooks are resolved one by one on demand
+  }
+
   /**
    * Store the copybookModel in cache. Copybook depends on a document from where it is imported.
    *
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.dialects;
+
+import com.google.common.io.Resources;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.dfa.DFA;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The runtime of an ANTLR grammar. The DFA of the generated lexer and parser is static, so it is
+ * reached through a probe instance that never parses anything. The sample sources are stored in the
+ * resources under the "warmup" folder of the module that contains the lexer, the empty lines
+ * separate the inputs of the start rule. The server and the dialects use it for their grammars.
+ *
+ * @param <P> the type of the parser
+ */
+@Slf4j
+public class AntlrParserRuntime<P extends Parser> implements ParserRuntime {
+  private static final String WARMUP_FOLDER = "/warmup/";
+
+  private final String name;
+  private final String sampleFile;
+  private final Function<CharStream, Lexer> lexerFactory;
+  private final Function<TokenStream, P> parserFactory;
+  private final Consumer<P> startRule;
+  private final Supplier<ANTLRErrorStrategy> errorStrategy;
+  private Lexer probeLexer;
+  private P probeParser;
+
+  public AntlrParserRuntime(
+      String name,
+      String sampleFile,
+      Function<CharStream, Lexer> lexerFactory,
+      Function<TokenStream, P> parserFactory,
+      Consumer<P> startRule,
+      Supplier<ANTLRErrorStrategy> errorStrategy) {
+    this.name = name;
+    this.sampleFile = sampleFile;
+    this.lexerFactory = lexerFactory;
+    this.parserFactory = parserFactory;
+    this.startRule = startRule;
+    this.errorStrategy = errorStrategy;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void warmUp() {
+    for (String sample : readSamples()) {
+      Lexer lexer = lexerFactory.apply(CharStreams.fromString(sample));
+      lexer.removeErrorListeners();
+      P parser = parserFactory.apply(new CommonTokenStream(lexer));
+      parser.removeErrorListeners();
+      parser.setErrorHandler(errorStrategy.get());
+      startRule.accept(parser);
+    }
+  }
+
+  @Override
+  public long getCacheSize() {
+    initProbe();
+    return countStates(probeLexer.getInterpreter().decisionToDFA)
+        + countStates(probeParser.getInterpreter().decisionToDFA);
+  }
+
+  @Override
+  public void clearCache() {
+    initProbe();
+    probeLexer.getInterpreter().clearDFA();
+    probeParser.getInterpreter().clearDFA();
+  }
+
+  private synchronized void initProbe() {
+    if (probeParser == null) {
+      probeLexer = lexerFactory.apply(CharStreams.fromString(""));
+      probeParser = parserFactory.apply(new CommonTokenStream(probeLexer));
+    }
+  }
+
+  private List<String> readSamples() {
+    initProbe();
+    try {
+      String text =
+          Resources.toString(Resources.getResource(probeLexer.getClass(), WARMUP_FOLDER + sampleFile), UTF_8);
+      return Arrays.asList(text.split("\\r?\\n\\s*\\r?\\n"));
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Cannot read the warm-up sources of the {} parser: {}", name, e.getMessage());
+      return Collections.emptyList();
+    }
+  }
+
+  private static long countStates(DFA[] decisionToDFA) {
+    long states = 0;
+    for (DFA dfa : decisionToDFA) {
+      states += dfa.states.size();
+    }
+    return states;
+  }
+}
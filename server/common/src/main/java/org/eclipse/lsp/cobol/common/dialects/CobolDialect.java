@@ -95,4 +95,13 @@ public interface CobolDialect {
     return ImmutableList.of();
   }
 
+  /**
+   * Return a list of the parser runtimes of the dialect to warm up and monitor
+   *
+   * @return a list of parser runtimes
+   */
+  default List<ParserRuntime> getParserRuntimes() {
+    return ImmutableList.of();
+  }
+
 }
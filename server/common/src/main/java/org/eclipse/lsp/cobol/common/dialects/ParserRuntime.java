@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.dialects;
+
+/**
+ * The runtime of a parser that keeps its prediction cache between the parsings. The cache is shared
+ * by all the instances of the parser, so it is filled once by parsing the sample sources and cleared
+ * when it grows too big.
+ */
+public interface ParserRuntime {
+  /**
+   * Gets the name of the parser
+   *
+   * @return the name of the parser
+   */
+  String getName();
+
+  /** Parse the bundled sample sources to fill the prediction cache */
+  void warmUp();
+
+  /**
+   * Gets the size of the prediction cache
+   *
+   * @return the number of the cached states of the lexer and the parser
+   */
+  long getCacheSize();
+
+  /** Drop the prediction cache of the lexer and the parser */
+  void clearCache();
+}
@@ -117,24 +117,17 @@ public class DocumentMap {
     if (checkCommitted && topTransformations().isChanged()) {
       throw new IllegalStateException("There are uncommitted changes in document map " + uri);
     }
-    if (mappings.isEmpty()) {
-      return extLocation;
+    Location location = extLocation;
+    for (MappingService mappingService : mappings) {
+      if (!Objects.equals(location.getUri(), uri)) {
+        break;
+      }
+      location =
+          mappingService
+              .getOriginalLocation(location.getRange())
+              .orElseThrow(IllegalStateException::new);
     }
-    LinkedList<MappingService> maps = new LinkedList<>(mappings);
-    return mapLocation(extLocation, maps);
-  }
-
-  private Location mapLocation(Location location, LinkedList<MappingService> maps) {
-    if (maps.isEmpty() || !Objects.equals(location.getUri(), uri)) {
-      return location;
-    }
-    MappingService mappingService = maps.pop();
-    Location originalLocation =
-        mappingService
-            .getOriginalLocation(location.getRange())
-            .orElseThrow(IllegalStateException::new);
-
-    return mapLocation(originalLocation, maps);
+    return location;
   }
 
   private TextTransformations topTransformations() {
@@ -144,4 +137,13 @@ public class DocumentMap {
   public String getText() {
     return topTransformations().getText();
   }
+
+  /**
+   * Get the line index of the current text, i.e. the text with all committed transformations
+   *
+   * @return the line index of the text
+   */
+  public LineIndex getLineIndex() {
+    return topTransformations().getLineIndex();
+  }
 }
@@ -37,6 +37,11 @@ public class ExtendedSource {
     documents.put(textTransformations.getUri(), new DocumentMap(textTransformations));
   }
 
+  public ExtendedSource(DocumentMap documentMap) {
+    mainUri = documentMap.getUri();
+    documents.put(documentMap.getUri(), documentMap);
+  }
+
   public String getUri() {
     return mainUri;
   }
@@ -128,6 +133,15 @@ public class ExtendedSource {
     documents.put(copybookMap.getUri(), copybookMap);
   }
 
+  /**
+   * Add all the document maps of the given source to this one, replacing the maps with the same URIs
+   *
+   * @param source the source to take the document maps from
+   */
+  public void merge(ExtendedSource source) {
+    documents.putAll(source.documents);
+  }
+
   public DocumentMap getMainMap() {
     return documents.get(mainUri);
   }
@@ -136,6 +150,16 @@ public class ExtendedSource {
     return documents.get(mainUri).getText();
   }
 
+  /**
+   * Get the line index of the current text. It is built once for every committed text version, so
+   * the dialects may share it to convert offsets to positions.
+   *
+   * @return the line index of the text
+   */
+  public LineIndex getLineIndex() {
+    return documents.get(mainUri).getLineIndex();
+  }
+
   /**
    * Insert copybook content as a text document after defined line
    *
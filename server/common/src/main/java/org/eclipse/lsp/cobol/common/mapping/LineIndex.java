@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.mapping;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.eclipse.lsp4j.Position;
+
+import java.util.Arrays;
+
+/**
+ * An index of the line start offsets of a text. It converts the offsets in the text to positions
+ * and back without scanning the text, and gives access to the separate lines. The lines are
+ * separated by the '\n' character, which belongs to the line it terminates, so the text always has
+ * one line more than it has separators. The index is immutable and built in one pass over the text.
+ */
+public final class LineIndex {
+  @Getter private final String text;
+  private final int[] lineStarts;
+
+  public LineIndex(@NonNull String text) {
+    this.text = text;
+    int count = 1;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        count++;
+      }
+    }
+    lineStarts = new int[count];
+    int line = 1;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        lineStarts[line++] = i + 1;
+      }
+    }
+  }
+
+  /**
+   * Get the number of lines in the text
+   *
+   * @return the line count
+   */
+  public int getLineCount() {
+    return lineStarts.length;
+  }
+
+  /**
+   * Get the offset of the first character of the line
+   *
+   * @param line the line number
+   * @return the offset in the text
+   */
+  public int getLineStart(int line) {
+    return lineStarts[line];
+  }
+
+  /**
+   * Get the offset right after the end of the line including its line separator
+   *
+   * @param line the line number
+   * @return the offset in the text
+   */
+  public int getLineEnd(int line) {
+    return line + 1 < lineStarts.length ? lineStarts[line + 1] : text.length();
+  }
+
+  /**
+   * Get the content of the line without the '\n' separator
+   *
+   * @param line the line number
+   * @return the line text
+   */
+  public String getLine(int line) {
+    int end = getLineEnd(line);
+    if (end > lineStarts[line] && text.charAt(end - 1) == '\n') {
+      end--;
+    }
+    return text.substring(lineStarts[line], end);
+  }
+
+  /**
+   * Convert the offset in the text to the position
+   *
+   * @param offset the offset from 0 to the text length inclusive
+   * @return the position of the offset
+   */
+  public Position toPosition(int offset) {
+    if (offset < 0 || offset > text.length()) {
+      throw new StringIndexOutOfBoundsException(offset);
+    }
+    int line = Arrays.binarySearch(lineStarts, offset);
+    if (line < 0) {
+      line = -line - 2;
+    }
+    return new Position(line, offset - lineStarts[line]);
+  }
+
+  /**
+   * Convert the position to the offset in the text
+   *
+   * @param position the position inside the text
+   * @return the offset of the position
+   */
+  public int toOffset(Position position) {
+    int line = position.getLine();
+    if (line < 0 || line >= lineStarts.length || position.getCharacter() < 0
+        || lineStarts[line] + position.getCharacter() > getLineEnd(line)) {
+      throw new StringIndexOutOfBoundsException(
+          "Position " + line + ":" + position.getCharacter() + " is outside of the text");
+    }
+    return lineStarts[line] + position.getCharacter();
+  }
+}
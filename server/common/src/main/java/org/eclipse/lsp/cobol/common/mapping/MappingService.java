@@ -52,9 +52,15 @@ public class MappingService {
 
   @Getter
   private final List<MappingItem> localityMap;
+  /** Sorted first extended lines of the segments the extended document is split into */
+  private final int[] segmentStarts;
+  /** Indexes of the mapping items covering each segment, in descending order */
+  private final int[][] segmentItems;
 
   public MappingService(TextTransformations textTransformations) {
-    localityMap = new ArrayList<>(buildLocalityMap(textTransformations));
+    localityMap = Collections.unmodifiableList(new ArrayList<>(buildLocalityMap(textTransformations)));
+    segmentStarts = buildSegmentStarts(localityMap);
+    segmentItems = buildSegmentItems(localityMap, segmentStarts);
   }
 
   /**
@@ -145,12 +151,61 @@ public class MappingService {
             });
   }
 
+  /**
+   * Finds the last mapping item that contains the start of the given range. The candidates are
+   * taken from the segment index, so only the items covering the line of the range are checked.
+   */
   private Optional<MappingItem> findRangeAndLocation(Range range) {
-    List<MappingItem> list = localityMap.stream().filter(p -> MappingHelper.rangeIn(range, p.extendedRange)).collect(Collectors.toList());
-    if (list.size() == 0) {
+    int segment = Arrays.binarySearch(segmentStarts, range.getStart().getLine());
+    if (segment < 0) {
+      segment = -segment - 2;
+    }
+    if (segment < 0) {
       return Optional.empty();
     }
-    return Optional.of(list.get(list.size() - 1));
+    for (int index : segmentItems[segment]) {
+      MappingItem item = localityMap.get(index);
+      if (MappingHelper.rangeIn(range, item.extendedRange)) {
+        return Optional.of(item);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static int[] buildSegmentStarts(List<MappingItem> items) {
+    TreeSet<Integer> bounds = new TreeSet<>();
+    for (MappingItem item : items) {
+      bounds.add(firstLine(item));
+      bounds.add(lastLine(item) + 1);
+    }
+    return bounds.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static int[][] buildSegmentItems(List<MappingItem> items, int[] segmentStarts) {
+    List<Deque<Integer>> segments = new ArrayList<>(segmentStarts.length);
+    for (int i = 0; i < segmentStarts.length; i++) {
+      segments.add(new ArrayDeque<>());
+    }
+    for (int index = 0; index < items.size(); index++) {
+      MappingItem item = items.get(index);
+      int last = lastLine(item);
+      for (int segment = Arrays.binarySearch(segmentStarts, firstLine(item));
+           segment < segmentStarts.length && segmentStarts[segment] <= last;
+           segment++) {
+        segments.get(segment).push(index);
+      }
+    }
+    return segments.stream()
+        .map(segment -> segment.stream().mapToInt(Integer::intValue).toArray())
+        .toArray(int[][]::new);
+  }
+
+  private static int firstLine(MappingItem item) {
+    return item.extendedRange.getStart().getLine();
+  }
+
+  private static int lastLine(MappingItem item) {
+    return Math.max(firstLine(item), item.extendedRange.getEnd().getLine());
   }
 
   /**
@@ -205,8 +260,7 @@ public class MappingService {
       result.addAll(map);
     }
 
-    String[] originalLines = textTransformations.getText().split("\\r?\\n", -1);
-    int size = originalLines.length;
+    int size = textTransformations.getLineCount();
 
     MappingItem last = new MappingItem(new Range(new Position(extendedDocumentLine, 0), new Position(extendedDocumentLine + size - 1, LINE_LEN)),
         new Location(textTransformations.getUri(), new Range(new Position(originalDocumentLine, 0), new Position(originalDocumentLine + size - 1, LINE_LEN))), null);
@@ -243,12 +297,12 @@ public class MappingService {
     ranges = ranges.stream().filter(r -> affectsToMapping(r, replacements.get(r))).collect(Collectors.toList());
     ranges.sort(Comparator.comparingInt(e -> e.getStart().getLine()));
 
+    String[] lines = text.split("\\r?\\n");
     for (Range range : ranges) {
       if (MappingHelper.size(range) <= 1) {
         continue;
       }
 
-      String[] lines =  text.split("\\r?\\n");
       List<MappingItem> iterationMap = new LinkedList<>(localityMap);
       for (MappingItem item : iterationMap) {
         if (MappingHelper.rangeIn(range, item.originalLocation.getRange())) {
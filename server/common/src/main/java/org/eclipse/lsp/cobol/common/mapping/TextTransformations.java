@@ -14,12 +14,18 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This value class represents the extended document hierarchy. It's possible to construct extended
@@ -28,20 +34,79 @@ import java.util.*;
 @Data
 @RequiredArgsConstructor
 public class TextTransformations {
-  public static final String REGEX_KEEP_NEW_LINES = "(?<=\\r?\\n)";
+  private static final AtomicLong STAMPS = new AtomicLong();
+
   private final String text;
   private final String uri;
   private final Map<Range, TextTransformations> extensions = new HashMap<>();
   private final Set<Integer> inserts = new HashSet<>();
   private final Map<Range, String> replacements = new HashMap<>();
 
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private LineIndex lineIndex;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private long stamp;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private String extendedText;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private long extendedTextStamp = -1;
+
   /**
-   * Apply all transformations and form resulting text
+   * Apply all transformations and form resulting text. The result is memoized and recalculated only
+   * if this object or any of the nested transformations were modified since the last call.
    *
    * @return text with all transformations
    */
   public String calculateExtendedText() {
-    StringBuilder eda = new StringBuilder();
+    long currentStamp = latestStamp();
+    if (extendedText == null || extendedTextStamp != currentStamp) {
+      extendedText = buildExtendedText();
+      extendedTextStamp = currentStamp;
+    }
+    return extendedText;
+  }
+
+  /**
+   * Calculate the number of lines in the original text
+   *
+   * @return the line count
+   */
+  public int getLineCount() {
+    return getLineIndex().getLineCount();
+  }
+
+  /**
+   * Get the index of the lines of the original text. It is built once on the first call.
+   *
+   * @return the line index
+   */
+  public LineIndex getLineIndex() {
+    if (lineIndex == null) {
+      lineIndex = new LineIndex(text);
+    }
+    return lineIndex;
+  }
+
+  private String buildExtendedText() {
+    if (!isChanged()) {
+      return text;
+    }
+    StringBuilder eda = new StringBuilder(text.length());
 
     LinkedList<Range> ranges = new LinkedList<>(extensions.keySet());
     ranges.addAll(replacements.keySet());
@@ -49,18 +114,17 @@ public class TextTransformations {
         Comparator.comparingInt((Range c) -> c.getStart().getLine())
             .thenComparingInt(c -> c.getStart().getCharacter()));
 
-    String[] lines = text.split(REGEX_KEEP_NEW_LINES, -1);
+    int lineCount = getLineCount();
     int lineNumber = 0;
     int linePos;
     Range currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
     Range prevRange = null;
-    while (currentRange != null && lineNumber < lines.length) {
+    while (currentRange != null && lineNumber < lineCount) {
       if (currentRange.getStart().getLine() > lineNumber) {
         if (prevRange != null && prevRange.getEnd().getLine() == lineNumber) {
-          eda.append(
-              lines[lineNumber], prevRange.getEnd().getCharacter(), lines[lineNumber].length());
+          appendLine(eda, lineNumber, prevRange.getEnd().getCharacter(), lineLength(lineNumber));
         } else {
-          eda.append(lines[lineNumber]);
+          appendLine(eda, lineNumber, 0, lineLength(lineNumber));
         }
         lineNumber++;
       } else if (currentRange.getStart().getLine() == lineNumber) {
@@ -69,7 +133,7 @@ public class TextTransformations {
         } else {
           linePos = 0;
         }
-        eda.append(lines[lineNumber], linePos, currentRange.getStart().getCharacter());
+        appendLine(eda, lineNumber, linePos, currentRange.getStart().getCharacter());
         String replace;
         if (extensions.containsKey(currentRange)) {
           TextTransformations mappable = extensions.get(currentRange);
@@ -78,7 +142,7 @@ public class TextTransformations {
           replace = replacements.get(currentRange);
         }
         if (inserts.contains(lineNumber)) {
-          eda.append(lines[lineNumber]);
+          appendLine(eda, lineNumber, 0, lineLength(lineNumber));
           prevRange = currentRange;
           currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
           eda.append(replace);
@@ -92,16 +156,52 @@ public class TextTransformations {
         currentRange = ranges.isEmpty() ? null : ranges.removeFirst();
       }
     }
-    for (int i = lineNumber; i < lines.length; i++) {
+    for (int i = lineNumber; i < lineCount; i++) {
       if (prevRange != null && prevRange.getEnd().getLine() == i) {
-        eda.append(lines[i], prevRange.getEnd().getCharacter(), lines[i].length());
+        appendLine(eda, i, prevRange.getEnd().getCharacter(), lineLength(i));
       } else {
-        eda.append(lines[i]);
+        appendLine(eda, i, 0, lineLength(i));
       }
     }
     return eda.toString();
   }
 
+  /**
+   * Find the stamp of the latest modification of this object or any of the nested transformations.
+   * Every modification takes a new stamp from the global sequence, so the result grows after any
+   * change in the hierarchy, including the replacement of a nested object with an older one.
+   *
+   * @return the latest stamp
+   */
+  private long latestStamp() {
+    long result = stamp;
+    for (TextTransformations extension : extensions.values()) {
+      result = Math.max(result, extension.latestStamp());
+    }
+    return result;
+  }
+
+  private void modified() {
+    stamp = STAMPS.incrementAndGet();
+  }
+
+  private void appendLine(StringBuilder builder, int line, int from, int to) {
+    if (from < 0 || from > to || to > lineLength(line)) {
+      throw new StringIndexOutOfBoundsException(
+          "Line " + line + " has no characters from " + from + " to " + to);
+    }
+    int lineStart = getLineIndex().getLineStart(line);
+    builder.append(text, lineStart + from, lineStart + to);
+  }
+
+  /**
+   * Calculate the length of the line including its line separator
+   */
+  private int lineLength(int line) {
+    LineIndex index = getLineIndex();
+    return index.getLineEnd(line) - index.getLineStart(line);
+  }
+
   /**
    * Replace copy statement with result of copybook substitution
    *
@@ -114,6 +214,7 @@ public class TextTransformations {
             new Position(range.getStart().getLine(), 0),
             new Position(range.getEnd().getLine(), range.getEnd().getCharacter()));
     extensions.put(extRange, textTransformations);
+    modified();
   }
 
   /**
@@ -129,6 +230,7 @@ public class TextTransformations {
             new Position(line, 80));
     extensions.put(extRange, textTransformations);
     inserts.add(line);
+    modified();
   }
 
   /**
@@ -139,6 +241,7 @@ public class TextTransformations {
    */
   public void replace(Range range, String newText) {
     replacements.put(range, newText);
+    modified();
   }
 
   /**
@@ -149,6 +252,7 @@ public class TextTransformations {
    */
   public void replace(Range range, TextTransformations textTransformations) {
     extensions.put(range, textTransformations);
+    modified();
   }
 
 
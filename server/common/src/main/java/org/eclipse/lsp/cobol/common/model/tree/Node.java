@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.common.model.tree;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,22 +22,35 @@ import lombok.ToString;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-/** The class represents a Node in source structure tree. */
+/**
+ * The class represents a Node in source structure tree.
+ *
+ * <p>The children are stored in an array that grows while the tree is built. The lists returned by
+ * {@link #getChildren()} are read-only snapshots: the children added or removed later are not
+ * visible in them, so the tree may be changed while it is traversed. Once the analysis is finished,
+ * the tree is frozen with {@link #freeze()}, and after that it can be read from several threads.
+ */
 @ToString
 @Getter
 @EqualsAndHashCode
 public abstract class Node {
+  private static final Node[] NO_CHILDREN = new Node[0];
+
   @Setter protected Locality locality;
   private final NodeType nodeType;
   private final String dialect;
 
-  @EqualsAndHashCode.Exclude private final List<Node> children = new CopyOnWriteArrayList<>();
+  @Getter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+  private Node[] childNodes = NO_CHILDREN;
+  @Getter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+  private int childCount;
+  @Getter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+  private boolean frozen;
   @EqualsAndHashCode.Exclude @ToString.Exclude @Setter private Node parent;
 
   protected Node(Locality location, NodeType nodeType, String dialect) {
@@ -67,8 +81,12 @@ public abstract class Node {
    * @param node a child node.
    */
   public void addChild(Node node) {
+    checkNotFrozen();
     node.setParent(this);
-    children.add(node);
+    if (childCount == childNodes.length) {
+      childNodes = Arrays.copyOf(childNodes, Math.max(4, childCount * 2));
+    }
+    childNodes[childCount++] = node;
   }
 
   /**
@@ -78,7 +96,84 @@ public abstract class Node {
    * @return true if this node contained the specified child
    */
   public boolean removeChild(Node node) {
-    return children.remove(node);
+    checkNotFrozen();
+    for (int i = 0; i < childCount; i++) {
+      if (childNodes[i].equals(node)) {
+        // A new array keeps the snapshots returned by getChildren unchanged
+        Node[] remaining = new Node[childNodes.length];
+        System.arraycopy(childNodes, 0, remaining, 0, i);
+        System.arraycopy(childNodes, i + 1, remaining, i, childCount - i - 1);
+        childNodes = remaining;
+        childCount--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Remove all the child nodes matching the filter in one pass.
+   *
+   * @param filter the filter of the children to remove
+   * @return the removed children in their order
+   */
+  public List<Node> removeChildren(Predicate<Node> filter) {
+    checkNotFrozen();
+    List<Node> removed = new ArrayList<>();
+    Node[] remaining = new Node[childNodes.length];
+    int remainingCount = 0;
+    for (int i = 0; i < childCount; i++) {
+      if (filter.test(childNodes[i])) {
+        removed.add(childNodes[i]);
+      } else {
+        remaining[remainingCount++] = childNodes[i];
+      }
+    }
+    if (!removed.isEmpty()) {
+      childNodes = remaining;
+      childCount = remainingCount;
+    }
+    return removed;
+  }
+
+  /**
+   * Get the child nodes. The returned list is a read-only snapshot of the current children.
+   *
+   * @return the list of the child nodes
+   */
+  @ToString.Include(name = "children")
+  public List<Node> getChildren() {
+    return childCount == 0 ? Collections.emptyList() : new ChildList(childNodes, childCount);
+  }
+
+  /**
+   * Freeze this node and all its children. The frozen nodes don't accept new or removed children,
+   * and their children arrays are trimmed to the size.
+   *
+   * @return the number of frozen nodes, including this one
+   */
+  public int freeze() {
+    int count = 0;
+    Iterator<Node> iterator = depthFirstIterator();
+    while (iterator.hasNext()) {
+      Node node = iterator.next();
+      if (node.childNodes.length > node.childCount) {
+        node.childNodes = Arrays.copyOf(node.childNodes, node.childCount);
+      }
+      node.frozen = true;
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Get an iterator over all nested children starting with this instance in the depth-first order.
+   * The iterator uses an explicit stack, so the depth of the tree is not limited by the call stack.
+   *
+   * @return the depth-first iterator
+   */
+  public Iterator<Node> depthFirstIterator() {
+    return new DepthFirstIterator(this);
   }
 
   /**
@@ -87,7 +182,21 @@ public abstract class Node {
    * @return the stream with all underline children.
    */
   public Stream<Node> getDepthFirstStream() {
-    return Stream.concat(Stream.of(this), children.stream().flatMap(Node::getDepthFirstStream));
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            depthFirstIterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /**
+   * Get a stream with the nested children of the given class starting with this instance.
+   *
+   * @param nodeClass the class of the required nodes
+   * @param <T> the type of the required nodes
+   * @return the stream with the underline children of the given class
+   */
+  public <T extends Node> Stream<T> getDepthFirstStream(Class<T> nodeClass) {
+    return getDepthFirstStream().filter(nodeClass::isInstance).map(nodeClass::cast);
   }
 
   /**
@@ -109,4 +218,90 @@ public abstract class Node {
   public Optional<ProgramNode> getProgram() {
     return getNearestParentByType(NodeType.PROGRAM).map(ProgramNode.class::cast);
   }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("The node is frozen and cannot be changed: " + nodeType);
+    }
+  }
+
+  /** The read-only view of the first elements of the children array */
+  private static final class ChildList extends AbstractList<Node> implements RandomAccess {
+    private final Node[] nodes;
+    private final int size;
+
+    ChildList(Node[] nodes, int size) {
+      this.nodes = nodes;
+      this.size = size;
+    }
+
+    @Override
+    public Node get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return nodes[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * The pre-order iterator keeping the children arrays of the visited nodes and the positions in
+   * them on a stack
+   */
+  private static final class DepthFirstIterator implements Iterator<Node> {
+    private Node[][] arrays = new Node[16][];
+    private int[] sizes = new int[16];
+    private int[] positions = new int[16];
+    private int depth;
+    private Node next;
+
+    DepthFirstIterator(Node root) {
+      next = root;
+      depth = -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      while (depth >= 0) {
+        if (positions[depth] < sizes[depth]) {
+          next = arrays[depth][positions[depth]++];
+          return true;
+        }
+        arrays[depth--] = null;
+      }
+      return false;
+    }
+
+    @Override
+    public Node next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Node current = next;
+      next = null;
+      if (current.childCount > 0) {
+        push(current.childNodes, current.childCount);
+      }
+      return current;
+    }
+
+    private void push(Node[] children, int size) {
+      if (++depth == arrays.length) {
+        arrays = Arrays.copyOf(arrays, depth * 2);
+        sizes = Arrays.copyOf(sizes, depth * 2);
+        positions = Arrays.copyOf(positions, depth * 2);
+      }
+      arrays[depth] = children;
+      sizes[depth] = size;
+      positions[depth] = 0;
+    }
+  }
 }
@@ -23,6 +23,7 @@ import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +31,8 @@ import java.util.Map;
 @Value
 public class SymbolTable {
   List<CodeBlockDefinitionNode> codeBlocks = new ArrayList<>();
+  Multimap<String, CodeBlockDefinitionNode> codeBlocksByName = ArrayListMultimap.create();
+  Map<CodeBlockDefinitionNode, String> codeBlockSections = new IdentityHashMap<>();
   Map<String, CodeBlockReference> paragraphMap = new HashMap<>();
   Map<String, CodeBlockReference> sectionMap = new HashMap<>();
   Multimap<String, VariableNode> variables = ArrayListMultimap.create();
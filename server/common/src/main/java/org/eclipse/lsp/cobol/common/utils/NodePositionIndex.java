@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.utils;
+
+import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.*;
+
+/**
+ * An index of the syntax tree nodes by their localities. For each URI it keeps the node ranges
+ * sorted by their start positions together with the maximum end position of each sub-range, so
+ * the nodes containing a position are found without visiting the whole tree. The index is a
+ * snapshot of the tree at the moment of creation, i.e. it doesn't track the nodes added later.
+ *
+ * <p>The lookup returns the same node as {@link RangeUtils#findNodeByPosition(Node, String,
+ * Position)}: the first node in the depth-first order that contains the position and doesn't have
+ * descendants that contain it.
+ */
+public class NodePositionIndex {
+  private final Map<String, Intervals> intervals = new HashMap<>();
+
+  public NodePositionIndex(@NonNull Node rootNode) {
+    Map<String, List<Entry>> entries = new HashMap<>();
+    Deque<Object> stack = new ArrayDeque<>();
+    stack.push(rootNode);
+    int order = 0;
+    while (!stack.isEmpty()) {
+      Object next = stack.pop();
+      if (next instanceof Entry) {
+        ((Entry) next).lastDescendant = order - 1;
+        continue;
+      }
+      Node node = (Node) next;
+      Range range = node.getLocality().getRange();
+      Entry entry = new Entry(node, order++, toKey(range.getStart()), toKey(range.getEnd()));
+      entries.computeIfAbsent(node.getLocality().getUri(), k -> new ArrayList<>()).add(entry);
+      stack.push(entry);
+      List<Node> children = node.getChildren();
+      for (int i = children.size() - 1; i >= 0; i--) stack.push(children.get(i));
+    }
+    entries.forEach((uri, list) -> intervals.put(uri, new Intervals(list)));
+  }
+
+  /**
+   * Find the syntax tree node that contains the position.
+   *
+   * @param uri the uri of the node locality
+   * @param position a cursor position
+   * @return the found node
+   */
+  public Optional<Node> findNodeByPosition(String uri, Position position) {
+    Intervals candidates = intervals.get(uri);
+    if (candidates == null) return Optional.empty();
+    List<Entry> containing = new ArrayList<>();
+    candidates.collect(toKey(position), 0, candidates.entries.length, containing);
+    containing.sort(Comparator.comparingInt(it -> it.order));
+    for (int i = 0; i < containing.size(); i++) {
+      Entry entry = containing.get(i);
+      if (i + 1 == containing.size() || containing.get(i + 1).order > entry.lastDescendant)
+        return Optional.of(entry.node);
+    }
+    return Optional.empty();
+  }
+
+  private static long toKey(Position position) {
+    return ((long) position.getLine() << 32) | (position.getCharacter() & 0xFFFFFFFFL);
+  }
+
+  /** A node with its depth-first order number and the order number of its last descendant */
+  private static final class Entry {
+    private final Node node;
+    private final int order;
+    private final long start;
+    private final long end;
+    private int lastDescendant;
+
+    private Entry(Node node, int order, long start, long end) {
+      this.node = node;
+      this.order = order;
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  /**
+   * The node ranges of one URI sorted by the start positions. It is an implicit binary search
+   * tree, where each middle element keeps the maximum end position of its sub-range.
+   */
+  private static final class Intervals {
+    private final Entry[] entries;
+    private final long[] maxEnd;
+
+    private Intervals(List<Entry> list) {
+      entries = list.toArray(new Entry[0]);
+      Arrays.sort(entries, Comparator.comparingLong(it -> it.start));
+      maxEnd = new long[entries.length];
+      computeMaxEnd(0, entries.length);
+    }
+
+    private long computeMaxEnd(int from, int to) {
+      if (from >= to) return Long.MIN_VALUE;
+      int middle = (from + to) >>> 1;
+      maxEnd[middle] =
+          Math.max(
+              entries[middle].end,
+              Math.max(computeMaxEnd(from, middle), computeMaxEnd(middle + 1, to)));
+      return maxEnd[middle];
+    }
+
+    private void collect(long position, int from, int to, List<Entry> result) {
+      if (from >= to) return;
+      int middle = (from + to) >>> 1;
+      if (maxEnd[middle] < position) return;
+      collect(position, from, middle, result);
+      if (entries[middle].start > position) return;
+      if (entries[middle].end >= position) result.add(entries[middle]);
+      collect(position, middle + 1, to, result);
+    }
+  }
+}
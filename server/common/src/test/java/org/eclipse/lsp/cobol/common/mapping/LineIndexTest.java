@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.mapping;
+
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test to check LineIndex */
+class LineIndexTest {
+
+  @Test
+  void testLines() {
+    LineIndex index = new LineIndex("ab\r\n\ncd\n");
+    assertEquals(4, index.getLineCount());
+    assertEquals("ab\r", index.getLine(0));
+    assertEquals("", index.getLine(1));
+    assertEquals("cd", index.getLine(2));
+    assertEquals("", index.getLine(3));
+    assertEquals(5, index.getLineStart(2));
+    assertEquals(8, index.getLineEnd(2));
+    assertEquals(8, index.getLineEnd(3));
+  }
+
+  @Test
+  void testOffsetConversion() {
+    String text = "ab\r\n\ncd\nef";
+    LineIndex index = new LineIndex(text);
+    int line = 0;
+    int character = 0;
+    for (int offset = 0; offset <= text.length(); offset++) {
+      Position position = new Position(line, character);
+      assertEquals(position, index.toPosition(offset));
+      assertEquals(offset, index.toOffset(position));
+      if (offset < text.length() && text.charAt(offset) == '\n') {
+        line++;
+        character = 0;
+      } else {
+        character++;
+      }
+    }
+  }
+
+  @Test
+  void testOutOfText() {
+    LineIndex index = new LineIndex("ab\ncd");
+    assertThrows(StringIndexOutOfBoundsException.class, () -> index.toPosition(6));
+    assertThrows(StringIndexOutOfBoundsException.class, () -> index.toOffset(new Position(2, 0)));
+    assertThrows(StringIndexOutOfBoundsException.class, () -> index.toOffset(new Position(0, 4)));
+  }
+}
@@ -386,6 +386,36 @@ class MappingServiceTest {
     assertFalse(location.isPresent());
   }
 
+  @Test
+  void testLocationsWithManyCopybooks() {
+    int copybooks = 100;
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < copybooks; i++) {
+      text.append(String.format("           COPY CPY%03d.\n       MOVE A TO B.\n", i));
+    }
+    TextTransformations textTransformations = TextTransformations.of(text.toString(), "original");
+    for (int i = 0; i < copybooks; i++) {
+      textTransformations.extend(new Range(new Position(i * 2, 11), new Position(i * 2, 22)),
+          TextTransformations.of(COPYBOOK, String.format("CPY%03d", i)));
+    }
+    MappingService service = new MappingService(textTransformations);
+
+    for (int i = 0; i < copybooks; i++) {
+      Optional<Location> copybook = service.getOriginalLocation(
+          new Range(new Position(i * 6 + 2, 11), new Position(i * 6 + 2, 15)));
+      assertTrue(copybook.isPresent());
+      assertEquals(String.format("CPY%03d", i), copybook.get().getUri());
+      assertEquals(2, copybook.get().getRange().getStart().getLine());
+
+      Optional<Location> original = service.getOriginalLocation(
+          new Range(new Position(i * 6 + 5, 7), new Position(i * 6 + 5, 11)));
+      assertTrue(original.isPresent());
+      assertEquals("original", original.get().getUri());
+      assertEquals(i * 2 + 1, original.get().getRange().getStart().getLine());
+    }
+    assertFalse(service.getOriginalLocation(new Range(new Position(-1, 0), new Position(-1, 4))).isPresent());
+  }
+
   private MappingService prepareService() {
     TextTransformations textTransformations = TextTransformations.of(TEXT, "original");
 
@@ -21,6 +21,7 @@ import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /** Text Transformation tests */
 class TestTextTransformations {
@@ -115,6 +116,42 @@ class TestTextTransformations {
 //    assertEquals(boomUri, map.get(extMRange).getUri());
   }
 
+  @Test
+  void extendedTextRecalculatedAfterNestedChange() {
+    TextTransformations tt = new TextTransformations(TEST, "https://example.com/text1.txt");
+    TextTransformations boom = TextTransformations.of("Line 1\n", "BOOM.cpy");
+    tt.extend(new Range(new Position(1, 0), new Position(1, 7)), boom);
+    String extendedText = tt.calculateExtendedText();
+    assertEquals("0: abcd\nLine 1\n\n", extendedText);
+    assertSame(extendedText, tt.calculateExtendedText());
+
+    boom.replace(new Range(new Position(0, 0), new Position(0, 4)), "Row");
+    assertEquals("0: abcd\nRow 1\n\n", tt.calculateExtendedText());
+  }
+
+  @Test
+  void extendedTextRecalculatedAfterNestedReplacedWithOlder() {
+    TextTransformations tt = new TextTransformations(TEST, "https://example.com/text1.txt");
+    Range range = new Range(new Position(1, 0), new Position(1, 7));
+    TextTransformations older = TextTransformations.of("Older\n", "OLDER.cpy");
+    older.replace(new Range(new Position(0, 0), new Position(0, 5)), "Old");
+    TextTransformations newer = TextTransformations.of("Line 1\n", "BOOM.cpy");
+    newer.replace(new Range(new Position(0, 0), new Position(0, 4)), "Row");
+    newer.replace(new Range(new Position(0, 5), new Position(0, 6)), "2");
+    tt.extend(range, newer);
+    assertEquals("0: abcd\nRow 2\n\n", tt.calculateExtendedText());
+
+    tt.replace(range, older);
+    assertEquals("0: abcd\nOld\n\n", tt.calculateExtendedText());
+  }
+
+  @Test
+  void lineCount() {
+    assertEquals(3, TextTransformations.of(TEST, "").getLineCount());
+    assertEquals(2, TextTransformations.of("a\r\nb", "").getLineCount());
+    assertEquals(1, TextTransformations.of("", "").getLineCount());
+  }
+
   @Test
   void insert() {
     TextTransformations tt = new TextTransformations(TEST, "https://example.com/text1.txt");
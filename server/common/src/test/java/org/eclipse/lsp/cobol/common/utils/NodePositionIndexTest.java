@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.utils;
+
+import com.google.common.collect.ImmutableMultimap;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.SectionType;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.RootNode;
+import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test to check NodePositionIndex */
+class NodePositionIndexTest {
+  private static final String URI = "document";
+  private static final String COPYBOOK_URI = "copybook";
+
+  @Test
+  void testFindNodeByPosition() {
+    Node root = createTree();
+    NodePositionIndex index = new NodePositionIndex(root);
+
+    assertEquals(root.getChildren().get(0).getChildren().get(1), find(index, 2, 4));
+    assertEquals(root.getChildren().get(1), find(index, 4, 0));
+    assertEquals(root, find(index, 8, 0));
+    assertEquals(root.getChildren().get(1).getChildren().get(1), find(index, 0, 3, COPYBOOK_URI));
+    assertEquals(Optional.empty(), index.findNodeByPosition(URI, new Position(11, 0)));
+    assertEquals(Optional.empty(), index.findNodeByPosition("unknown", new Position(1, 0)));
+  }
+
+  @Test
+  void testSameResultAsTreeTraversal() {
+    Node root = createTree();
+    NodePositionIndex index = new NodePositionIndex(root);
+
+    for (String uri : new String[] {URI, COPYBOOK_URI}) {
+      for (int line = 0; line < 12; line++) {
+        for (int character = 0; character < 12; character++) {
+          Position position = new Position(line, character);
+          assertEquals(
+              RangeUtils.findNodeByPosition(root, uri, position),
+              index.findNodeByPosition(uri, position),
+              uri + " " + position);
+        }
+      }
+    }
+  }
+
+  private static Node find(NodePositionIndex index, int line, int character) {
+    return find(index, line, character, URI);
+  }
+
+  private static Node find(NodePositionIndex index, int line, int character, String uri) {
+    return index.findNodeByPosition(uri, new Position(line, character)).orElse(null);
+  }
+
+  private static Node createTree() {
+    Node root = new RootNode(locality(URI, 0, 0, 10, 0), ImmutableMultimap.of());
+    Node first = section(URI, 1, 0, 3, 5);
+    first.addChild(section(URI, 1, 0, 1, 10));
+    first.addChild(section(URI, 2, 0, 3, 5));
+    Node second = section(URI, 3, 0, 5, 0);
+    second.addChild(section(URI, 3, 0, 3, 5));
+    Node copybook = section(COPYBOOK_URI, 0, 0, 2, 0);
+    copybook.addChild(section(URI, 4, 2, 4, 8));
+    second.addChild(copybook);
+    root.addChild(first);
+    root.addChild(second);
+    return root;
+  }
+
+  private static Node section(String uri, int startLine, int startChar, int endLine, int endChar) {
+    return new SectionNode(
+        locality(uri, startLine, startChar, endLine, endChar), SectionType.WORKING_STORAGE);
+  }
+
+  private static Locality locality(
+      String uri, int startLine, int startChar, int endLine, int endChar) {
+    return Locality.builder()
+        .uri(uri)
+        .range(
+            new Range(new Position(startLine, startChar), new Position(endLine, endChar)))
+        .build();
+  }
+}
@@ -20,11 +20,12 @@ import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.AntlrParserRuntime;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.ParserRuntime;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
-import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
@@ -34,17 +35,12 @@ import org.eclipse.lsp.cobol.common.utils.KeywordsUtils;
 import org.eclipse.lsp.cobol.dialects.daco.nodes.DaCoCopyFromNode;
 import org.eclipse.lsp.cobol.dialects.daco.processors.DaCoCopyFromProcessor;
 import org.eclipse.lsp.cobol.dialects.daco.processors.implicit.DaCoImplicitCodeProcessor;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.Range;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /** Process the text according to the DaCo rules */
 public final class DaCoDialect implements CobolDialect {
   public static final String NAME = "DaCo";
-  private final Pattern dcdbPattern = Pattern.compile("^[\\s\\d]{7}D-[BC]", Pattern.MULTILINE);
   private static final String DACO_CPY_LOCAL_PATHS = "cpy-manager.daco.paths-local";
   public static final String DACO_PREDEFINED_SECTIONS = "daco.predefined-sections";
   private static final String IDMS_DIALECT_NAME = "IDMS";
@@ -53,10 +49,19 @@ public final class DaCoDialect implements CobolDialect {
 
   private final DaCoMaidProcessor maidProcessor;
 
+  private final List<ParserRuntime> parserRuntimes;
+
   public DaCoDialect(CopybookService copybookService, MessageService messageService) {
     this.messageService = messageService;
     this.maidProcessor = new DaCoMaidProcessor(copybookService,
         new InterruptingTreeListener(), messageService);
+    this.parserRuntimes =
+        ImmutableList.<ParserRuntime>of(
+            new AntlrParserRuntime<DaCoParser>(NAME, "daco.cbl", DaCoLexer::new, DaCoParser::new,
+                DaCoParser::startRule, () -> new CobolErrorStrategy(messageService)),
+            new AntlrParserRuntime<VariableParser>(NAME + " copybook", "daco-copybook.cpy", VariableLexer::new,
+                VariableParser::new, VariableParser::dataDescriptionEntries,
+                () -> new CobolErrorStrategy(messageService)));
   }
 
   /**
@@ -78,7 +83,6 @@ public final class DaCoDialect implements CobolDialect {
   @Override
   public ResultWithErrors<DialectOutcome> processText(DialectProcessingContext context) {
     List<SyntaxError> errors = new ArrayList<>();
-    removeDcDb(context.getExtendedSource());
     DialectOutcome maidOutcome = maidProcessor.process(context, errors);
     context.getExtendedSource().commitTransformations();
     DaCoLexer lexer = new DaCoLexer(CharStreams.fromString(context.getExtendedSource().getText()));
@@ -113,15 +117,9 @@ public final class DaCoDialect implements CobolDialect {
     return KeywordsUtils.getKeywords("KeywordsDaCo.txt");
   }
 
-  private void removeDcDb(ExtendedSource extendedSource) {
-    String input = extendedSource.getText();
-    Matcher matcher = dcdbPattern.matcher(input);
-    while (matcher.find()) {
-      Position start = DialectUtils.findPosition(input, matcher.start());
-      Position end = DialectUtils.findPosition(input, matcher.end() - 1);
-      String replace = new String(new char[matcher.end() - matcher.start() - 1]).replace('\0', ' ');
-      extendedSource.replace(new Range(start, end), replace);
-    }
+  @Override
+  public List<ParserRuntime> getParserRuntimes() {
+    return parserRuntimes;
   }
 
   @Override
@@ -30,6 +30,7 @@ import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.LineIndex;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.CopyDefinition;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
@@ -46,14 +47,25 @@ import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.eclipse.lsp.cobol.common.error.ErrorCode.MISSING_COPYBOOK;
 import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
 
-/** Handles copy maid logic */
+/**
+ * Handles copy maid logic. The source lines are scanned once: the same pass removes the D-B and D-C
+ * prefixes and finds the divisions, data entries, COPY-FROM and COPY MAID statements. The regular
+ * expressions are applied only to the lines that contain the required keywords.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class DaCoMaidProcessor {
   private static final String MAID_WRK_QUALIFIER = "WRK";
+  private static final String DIVISION = "DIVISION";
+  private static final String COPY_FROM = "COPY-FROM";
+  private static final String MAID = "MAID";
+  private static final String REGEX_WHITESPACES = " \t\n\u000B\f\r";
+  private static final int DC_DB_PREFIX_START = 7;
+  private static final int DC_DB_PREFIX_LENGTH = DC_DB_PREFIX_START + 3;
   private final Pattern procedureDivisionPattern =
       Pattern.compile(
           "\\s*procedure\\s+division[\\w\\s]*", Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
@@ -87,30 +99,20 @@ public class DaCoMaidProcessor {
     List<Node> dacoNodes = new ArrayList<>();
     DaCoMaidProcessingState state = DaCoMaidProcessingState.START;
 
-    String[] lines = context.getExtendedSource().getText().split("\n", -1);
+    LineIndex lines = context.getExtendedSource().getLineIndex();
     String lastSuffix = null;
-    for (int lineNumber = 0; lineNumber < lines.length; lineNumber++) {
-      String line = lines[lineNumber];
-      if (procedureDivisionPattern.matcher(line).find()) {
+    for (int lineNumber = 0; lineNumber < lines.getLineCount(); lineNumber++) {
+      String line = lines.getLine(lineNumber);
+      removeDcDbPrefix(line, lineNumber, context);
+      boolean division = containsIgnoreCase(line, DIVISION);
+      if (division && procedureDivisionPattern.matcher(line).find()) {
         state = DaCoMaidProcessingState.PROCEDURE_DIVISION;
       }
       if (state == DaCoMaidProcessingState.DATA_DIVISION) {
-        Matcher dataEntry = dataDescriptionEntryPattern.matcher(line);
-        if (dataEntry.find()) {
-          String name = dataEntry.group("entryName");
-          int lvl = Integer.parseInt(dataEntry.group("lvl"));
-          if (name != null
-              && VariableConstants.LEVEL_66 != lvl
-              && VariableConstants.LEVEL_77 != lvl
-              && VariableConstants.LEVEL_88 != lvl) {
-            lastSuffix = DaCoHelper.extractSuffix(name).orElse(lastSuffix);
-          }
-        }
-        Matcher copyFrom = dataDescriptionEntryWithCopyFromPattern.matcher(line);
-        if (copyFrom.find()) {
-          dacoNodes.add(createCopyFromNode(copyFrom, lineNumber, context));
+        if (startsWithDigit(line)) {
+          lastSuffix = collectDataEntry(line, lineNumber, dacoNodes, lastSuffix, context);
         }
-      } else if (dataDivisionPattern.matcher(line).find()) {
+      } else if (division && dataDivisionPattern.matcher(line).find()) {
         state = DaCoMaidProcessingState.DATA_DIVISION;
       }
       collectCopyMaid(line, lineNumber, dacoNodes, lastSuffix, context, errors);
@@ -119,6 +121,64 @@ public class DaCoMaidProcessor {
     return new DialectOutcome(dacoNodes, context);
   }
 
+  private String collectDataEntry(
+      String line, int lineNumber, List<Node> dacoNodes, String lastSuffix, DialectProcessingContext context) {
+    String suffix = lastSuffix;
+    Matcher dataEntry = dataDescriptionEntryPattern.matcher(line);
+    if (dataEntry.find()) {
+      String name = dataEntry.group("entryName");
+      int lvl = Integer.parseInt(dataEntry.group("lvl"));
+      if (name != null
+          && VariableConstants.LEVEL_66 != lvl
+          && VariableConstants.LEVEL_77 != lvl
+          && VariableConstants.LEVEL_88 != lvl) {
+        suffix = DaCoHelper.extractSuffix(name).orElse(suffix);
+      }
+    }
+    if (containsIgnoreCase(line, COPY_FROM)) {
+      Matcher copyFrom = dataDescriptionEntryWithCopyFromPattern.matcher(line);
+      if (copyFrom.find()) {
+        dacoNodes.add(createCopyFromNode(copyFrom, lineNumber, context));
+      }
+    }
+    return suffix;
+  }
+
+  /**
+   * Replace the D-B and D-C prefixes that follow the sequence area with spaces. The first column is
+   * kept as it is.
+   */
+  private static void removeDcDbPrefix(String line, int lineNumber, DialectProcessingContext context) {
+    if (line.length() < DC_DB_PREFIX_LENGTH
+        || line.charAt(DC_DB_PREFIX_START) != 'D'
+        || line.charAt(DC_DB_PREFIX_START + 1) != '-'
+        || (line.charAt(DC_DB_PREFIX_START + 2) != 'B' && line.charAt(DC_DB_PREFIX_START + 2) != 'C')) {
+      return;
+    }
+    for (int i = 0; i < DC_DB_PREFIX_START; i++) {
+      char c = line.charAt(i);
+      if ((c < '0' || c > '9') && REGEX_WHITESPACES.indexOf(c) < 0) {
+        return;
+      }
+    }
+    Range range = new Range(new Position(lineNumber, 1), new Position(lineNumber, DC_DB_PREFIX_LENGTH));
+    context.getExtendedSource().replace(range, String.join("", Collections.nCopies(DC_DB_PREFIX_LENGTH - 1, " ")));
+  }
+
+  /**
+   * Check if the first character that is not a whitespace is an ASCII digit, as the data entries
+   * start with the level number
+   */
+  private static boolean startsWithDigit(String line) {
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (REGEX_WHITESPACES.indexOf(c) < 0) {
+        return c >= '0' && c <= '9';
+      }
+    }
+    return false;
+  }
+
   private Node createCopyFromNode(
       Matcher copyFrom, int lineNumber, DialectProcessingContext context) {
     String entryName = copyFrom.group("entryName");
@@ -151,6 +211,9 @@ public class DaCoMaidProcessor {
       String lastSuffix,
       DialectProcessingContext context,
       List<SyntaxError> errors) {
+    if (!containsIgnoreCase(input, MAID)) {
+      return;
+    }
     Matcher matcher = copyMaidPattern.matcher(input);
     if (matcher.find()) {
       String indent = matcher.group("indent");
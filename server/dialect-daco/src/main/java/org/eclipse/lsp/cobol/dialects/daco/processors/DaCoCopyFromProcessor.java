@@ -44,9 +44,7 @@ public class DaCoCopyFromProcessor implements Processor<DaCoCopyFromNode> {
     List<GroupItemNode> protoCandidates =
         node.getNearestParentByType(NodeType.PROGRAM)
             .orElseThrow(RuntimeException::new)
-            .getDepthFirstStream()
-            .filter(GroupItemNode.class::isInstance)
-            .map(GroupItemNode.class::cast)
+            .getDepthFirstStream(GroupItemNode.class)
             .filter(
                 vdn ->
                     vdn.getName() != null && Objects.equals(vdn.getName(), node.getPrototypeName()))
@@ -19,7 +19,6 @@ import com.google.common.collect.Streams;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import lombok.RequiredArgsConstructor;
-import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.ProcedureSectionNode;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
@@ -47,9 +46,7 @@ public class DaCoImplicitCodeProcessor implements Processor<ProgramNode> {
     variables.addAll(LinkageSectionStaticGenerator.generate());
     variables.addAll(WorkingSectionDynamicGenerator.generate(programNode));
 
-    List<VariableNode> children = variables.stream().flatMap(Node::getDepthFirstStream)
-        .filter(n -> n instanceof VariableNode)
-        .map(VariableNode.class::cast)
+    List<VariableNode> children = variables.stream().flatMap(node -> node.getDepthFirstStream(VariableNode.class))
         .collect(toList());
     variables.addAll(children);
 
@@ -70,9 +67,7 @@ public class DaCoImplicitCodeProcessor implements Processor<ProgramNode> {
   }
 
   private Set<String> getExistingSections(ProgramNode programNode) {
-    return programNode.getDepthFirstStream()
-        .filter(n -> n instanceof ProcedureSectionNode)
-        .map(ProcedureSectionNode.class::cast)
+    return programNode.getDepthFirstStream(ProcedureSectionNode.class)
         .map(ProcedureSectionNode::getName)
         .collect(Collectors.toSet());
   }
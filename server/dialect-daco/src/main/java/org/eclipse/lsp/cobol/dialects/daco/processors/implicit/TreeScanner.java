@@ -15,7 +15,6 @@
 package org.eclipse.lsp.cobol.dialects.daco.processors.implicit;
 
 import lombok.experimental.UtilityClass;
-import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableDefinitionNameNode;
 
@@ -35,9 +34,7 @@ class TreeScanner {
    * @return a list of variable name info
    */
   public List<VariableNameInfo> scan(ProgramNode programNode) {
-    return programNode.getDepthFirstStream()
-        .filter(n -> n.getNodeType() == NodeType.VARIABLE_DEFINITION_NAME)
-        .map(VariableDefinitionNameNode.class::cast)
+    return programNode.getDepthFirstStream(VariableDefinitionNameNode.class)
         .map(VariableDefinitionNameNode::getName)
         .filter(Objects::nonNull)
         .map(TreeScanner::getVariableNameInfo)
@@ -15,7 +15,6 @@
 package org.eclipse.lsp.cobol.dialects.daco.processors.implicit;
 
 import lombok.experimental.UtilityClass;
-import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 
@@ -74,9 +73,7 @@ class WorkingSectionDynamicGenerator {
   }
 
   private Set<String> getAlreadyDefinedVariables(ProgramNode programNode) {
-    return programNode.getDepthFirstStream()
-        .filter(v -> v.getNodeType() == NodeType.VARIABLE_DEFINITION_NAME)
-        .map(VariableDefinitionNameNode.class::cast)
+    return programNode.getDepthFirstStream(VariableDefinitionNameNode.class)
         .map(VariableDefinitionNameNode::getName)
         .collect(Collectors.toSet());
   }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.dialects.daco;
+
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test for DaCoMaidProcessor
+ */
+class DaCoMaidProcessorTest {
+  @Test
+  void testDcDbPrefixReplacedAfterFirstColumn() {
+    DaCoMaidProcessor processor = new DaCoMaidProcessor(
+        mock(CopybookService.class), mock(ParseTreeListener.class), mock(MessageService.class));
+    DialectProcessingContext context = DialectProcessingContext.builder()
+        .extendedSource(new ExtendedSource("0000100D-B MOVE A TO B.\n       D-C MOVE C TO D.\n", "uri"))
+        .build();
+
+    processor.process(context, new ArrayList<>());
+    context.getExtendedSource().commitTransformations();
+
+    assertEquals("0          MOVE A TO B.\n           MOVE C TO D.\n", context.getExtendedSource().getText());
+  }
+}
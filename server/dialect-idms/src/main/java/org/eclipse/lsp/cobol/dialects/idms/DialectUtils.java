@@ -16,6 +16,9 @@ package org.eclipse.lsp.cobol.dialects.idms;
 
 import lombok.experimental.UtilityClass;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
+import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
@@ -40,4 +43,35 @@ class DialectUtils {
                     ctx.getStop().getCharPositionInLine() + ctx.getStop().getStopIndex() - ctx.getStop().getStartIndex() + 1)
     );
   }
+
+  /**
+   * Create a copy of the range that may be modified independently
+   *
+   * @param range the range to copy or null
+   * @return the new range or null
+   */
+  public Range copyRange(Range range) {
+    if (range == null) {
+      return null;
+    }
+    return new Range(
+            new Position(range.getStart().getLine(), range.getStart().getCharacter()),
+            new Position(range.getEnd().getLine(), range.getEnd().getCharacter()));
+  }
+
+  /**
+   * Create a copy of the syntax error with its own location, so the range of the copy may be
+   * modified independently
+   *
+   * @param error the error to copy
+   * @return the new error
+   */
+  public SyntaxError copyError(SyntaxError error) {
+    OriginalLocation location = error.getLocation();
+    if (location == null || location.getLocation() == null) {
+      return error;
+    }
+    Location copy = new Location(location.getLocation().getUri(), copyRange(location.getLocation().getRange()));
+    return error.toBuilder().location(new OriginalLocation(copy, location.getCopybookId())).build();
+  }
 }
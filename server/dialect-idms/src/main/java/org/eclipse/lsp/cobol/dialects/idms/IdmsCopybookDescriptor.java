@@ -89,6 +89,25 @@ class IdmsCopybookDescriptor {
     return result;
   }
 
+  /**
+   * Create a copy of this descriptor that may be modified independently
+   * @return copybook descriptor
+   */
+  public IdmsCopybookDescriptor copy() {
+    IdmsCopybookDescriptor result = new IdmsCopybookDescriptor();
+    result.name = name;
+    result.usage = copy(usage);
+    result.statement = copy(statement);
+    result.levelRange = DialectUtils.copyRange(levelRange);
+    result.level = level;
+    result.insert = insert;
+    return result;
+  }
+
+  private static Locality copy(Locality locality) {
+    return locality == null ? null : locality.toBuilder().range(DialectUtils.copyRange(locality.getRange())).build();
+  }
+
   private static int extractLevel(Token token) {
     return Integer.parseInt(token.getText());
   }
@@ -14,7 +14,11 @@
  */
 package org.eclipse.lsp.cobol.dialects.idms;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import lombok.Value;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.apache.commons.lang3.tuple.Pair;
@@ -22,9 +26,11 @@ import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.AntlrParserRuntime;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.ParserRuntime;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
 import org.eclipse.lsp.cobol.common.message.MessageService;
@@ -37,17 +43,36 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
-/** Process the text according to the IDMS rules */
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Process the text according to the IDMS rules. The program parsed to find the copybooks is kept
+ * until the text processing of the same context, so it is not parsed again if the copybooks did not
+ * change the text. The results of the copybook parsing are cached by the copybook content.
+ */
 public final class IdmsDialect implements CobolDialect {
   public static final String NAME = "IDMS";
   private static final String IDMS_CPY_LOCAL_PATHS = "cpy-manager.idms.paths-local";
+  private static final int PARSED_COPYBOOKS_MAX_SIZE = 500;
   private final CopybookService copybookService;
   private final MessageService messageService;
+  private final Cache<DialectProcessingContext, ParsedProgram> parsedPrograms =
+      CacheBuilder.newBuilder().weakKeys().build();
+  private final Cache<CopybookKey, ParsedCopybook> parsedCopybooks =
+      CacheBuilder.newBuilder().maximumSize(PARSED_COPYBOOKS_MAX_SIZE).build();
+  private final List<ParserRuntime> parserRuntimes;
 
   public IdmsDialect(CopybookService copybookService, MessageService messageService) {
     this.copybookService = copybookService;
     this.messageService = messageService;
+    this.parserRuntimes =
+        ImmutableList.<ParserRuntime>of(
+            new AntlrParserRuntime<IdmsParser>(NAME, "idms.cbl", IdmsLexer::new, IdmsParser::new,
+                IdmsParser::startRule, () -> new CobolErrorStrategy(messageService)),
+            new AntlrParserRuntime<IdmsCopyParser>(NAME + " copybook", "idms-copybook.cpy", IdmsCopyLexer::new,
+                IdmsCopyParser::new, IdmsCopyParser::startRule, () -> new CobolErrorStrategy(messageService)));
   }
 
   /**
@@ -65,9 +90,11 @@ public final class IdmsDialect implements CobolDialect {
     List<SyntaxError> errors = new LinkedList<>();
 
     IdmsDialectVisitor inlineVisitor = new IdmsDialectVisitor(context);
-    IdmsParser.StartRuleContext ruleContext = parseIdms(context.getExtendedSource().getText(), context.getProgramDocumentUri(), errors);
+    ParsedProgram program = parseIdms(context.getExtendedSource().getText(), context.getProgramDocumentUri());
+    parsedPrograms.put(context, program);
+    errors.addAll(program.copyErrors());
 
-    List<IdmsCopybookDescriptor> cbs = inlineVisitor.visitStartRule(ruleContext);
+    List<IdmsCopybookDescriptor> cbs = inlineVisitor.visitStartRule(program.getTree());
     cbs.forEach(cb -> {
       DocumentMap currentMap = context.getExtendedSource().getMainMap();
       String currentUri = context.getExtendedSource().getUri();
@@ -137,14 +164,13 @@ public final class IdmsDialect implements CobolDialect {
           int copybookLevel,
           Deque<String> copybookStack,
           CopyNode copyNode) {
-    IdmsCopyVisitor copyVisitor = new IdmsCopyVisitor(currentDocumentMap);
-    IdmsCopyParser.StartRuleContext context =
-        parseCopyIdms(currentDocumentMap.extendedText(), programDocumentUri, errors);
+    ParsedCopybook copybook = parseCopyIdms(currentDocumentMap, programDocumentUri).copy();
+    errors.addAll(copybook.getErrors());
 
-    List<IdmsCopybookDescriptor> cbs = copyVisitor.visitStartRule(context);
+    List<IdmsCopybookDescriptor> cbs = copybook.getCopybooks();
     int firstLevel =
-        copyVisitor.getVariableLevels().stream().findFirst().map(Pair::getRight).orElse(0);
-    copyVisitor
+        copybook.getVariableLevels().stream().findFirst().map(Pair::getRight).orElse(0);
+    copybook
         .getVariableLevels()
         .forEach(
             p -> {
@@ -176,27 +202,49 @@ public final class IdmsDialect implements CobolDialect {
   @Override
   public ResultWithErrors<DialectOutcome> processText(DialectProcessingContext context) {
     IdmsVisitor visitor = new IdmsVisitor(context);
-    List<SyntaxError> errors = new ArrayList<>();
-    IdmsParser.StartRuleContext startRuleContext = parseIdms(context.getExtendedSource().getText(),
-            context.getExtendedSource().getUri(), errors);
+    String text = context.getExtendedSource().getText();
+    String uri = context.getExtendedSource().getUri();
+    ParsedProgram program = parsedPrograms.getIfPresent(context);
+    parsedPrograms.invalidate(context);
+    if (program == null || !program.getText().equals(text) || !program.getUri().equals(uri)) {
+      program = parseIdms(text, uri);
+    }
+    List<SyntaxError> errors = new ArrayList<>(program.copyErrors());
     List<Node> nodes = new ArrayList<>();
-    nodes.addAll(visitor.visitStartRule(startRuleContext));
+    nodes.addAll(visitor.visitStartRule(program.getTree()));
     nodes.addAll(context.getDialectNodes());
 
-    new ArrayList<>(nodes).stream().filter(CopyNode.class::isInstance).forEach(n ->
-        new ArrayList<>(nodes).stream()
-        .filter(cn -> cn != n)
-        .filter(CopyNode.class::isInstance)
-        .map(CopyNode.class::cast)
-        .filter(cn -> cn.getDefinition().getLocation().getUri().equals(n.getLocality().getUri()))
-        .forEach(cn -> {
-          nodes.remove(n);
-          cn.addChild(n);
-        }));
-
     errors.addAll(visitor.getErrors());
 
-    return new ResultWithErrors<>(new DialectOutcome(nodes, context), errors);
+    return new ResultWithErrors<>(new DialectOutcome(nestCopyNodes(nodes), context), errors);
+  }
+
+  /**
+   * Move every copy node into the copy nodes that define the document it belongs to. The candidate
+   * parents are looked up by the URI of their definition, so a copybook included several times gets
+   * the nested copy nodes in every inclusion.
+   *
+   * @param nodes the dialect nodes in the order of processing
+   * @return the nodes that remain on the top level
+   */
+  private static List<Node> nestCopyNodes(List<Node> nodes) {
+    Map<String, List<CopyNode>> copyNodesByDefinition = new HashMap<>();
+    nodes.stream()
+        .filter(CopyNode.class::isInstance)
+        .map(CopyNode.class::cast)
+        .filter(cn -> cn.getDefinition() != null && cn.getDefinition().getLocation().getUri() != null)
+        .forEach(cn -> copyNodesByDefinition
+            .computeIfAbsent(cn.getDefinition().getLocation().getUri(), uri -> new ArrayList<>())
+            .add(cn));
+    Set<Node> nested = Collections.newSetFromMap(new IdentityHashMap<>());
+    nodes.stream().filter(CopyNode.class::isInstance).forEach(n ->
+        copyNodesByDefinition.getOrDefault(n.getLocality().getUri(), ImmutableList.of()).stream()
+            .filter(cn -> cn != n)
+            .forEach(cn -> {
+              nested.add(n);
+              cn.addChild(n);
+            }));
+    return nodes.stream().filter(n -> !nested.contains(n)).collect(Collectors.toList());
   }
 
   @Override
@@ -209,7 +257,24 @@ public final class IdmsDialect implements CobolDialect {
     return ImmutableList.of(IDMS_CPY_LOCAL_PATHS);
   }
 
-  private IdmsCopyParser.StartRuleContext parseCopyIdms(String text, String programDocumentUri, List<SyntaxError> errors) {
+  @Override
+  public List<ParserRuntime> getParserRuntimes() {
+    return parserRuntimes;
+  }
+
+  private ParsedCopybook parseCopyIdms(DocumentMap documentMap, String programDocumentUri) {
+    String text = documentMap.extendedText();
+    CopybookKey key = new CopybookKey(documentMap.getUri(), programDocumentUri,
+        Hashing.sha256().hashString(text, UTF_8).toString());
+    ParsedCopybook result = parsedCopybooks.getIfPresent(key);
+    if (result == null) {
+      result = parseCopyIdms(text, documentMap, programDocumentUri);
+      parsedCopybooks.put(key, result);
+    }
+    return result;
+  }
+
+  private ParsedCopybook parseCopyIdms(String text, DocumentMap documentMap, String programDocumentUri) {
     IdmsCopyLexer lexer = new IdmsCopyLexer(CharStreams.fromString(text));
     CommonTokenStream tokens = new CommonTokenStream(lexer);
     IdmsCopyParser parser = new IdmsCopyParser(tokens);
@@ -220,13 +285,12 @@ public final class IdmsDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
-    IdmsCopyParser.StartRuleContext result = parser.startRule();
-    errors.addAll(listener.getErrors());
-    return result;
+    IdmsCopyVisitor copyVisitor = new IdmsCopyVisitor(documentMap);
+    List<IdmsCopybookDescriptor> copybooks = copyVisitor.visitStartRule(parser.startRule());
+    return new ParsedCopybook(copybooks, copyVisitor.getVariableLevels(), listener.getErrors());
   }
 
-  private IdmsParser.StartRuleContext parseIdms(
-      String text, String programDocumentUri, List<SyntaxError> errors) {
+  private ParsedProgram parseIdms(String text, String programDocumentUri) {
     IdmsLexer lexer = new IdmsLexer(CharStreams.fromString(text));
     CommonTokenStream tokens = new CommonTokenStream(lexer);
     IdmsParser parser = new IdmsParser(tokens);
@@ -238,7 +302,44 @@ public final class IdmsDialect implements CobolDialect {
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
     IdmsParser.StartRuleContext result = parser.startRule();
-    errors.addAll(listener.getErrors());
-    return result;
+    return new ParsedProgram(text, programDocumentUri, result, listener.getErrors());
+  }
+
+  /** The program parse tree with the text and URI it was parsed for */
+  @Value
+  private static class ParsedProgram {
+    String text;
+    String uri;
+    IdmsParser.StartRuleContext tree;
+    List<SyntaxError> errors;
+
+    List<SyntaxError> copyErrors() {
+      return errors.stream().map(DialectUtils::copyError).collect(Collectors.toList());
+    }
+  }
+
+  /** The key of the copybook parsing */
+  @Value
+  private static class CopybookKey {
+    String uri;
+    String programDocumentUri;
+    String contentHash;
+  }
+
+  /** The result of the copybook parsing. The cached instances must be copied before modification */
+  @Value
+  private static class ParsedCopybook {
+    List<IdmsCopybookDescriptor> copybooks;
+    List<Pair<Range, Integer>> variableLevels;
+    List<SyntaxError> errors;
+
+    ParsedCopybook copy() {
+      return new ParsedCopybook(
+          copybooks.stream().map(IdmsCopybookDescriptor::copy).collect(Collectors.toList()),
+          variableLevels.stream()
+              .map(p -> Pair.of(DialectUtils.copyRange(p.getLeft()), p.getRight()))
+              .collect(Collectors.toList()),
+          errors.stream().map(DialectUtils::copyError).collect(Collectors.toList()));
+    }
   }
 }
@@ -14,23 +14,202 @@
  */
 package org.eclipse.lsp.cobol.dialects.idms;
 
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
+import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.variable.VariableUsageNode;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Test for IdmsDialect class
  */
 class IdmsDialectTest {
+  private static final String DOCUMENT_URI = "file:///c:/workspace/document.cbl";
+  private static final String CPY_URI = "file:///c:/workspace/.c4z/.copybooks/CPY.cpy";
+  private static final String NESTED_URI = "file:///c:/workspace/.c4z/.copybooks/NESTED.cpy";
+
+  private static final String TEXT_TWO_LEVELS =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 REC1.\n"
+          + "           03 COPY IDMS CPY.\n"
+          + "       01 REC2.\n"
+          + "           48 COPY IDMS CPY.\n"
+          + "       PROCEDURE DIVISION.\n";
+
+  private static final String TEXT_ONE_COPYBOOK =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 REC1.\n"
+          + "           03 COPY IDMS CPY.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           OBTAIN NEXT REC1 WITHIN AREA1.\n";
+
+  private static final String TEXT_NO_COPYBOOKS =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 REC1.\n"
+          + "           03 FLD PIC X.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           OBTAIN NEXT REC1 WITHIN AREA1.\n";
+
+  private static final String CPY = "       01  GRP.\n" + "           03 FLD PIC X.\n";
+  private static final String CPY_CHANGED = "       01  OTHER.\n" + "           05 FLD PIC X.\n";
+  private static final String CPY_WITH_NESTED = "       01  GRP.\n" + "           03 COPY IDMS NESTED.\n";
+  private static final String NESTED = "       01  INNER PIC X.\n";
+
+  private final CopybookService copybookService = mock(CopybookService.class);
+  private final IdmsDialect dialect = new IdmsDialect(copybookService, mock(MessageService.class));
+
   @Test
   void testKeywords() {
-    IdmsDialect dialect = new IdmsDialect(mock(CopybookService.class), mock(MessageService.class));
     Map<String, String> result = dialect.getKeywords();
     assertEquals(46, result.size());
   }
+
+  /**
+   * Test the levels of a copybook included twice are adjusted for every inclusion separately, also
+   * when the parsed copybook is taken from the cache in the next analysis
+   */
+  @Test
+  void testSameCopybookAdjustedForEveryLevel() {
+    mockCopybook("CPY", CPY_URI, CPY);
+
+    for (int analysis = 0; analysis < 2; analysis++) {
+      DialectProcessingContext context = createContext(TEXT_TWO_LEVELS);
+      List<SyntaxError> errors = dialect.extend(context);
+      context.getExtendedSource().commitTransformations();
+      String text = context.getExtendedSource().getText();
+
+      assertTrue(text.contains("03  GRP."));
+      assertTrue(text.contains("05 FLD PIC X."));
+      assertTrue(text.contains("48  GRP."));
+      assertTrue(text.contains("03 FLD PIC X."));
+      assertEquals(
+          singletonList(new Range(new Position(1, 11), new Position(1, 13))),
+          errors.stream().map(e -> e.getLocation().getLocation().getRange()).collect(Collectors.toList()));
+      assertEquals(CPY_URI, errors.get(0).getLocation().getLocation().getUri());
+    }
+  }
+
+  /** Test the copybook is parsed again if its content changes between the analyses */
+  @Test
+  void testChangedCopybookParsedAgain() {
+    mockCopybook("CPY", CPY_URI, CPY);
+    DialectProcessingContext context = createContext(TEXT_ONE_COPYBOOK);
+    dialect.extend(context);
+    context.getExtendedSource().commitTransformations();
+    assertTrue(context.getExtendedSource().getText().contains("03  GRP."));
+
+    mockCopybook("CPY", CPY_URI, CPY_CHANGED);
+    context = createContext(TEXT_ONE_COPYBOOK);
+    dialect.extend(context);
+    context.getExtendedSource().commitTransformations();
+    String text = context.getExtendedSource().getText();
+
+    assertTrue(text.contains("03  OTHER."));
+    assertTrue(text.contains("07 FLD PIC X."));
+    assertFalse(text.contains("GRP"));
+  }
+
+  /** Test every inclusion of a copybook gets the copy nodes of its nested copybooks */
+  @Test
+  void testNestedCopyNodesOfSameCopybook() {
+    mockCopybook("CPY", CPY_URI, CPY_WITH_NESTED);
+    mockCopybook("NESTED", NESTED_URI, NESTED);
+
+    List<Node> nodes = analyze(TEXT_TWO_LEVELS).getDialectNodes();
+    List<CopyNode> copyNodes =
+        nodes.stream().filter(CopyNode.class::isInstance).map(CopyNode.class::cast).collect(Collectors.toList());
+
+    assertEquals(Arrays.asList("CPY", "CPY"), copyNodes.stream().map(CopyNode::getName).collect(Collectors.toList()));
+    copyNodes.forEach(
+        copyNode -> {
+          assertFalse(copyNode.getChildren().isEmpty());
+          copyNode.getChildren().forEach(child -> assertEquals("NESTED", ((CopyNode) child).getName()));
+        });
+  }
+
+  /** Test the program is parsed again for the text processing if the copybooks changed its text */
+  @Test
+  void testProgramParsedAgainAfterCopybooksInserted() {
+    mockCopybook("CPY", CPY_URI, CPY);
+
+    assertUsageLocation(analyze(TEXT_ONE_COPYBOOK), 7);
+  }
+
+  /** Test the program parsed to find the copybooks gives the same result if it has no copybooks */
+  @Test
+  void testProgramParseReusedWithoutCopybooks() {
+    assertUsageLocation(analyze(TEXT_NO_COPYBOOKS), 7);
+  }
+
+  private void assertUsageLocation(DialectOutcome outcome, int line) {
+    VariableUsageNode usage =
+        outcome.getDialectNodes().stream()
+            .flatMap(Node::getDepthFirstStream)
+            .filter(VariableUsageNode.class::isInstance)
+            .map(VariableUsageNode.class::cast)
+            .filter(node -> node.getName().equals("REC1"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    assertEquals(DOCUMENT_URI, usage.getLocality().getUri());
+    assertEquals(line, usage.getLocality().getRange().getStart().getLine());
+  }
+
+  private DialectOutcome analyze(String text) {
+    DialectProcessingContext context = createContext(text);
+    dialect.extend(context);
+    context.getExtendedSource().commitTransformations();
+    return dialect.processText(context).getResult();
+  }
+
+  private static DialectProcessingContext createContext(String text) {
+    return DialectProcessingContext.builder()
+        .programDocumentUri(DOCUMENT_URI)
+        .extendedSource(new ExtendedSource(text, DOCUMENT_URI))
+        .build();
+  }
+
+  private void mockCopybook(String name, String uri, String content) {
+    CopybookName copybookName = new CopybookName(name, IdmsDialect.NAME);
+    when(copybookService.resolve(
+            eq(copybookName.toCopybookId(DOCUMENT_URI)),
+            eq(copybookName),
+            eq(DOCUMENT_URI),
+            anyString(),
+            any(),
+            eq(true)))
+        .thenReturn(new CopybookModel(copybookName.toCopybookId(DOCUMENT_URI), copybookName, uri, content));
+  }
 }
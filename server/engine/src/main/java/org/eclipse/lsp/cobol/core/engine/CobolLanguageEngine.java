@@ -34,18 +34,19 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
 import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
 import org.eclipse.lsp.cobol.common.message.MessageService;
-import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.*;
 import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp.cobol.common.utils.NodePositionIndex;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.CobolLexer;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
 import org.eclipse.lsp.cobol.core.engine.analysis.EmbeddedCodeService;
+import org.eclipse.lsp.cobol.core.engine.analysis.ParserRuntimeManager;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.core.engine.errors.ErrorFinalizerService;
 import org.eclipse.lsp.cobol.core.engine.processor.AstProcessor;
@@ -61,7 +62,7 @@ import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.PreprocessorContext;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
-import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsingStrategy;
 import org.eclipse.lsp.cobol.core.visitor.CobolVisitor;
 import org.eclipse.lsp.cobol.core.visitor.ParserListener;
 import org.eclipse.lsp.cobol.service.settings.CachingConfigurationService;
@@ -76,6 +77,7 @@ import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.common.error.ErrorCode.INCOMPATIBLE_SERVER_TYPE;
 import static org.eclipse.lsp.cobol.common.error.ErrorSource.WORKSPACE_SETTINGS;
 import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.*;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.*;
 
 /**
  * This class is responsible for run the syntax and semantic analysis of an input cobol document.
@@ -97,6 +99,9 @@ public class CobolLanguageEngine {
   private final SymbolsRepository symbolsRepository;
   private final EmbeddedCodeService embeddedCodeService;
   private final ErrorFinalizerService errorFinalizerService;
+  private final AnalysisMetrics analysisMetrics;
+  private final TwoStageParsingStrategy parsingStrategy;
+  private final ParserRuntimeManager parserRuntimeManager;
 
   @Inject
   public CobolLanguageEngine(
@@ -110,7 +115,10 @@ public class CobolLanguageEngine {
       AstProcessor astProcessor,
       SymbolsRepository symbolsRepository,
       EmbeddedCodeService embeddedCodeService,
-      ErrorFinalizerService errorFinalizerService) {
+      ErrorFinalizerService errorFinalizerService,
+      AnalysisMetrics analysisMetrics,
+      TwoStageParsingStrategy parsingStrategy,
+      ParserRuntimeManager parserRuntimeManager) {
     this.preprocessor = preprocessor;
     this.grammarPreprocessor = grammarPreprocessor;
     this.messageService = messageService;
@@ -122,6 +130,9 @@ public class CobolLanguageEngine {
     this.symbolsRepository = symbolsRepository;
     this.embeddedCodeService = embeddedCodeService;
     this.errorFinalizerService = errorFinalizerService;
+    this.analysisMetrics = analysisMetrics;
+    this.parsingStrategy = parsingStrategy;
+    this.parserRuntimeManager = parserRuntimeManager;
   }
 
   /**
@@ -159,16 +170,21 @@ public class CobolLanguageEngine {
 
     // Run parser
     ParserListener listener = new ParserListener(ctx.getExtendedSource(), copybooksRepository);
-    CobolLexer lexer = new CobolLexer(CharStreams.fromString(ctx.getExtendedSource().extendedText()));
+    String extendedText = ctx.getExtendedSource().extendedText();
+    ctx.count(EXTENDED_TEXT_LENGTH, extendedText.length());
+    CobolLexer lexer = new CobolLexer(CharStreams.fromString(extendedText));
     lexer.removeErrorListeners();
     CommonTokenStream tokens = new CommonTokenStream(lexer);
 
+    AnalysisContext.Activity parserWarmth = parserRuntimeManager.isWarm() ? WARM_PARSER : COLD_PARSER;
     CobolParser.StartRuleContext tree = ctx.measure(PARSER,
-            () -> runParser(listener, lexer, tokens));
+            () -> ctx.measure(parserWarmth, () -> runParser(listener, lexer, tokens)));
 
     // Parse embedded code
-    List<Node> embeddedNodes = embeddedCodeService.generateNodes(ctx.getExtendedSource(), new ParserListener(ctx.getExtendedSource(), copybooksRepository), tree, treeListener,
-        documentUri, analysisConfig.getFeatures())
+    List<Node> embeddedNodes = ctx.measure(EMBEDDED_CODE,
+            () -> embeddedCodeService.generateNodes(ctx.getExtendedSource(),
+                copybooksRepository, tree, treeListener, analysisConfig.getFeatures(),
+                analysisConfig.getCopybookConfig().getSqlBackend()))
         .unwrap(ctx.getAccumulatedErrors()::addAll);
 
     ctx.getExtendedSource().commitTransformations();
@@ -187,14 +203,22 @@ public class CobolLanguageEngine {
     Node rootNode = ctx.measure(SYNTAX_TREE,
             () -> {
       Node root = processSyntaxTree(analysisConfig, symbolAccumulatorService, ctx, syntaxTree);
-      symbolsRepository.updateSymbols(symbolAccumulatorService.getProgramSymbols());
+      symbolsRepository.updateSymbols(documentUri, symbolAccumulatorService.getProgramSymbols());
       return root;
     });
 
     ctx.getAccumulatedErrors().addAll(listener.getErrors());
-    ctx.measure(LATE_ERROR_PROCESSING,
-        () -> errorFinalizerService.processLateErrors(ctx, copybooksRepository));
+    ctx.count(PARSER_ERRORS, listener.getErrors().size());
+    List<SyntaxError> errors = ctx.measure(LATE_ERROR_PROCESSING,
+        () -> {
+      errorFinalizerService.processLateErrors(ctx, copybooksRepository);
+      return ctx.getAccumulatedErrors().stream().map(errorFinalizerService::localizeErrorMessage).collect(toList());
+    });
+    // The tree is published to the request threads from here, so it must not change anymore
+    ctx.count(AST_NODES, rootNode.freeze());
 
+    analysisMetrics.record(ctx);
+    parserRuntimeManager.checkCacheSize();
     if (LOG.isDebugEnabled()) {
       ctx.logTiming();
     }
@@ -204,7 +228,7 @@ public class CobolLanguageEngine {
             .rootNode(rootNode)
             .symbolTableMap(symbolAccumulatorService.getProgramSymbols())
             .build(),
-            ctx.getAccumulatedErrors().stream().map(errorFinalizerService::localizeErrorMessage).collect(toList()));
+            errors);
   }
 
   private ResultWithErrors<AnalysisResult> getErrorForIncompatibleServerTypeAndDialects(String documentUri) {
@@ -222,10 +246,14 @@ public class CobolLanguageEngine {
   }
 
   private void addEmbeddedNodes(Node rootNode, List<Node> embeddedNodes) {
+    if (embeddedNodes.isEmpty()) {
+      return;
+    }
+    // Embedded code blocks don't overlap, so the nodes of the COBOL tree are enough to find a parent
+    NodePositionIndex positionIndex = new NodePositionIndex(rootNode);
     for (Node dialectNode : embeddedNodes) {
       Optional<Node> nodeByPosition =
-          RangeUtils.findNodeByPosition(
-              rootNode,
+          positionIndex.findNodeByPosition(
               dialectNode.getLocality().getUri(),
               dialectNode.getLocality().getRange().getStart());
 
@@ -258,11 +286,8 @@ public class CobolLanguageEngine {
     ThreadInterruptionUtil.checkThreadInterrupted();
     lexer.addErrorListener(listener);
     CobolParser parser = new CobolParser(tokens);
-    parser.removeErrorListeners();
-    parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addParseListener(treeListener);
-    return parser.startRule();
+    return parsingStrategy.parse(parser, listener, CobolParser::startRule);
   }
 
   private CopybooksRepository runPreprocessor(String programDocumentUri, AnalysisContext ctx) {
@@ -297,7 +322,14 @@ public class CobolLanguageEngine {
     return dialectOutcome;
   }
 
-  private void registerProcessors(AnalysisConfig analysisConfig, ProcessingContext ctx, SymbolAccumulatorService symbolAccumulatorService) {
+  /**
+   * Register the AST processors of the analysis in the processing context
+   *
+   * @param analysisConfig the analysis configuration
+   * @param ctx the processing context
+   * @param symbolAccumulatorService the symbol accumulator used by the processors
+   */
+  public void registerProcessors(AnalysisConfig analysisConfig, ProcessingContext ctx, SymbolAccumulatorService symbolAccumulatorService) {
     // Phase TRANSFORMATION
     ProcessingPhase t = ProcessingPhase.TRANSFORMATION;
     ctx.register(t, CompilerDirectiveNode.class, new CompilerDirectiveProcess());
@@ -347,9 +379,7 @@ public class CobolLanguageEngine {
 
   private void applyDialectCopybooks(CopybooksRepository copybooks, List<Node> dialectNodes) {
     dialectNodes.stream()
-        .flatMap(Node::getDepthFirstStream)
-        .filter(n -> n.getNodeType().equals(NodeType.COPY))
-        .map(CopyNode.class::cast)
+        .flatMap(node -> node.getDepthFirstStream(CopyNode.class))
         .filter(n -> n.getDefinition() != null)
         .forEach(n -> copybooks.define(n.getName(), n.getDialect(), n.getDefinition().getLocation()));
   }
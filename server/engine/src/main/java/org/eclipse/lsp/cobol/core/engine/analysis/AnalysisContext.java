@@ -23,6 +23,7 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Contains related to analysis state
@@ -33,6 +34,7 @@ import java.util.function.Supplier;
 public class AnalysisContext {
   ExtendedSource extendedSource;
   Map<Activity, Timing> timing = new EnumMap<>(Activity.class);
+  Map<Counter, Long> counters = new EnumMap<>(Counter.class);
   AnalysisConfig config;
   List<SyntaxError> accumulatedErrors = new ArrayList<>();
 
@@ -56,20 +58,26 @@ public class AnalysisContext {
     timing.computeIfAbsent(activity, a -> new Timing()).measure(runnable);
   }
 
+  /**
+   * Add the value to the counter of this analysis
+   * @param counter the counter to update
+   * @param value the value to add
+   */
+  public void count(Counter counter, long value) {
+    counters.merge(counter, value, Long::sum);
+  }
+
   /**
    * Log the timing of analysis
    */
   public void logTiming() {
     LOG.debug(
-            "Timing for parsing {}. Dialects: {}, preprocessor: {}, parser: {}, visitor: {}, syntaxTree: {}, "
-                    + "late error processing: {}",
+            "Timing for parsing {} in ms: {}, counters: {}",
             getExtendedSource().getUri(),
-            timing.get(Activity.DIALECTS).getTime(),
-            timing.get(Activity.PREPROCESSOR).getTime(),
-            timing.get(Activity.PARSER).getTime(),
-            timing.get(Activity.VISITOR).getTime(),
-            timing.get(Activity.SYNTAX_TREE).getTime(),
-            timing.get(Activity.LATE_ERROR_PROCESSING).getTime());
+            timing.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue().getTime())
+                    .collect(Collectors.joining(", ")),
+            counters);
   }
   /**
    * Type of activities we want to measure time for
@@ -78,8 +86,45 @@ public class AnalysisContext {
     DIALECTS,
     PREPROCESSOR,
     PARSER,
+    /** The same as {@link #PARSER}, but only for the parsings started before the warm-up finished */
+    COLD_PARSER,
+    /** The same as {@link #PARSER}, but only for the parsings started after the warm-up finished */
+    WARM_PARSER,
+    EMBEDDED_CODE,
     VISITOR,
     SYNTAX_TREE,
-    LATE_ERROR_PROCESSING
+    LATE_ERROR_PROCESSING,
+    /** Waiting for the copybook content, measured by the copybook service outside of the analysis */
+    COPYBOOK_RESOLUTION,
+    /** Converting the errors to the LSP diagnostics, measured by the engine facade */
+    DIAGNOSTICS,
+    /** Parsing the sample sources to fill the parser caches, measured by the parser runtime manager */
+    PARSER_WARM_UP
+  }
+
+  /**
+   * Type of values we want to count
+   */
+  public enum Counter {
+    ANALYSES,
+    /** The copybooks found in the cache by the copybook service */
+    COPYBOOK_CACHE_HITS,
+    /** The copybooks the copybook service had to load, one by one or in a batch */
+    COPYBOOK_CACHE_MISSES,
+    /** The syntax errors the parser recovered from */
+    PARSER_ERRORS,
+    /** The parses finished in the SLL prediction mode, including the embedded code */
+    SLL_PARSES,
+    /** The parses run in the full LL prediction mode after the SLL mode failed or was disabled */
+    LL_PARSES,
+    AST_NODES,
+    /** The length of the text after the preprocessing, in characters */
+    EXTENDED_TEXT_LENGTH,
+    /** The times the parser caches were dropped for exceeding the limit */
+    PARSER_CACHE_CLEARS,
+    /** The embedded code blocks found in the cache of the parsing results */
+    EMBEDDED_CODE_CACHE_HITS,
+    /** The embedded code blocks that had to be parsed */
+    EMBEDDED_CODE_CACHE_MISSES
   }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.inject.Singleton;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter;
+import org.eclipse.lsp.cobol.core.model.extendedapi.MetricsResult;
+import org.eclipse.lsp.cobol.core.model.extendedapi.TimerMetrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The metrics of all the analyses run by the server: a latency histogram for each activity and the
+ * totals of the counters. The analysis records its own metrics in the {@link AnalysisContext} and
+ * adds them here when it finishes, the activities outside of the analysis are measured directly.
+ * The gauges report the current values of the server state, e.g. the size of the caches.
+ */
+@Singleton
+public class AnalysisMetrics {
+  private final Map<Activity, Histogram> timers = new EnumMap<>(Activity.class);
+  private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+  private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+  public AnalysisMetrics() {
+    for (Activity activity : Activity.values()) {
+      timers.put(activity, new Histogram());
+    }
+    for (Counter counter : Counter.values()) {
+      counters.put(counter, new LongAdder());
+    }
+  }
+
+  /**
+   * Add the metrics of the finished analysis
+   *
+   * @param ctx the analysis context
+   */
+  public void record(AnalysisContext ctx) {
+    ctx.getTiming().forEach((activity, timing) -> timers.get(activity).record(timing.getNanoTime()));
+    ctx.getCounters().forEach(this::count);
+    count(Counter.ANALYSES, 1);
+  }
+
+  /**
+   * Measure run time of supplier
+   *
+   * @param activity current activity
+   * @param supplier execution logic
+   * @return result of execution
+   * @param <T> type of execution result
+   */
+  public <T> T measure(Activity activity, Supplier<T> supplier) {
+    long start = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      timers.get(activity).record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Measure run time of runnable
+   *
+   * @param activity current activity
+   * @param runnable execution logic
+   */
+  public void measure(Activity activity, Runnable runnable) {
+    long start = System.nanoTime();
+    try {
+      runnable.run();
+    } finally {
+      timers.get(activity).record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Add the value to the counter
+   *
+   * @param counter the counter to update
+   * @param value the value to add
+   */
+  public void count(Counter counter, long value) {
+    counters.get(counter).add(value);
+  }
+
+  /**
+   * Register the gauge that is read every time the snapshot is taken
+   *
+   * @param name the name of the gauge
+   * @param gauge the supplier of the current value
+   */
+  public void registerGauge(String name, LongSupplier gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /**
+   * Take the snapshot of the metrics
+   *
+   * @return the timers, the counters and the gauges by their names
+   */
+  public MetricsResult snapshot() {
+    Map<String, TimerMetrics> timerMetrics = new LinkedHashMap<>();
+    timers.forEach((activity, histogram) -> timerMetrics.put(activity.name(), histogram.snapshot()));
+    Map<String, Long> counterValues = new LinkedHashMap<>();
+    counters.forEach((counter, value) -> counterValues.put(counter.name(), value.sum()));
+    Map<String, Long> gaugeValues = new LinkedHashMap<>();
+    gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+    return new MetricsResult(timerMetrics, counterValues, gaugeValues);
+  }
+}
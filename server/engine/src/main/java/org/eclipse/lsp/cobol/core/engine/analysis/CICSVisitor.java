@@ -16,22 +16,18 @@
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
 import com.google.common.collect.ImmutableList;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.RuleNode;
-import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.variable.QualifiedReferenceNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableUsageNode;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.core.CICSParserBaseVisitor;
 import org.eclipse.lsp.cobol.core.model.tree.CodeBlockUsageNode;
 import org.eclipse.lsp.cobol.core.model.tree.StopNode;
 import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
-import org.eclipse.lsp4j.Location;
-import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 
 import java.util.List;
 import java.util.function.Function;
@@ -41,76 +37,56 @@ import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.core.CICSParser.*;
 
 /**
- * This visitor analyzes the parser tree for CICS and returns its semantic context as a syntax tree
+ * This visitor analyzes the parser tree for CICS and returns its semantic context as a syntax tree.
+ * The ranges of the nodes are relative to the start of the CICS block.
  */
 @Slf4j
-@AllArgsConstructor
-class CICSVisitor extends CICSParserBaseVisitor<List<Node>> {
-
-  private final Position position;
-  private final String programUri;
-  private final ExtendedSource extendedSource;
+class CICSVisitor extends CICSParserBaseVisitor<List<EmbeddedNodeTemplate>> {
 
   @Override
-  public List<Node> visitQualifiedDataName(QualifiedDataNameContext ctx) {
+  public List<EmbeddedNodeTemplate> visitQualifiedDataName(QualifiedDataNameContext ctx) {
     return addTreeNode(ctx, QualifiedReferenceNode::new);
   }
 
   @Override
-  public List<Node> visitDataName(DataNameContext ctx) {
-    return addTreeNode(
-        ctx, locality -> new VariableUsageNode(VisitorHelper.getName(ctx), locality));
+  public List<EmbeddedNodeTemplate> visitDataName(DataNameContext ctx) {
+    String name = VisitorHelper.getName(ctx);
+    return addTreeNode(ctx, locality -> new VariableUsageNode(name, locality));
   }
 
   @Override
-  public List<Node> visitParagraphNameUsage(ParagraphNameUsageContext ctx) {
+  public List<EmbeddedNodeTemplate> visitParagraphNameUsage(ParagraphNameUsageContext ctx) {
     String name = VisitorHelper.getName(ctx);
-    Locality locality = VisitorHelper.buildNameRangeLocality(ctx, name, programUri);
-    locality.setRange(RangeUtils.shiftRangeWithPosition(position, locality.getRange()));
-
-    Location location = extendedSource.mapLocation(locality.getRange());
-
-    Node node = new CodeBlockUsageNode(Locality.builder()
-        .range(location.getRange())
-        .uri(location.getUri())
-        .build(), name);
-    visitChildren(ctx).forEach(node::addChild);
-    return ImmutableList.of(node);
+    return addTreeNode(ctx, locality -> new CodeBlockUsageNode(locality, name));
   }
 
   // NOTE: Visitor is not managed by Guice DI, so can't use annotation here.
   @Override
-  public List<Node> visitChildren(RuleNode node) {
+  public List<EmbeddedNodeTemplate> visitChildren(RuleNode node) {
     VisitorHelper.checkInterruption();
     return super.visitChildren(node);
   }
 
   @Override
-  protected List<Node> defaultResult() {
+  protected List<EmbeddedNodeTemplate> defaultResult() {
     return ImmutableList.of();
   }
 
   @Override
-  protected List<Node> aggregateResult(List<Node> aggregate, List<Node> nextResult) {
+  protected List<EmbeddedNodeTemplate> aggregateResult(
+      List<EmbeddedNodeTemplate> aggregate, List<EmbeddedNodeTemplate> nextResult) {
     return Stream.concat(aggregate.stream(), nextResult.stream()).collect(toList());
   }
 
   @Override
-  public List<Node> visitCics_return(Cics_returnContext ctx) {
+  public List<EmbeddedNodeTemplate> visitCics_return(Cics_returnContext ctx) {
     return addTreeNode(ctx, StopNode::new);
   }
 
-  private List<Node> addTreeNode(ParserRuleContext ctx, Function<Locality, Node> nodeConstructor) {
-    Locality locality = VisitorHelper.buildNameRangeLocality(ctx, VisitorHelper.getName(ctx), programUri);
-    locality.setRange(RangeUtils.shiftRangeWithPosition(position, locality.getRange()));
-
-    Location location = extendedSource.mapLocation(locality.getRange());
-
-    Node node = nodeConstructor.apply(Locality.builder()
-            .range(location.getRange())
-            .uri(location.getUri())
-        .build());
-    visitChildren(ctx).forEach(node::addChild);
-    return ImmutableList.of(node);
+  private List<EmbeddedNodeTemplate> addTreeNode(
+      ParserRuleContext ctx, Function<Locality, Node> nodeConstructor) {
+    Range range = VisitorHelper.buildNameRange(ctx, VisitorHelper.getName(ctx));
+    return ImmutableList.of(
+        new EmbeddedNodeTemplate(nodeConstructor, range, ImmutableList.copyOf(visitChildren(ctx))));
   }
 }
@@ -16,21 +16,17 @@
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
 import com.google.common.collect.ImmutableList;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.RuleNode;
-import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.variable.QualifiedReferenceNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableUsageNode;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.core.Db2SqlParser;
 import org.eclipse.lsp.cobol.core.Db2SqlParserBaseVisitor;
 import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
-import org.eclipse.lsp4j.Location;
-import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 
 import java.util.List;
 import java.util.function.Function;
@@ -42,75 +38,60 @@ import static org.eclipse.lsp.cobol.core.Db2SqlParser.Dbs_rs_locator_variableCon
 
 /**
  * This visitor analyzes the parser tree for DB2 SQL and returns its semantic context as a syntax
- * tree
+ * tree. The ranges of the nodes are relative to the start of the SQL block.
  */
 @Slf4j
-@AllArgsConstructor
-class Db2SqlVisitor extends Db2SqlParserBaseVisitor<List<Node>> {
-
-  private final Position position;
-  private final String programUri;
-  private final ExtendedSource extendedSource;
+class Db2SqlVisitor extends Db2SqlParserBaseVisitor<List<EmbeddedNodeTemplate>> {
 
   @Override
-  public List<Node> visitDbs_host_variable(Dbs_host_variableContext ctx) {
+  public List<EmbeddedNodeTemplate> visitDbs_host_variable(Dbs_host_variableContext ctx) {
     return addTreeNode(ctx, QualifiedReferenceNode::new);
   }
 
   @Override
-  public List<Node> visitDbs_rs_locator_variable(Dbs_rs_locator_variableContext ctx) {
+  public List<EmbeddedNodeTemplate> visitDbs_rs_locator_variable(Dbs_rs_locator_variableContext ctx) {
     return addTreeNode(ctx, QualifiedReferenceNode::new);
   }
 
   @Override
-  public List<Node> visitDbs_host_names_var(Db2SqlParser.Dbs_host_names_varContext ctx) {
+  public List<EmbeddedNodeTemplate> visitDbs_host_names_var(Db2SqlParser.Dbs_host_names_varContext ctx) {
     return addTreeNode(ctx, QualifiedReferenceNode::new);
   }
 
   @Override
-  public List<Node> visitDbs_host_name_container(Db2SqlParser.Dbs_host_name_containerContext ctx) {
-    return addTreeNode(
-            ctx,
-            locality -> new VariableUsageNode(VisitorHelper.getName(ctx), locality)
-    );
+  public List<EmbeddedNodeTemplate> visitDbs_host_name_container(Db2SqlParser.Dbs_host_name_containerContext ctx) {
+    String name = VisitorHelper.getName(ctx);
+    return addTreeNode(ctx, locality -> new VariableUsageNode(name, locality));
   }
 
   @Override
-  public List<Node> visitDbs_sql_identifier(Db2SqlParser.Dbs_sql_identifierContext ctx) {
-    return addTreeNode(
-        ctx,
-        locality -> new VariableUsageNode(VisitorHelper.getName(ctx), locality)
-    );
+  public List<EmbeddedNodeTemplate> visitDbs_sql_identifier(Db2SqlParser.Dbs_sql_identifierContext ctx) {
+    String name = VisitorHelper.getName(ctx);
+    return addTreeNode(ctx, locality -> new VariableUsageNode(name, locality));
   }
 
   // NOTE: Visitor is not managed by Guice DI, so can't use annotation here.
   @Override
-  public List<Node> visitChildren(RuleNode node) {
+  public List<EmbeddedNodeTemplate> visitChildren(RuleNode node) {
     VisitorHelper.checkInterruption();
     return super.visitChildren(node);
   }
 
   @Override
-  protected List<Node> defaultResult() {
+  protected List<EmbeddedNodeTemplate> defaultResult() {
     return ImmutableList.of();
   }
 
   @Override
-  protected List<Node> aggregateResult(List<Node> aggregate, List<Node> nextResult) {
+  protected List<EmbeddedNodeTemplate> aggregateResult(
+      List<EmbeddedNodeTemplate> aggregate, List<EmbeddedNodeTemplate> nextResult) {
     return Stream.concat(aggregate.stream(), nextResult.stream()).collect(toList());
   }
 
-  private List<Node> addTreeNode(ParserRuleContext ctx, Function<Locality, Node> nodeConstructor) {
-    Locality locality = VisitorHelper.buildNameRangeLocality(ctx, VisitorHelper.getName(ctx), programUri);
-    locality.setRange(RangeUtils.shiftRangeWithPosition(position, locality.getRange()));
-
-    Location location = extendedSource.mapLocation(locality.getRange());
-
-    Node node = nodeConstructor.apply(Locality.builder()
-        .range(location.getRange())
-        .uri(location.getUri())
-        .build());
-    visitChildren(ctx).forEach(node::addChild);
-    return ImmutableList.of(node);
+  private List<EmbeddedNodeTemplate> addTreeNode(
+      ParserRuleContext ctx, Function<Locality, Node> nodeConstructor) {
+    Range range = VisitorHelper.buildNameRange(ctx, VisitorHelper.getName(ctx));
+    return ImmutableList.of(
+        new EmbeddedNodeTemplate(nodeConstructor, range, ImmutableList.copyOf(visitChildren(ctx))));
   }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.Value;
+import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
+import org.eclipse.lsp.cobol.common.message.LocaleStore;
+
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.EMBEDDED_CODE_CACHE_HITS;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.EMBEDDED_CODE_CACHE_MISSES;
+
+/**
+ * This cache keeps the results of the parsing of the embedded code blocks, so the blocks repeated
+ * across the programs, e.g. the same SQL includes or CICS handlers, are parsed only once. The results
+ * are stored relative to the block start and looked up by the hash of the block text, the grammar
+ * rule and the SQL backend. The weight of an entry is the length of the block text, since the
+ * numbers of the nodes and the errors grow with it. The messages of the errors are localized, so
+ * the cache is dropped when the locale changes.
+ */
+@Singleton
+public class EmbeddedCodeCache {
+  private final Cache<Key, EmbeddedCodeTemplate> cache;
+  private final AnalysisMetrics analysisMetrics;
+
+  @Inject
+  public EmbeddedCodeCache(
+      LocaleStore localeStore,
+      AnalysisMetrics analysisMetrics,
+      @Named("EMBEDDED-CODE-CACHE-MAX-WEIGHT") int maxWeight) {
+    this.analysisMetrics = analysisMetrics;
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Key key, EmbeddedCodeTemplate template) -> key.getLength())
+            .build();
+    localeStore.subscribeToLocaleChange(locale -> cache.invalidateAll());
+    analysisMetrics.registerGauge("EMBEDDED_CODE_CACHE_SIZE", cache::size);
+  }
+
+  /**
+   * Find the result of the block parsing or parse the block and store the result
+   *
+   * @param key the key of the block
+   * @param parser the parsing of the block
+   * @return the result of the parsing relative to the block start
+   */
+  EmbeddedCodeTemplate get(Key key, Supplier<EmbeddedCodeTemplate> parser) {
+    EmbeddedCodeTemplate template = cache.getIfPresent(key);
+    if (template != null) {
+      analysisMetrics.count(EMBEDDED_CODE_CACHE_HITS, 1);
+      return template;
+    }
+    template = parser.get();
+    analysisMetrics.count(EMBEDDED_CODE_CACHE_MISSES, 1);
+    cache.put(key, template);
+    return template;
+  }
+
+  /**
+   * Create the key of the block
+   *
+   * @param text the text of the block
+   * @param startRule the name of the grammar rule to parse the block with
+   * @param sqlBackend the SQL backend or null for the blocks other than SQL
+   * @return the key of the block
+   */
+  static Key key(String text, String startRule, SQLBackend sqlBackend) {
+    String hash = Hashing.sha256().hashString(text, UTF_8).toString();
+    return new Key(hash, text.length(), startRule, sqlBackend);
+  }
+
+  /** The key of the embedded code block */
+  @Value
+  static class Key {
+    String contentHash;
+    int length;
+    String startRule;
+    SQLBackend sqlBackend;
+  }
+}
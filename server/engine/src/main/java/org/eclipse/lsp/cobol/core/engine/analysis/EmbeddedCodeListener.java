@@ -15,163 +15,130 @@
 
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
+import com.google.common.collect.ImmutableList;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
-import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 import org.eclipse.lsp.cobol.common.EmbeddedLanguage;
-import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
-import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.core.*;
-import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
-import org.eclipse.lsp.cobol.core.visitor.ParserListener;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsingStrategy;
 import org.eclipse.lsp.cobol.core.visitor.VisitorHelper;
 import org.eclipse.lsp4j.Position;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.eclipse.lsp.cobol.core.CobolParser.*;
 
 /**
- * This lexer separates embedded language code parts from the main document and parse them with
- * specific parsers.
+ * This listener separates embedded language code parts from the main document. Each part becomes a
+ * block that parses it with the specific parser. The blocks don't depend on each other, so they may
+ * run in any order and on any thread; the blocks are listed in the source order. The results of the
+ * parsing are taken from the cache if a block with the same text was parsed before.
  */
 @AllArgsConstructor
 public class EmbeddedCodeListener extends CobolParserBaseListener {
+  private static final String CICS_RULES = "CICS:allCicsRules";
+  private static final String SQL_PROCEDURE_DIVISION_RULES = "SQL:procedureDivisionRules";
+  private static final String SQL_DATA_DIVISION_RULES = "SQL:dataDivisionRules";
 
-  private final MessageService messageService;
+  private final TwoStageParsingStrategy parsingStrategy;
+  private final EmbeddedCodeCache cache;
   private final ParseTreeListener treeListener;
-  private final ParserListener errorListener;
-  private final String programUri;
+  private final CopybooksRepository copybooksRepository;
   private final List<EmbeddedLanguage> features;
+  private final SQLBackend sqlBackend;
   private final ExtendedSource extendedSource;
 
-  @Getter private final List<Node> resultNodes = new LinkedList<>();
-  @Getter private final List<SyntaxError> errors = new LinkedList<>();
+  @Getter private final List<Supplier<ResultWithErrors<List<Node>>>> blocks = new ArrayList<>();
 
   @Override
   public void exitExecSqlStatementInProcedureDivision(
       ExecSqlStatementInProcedureDivisionContext ctx) {
-    parseSql(ctx.execSqlStatement(), Db2SqlParser::procedureDivisionRules);
+    addSqlBlock(ctx.execSqlStatement(), SQL_PROCEDURE_DIVISION_RULES, Db2SqlParser::procedureDivisionRules);
   }
 
   @Override
   public void exitExecSqlStatementInWorkingStorage(ExecSqlStatementInWorkingStorageContext ctx) {
-    parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    addSqlBlock(ctx.execSqlStatement(), SQL_DATA_DIVISION_RULES, Db2SqlParser::dataDivisionRules);
   }
 
   @Override
   public void exitExecSqlStatementInWorkingStorageAndLinkageSection(
       ExecSqlStatementInWorkingStorageAndLinkageSectionContext ctx) {
-    parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    addSqlBlock(ctx.execSqlStatement(), SQL_DATA_DIVISION_RULES, Db2SqlParser::dataDivisionRules);
   }
 
   @Override
   public void exitExecSqlStatementInDataDivision(ExecSqlStatementInDataDivisionContext ctx) {
-    parseSql(ctx.execSqlStatement(), Db2SqlParser::dataDivisionRules);
+    addSqlBlock(ctx.execSqlStatement(), SQL_DATA_DIVISION_RULES, Db2SqlParser::dataDivisionRules);
   }
 
   @Override
   public void exitExecCicsStatement(ExecCicsStatementContext ctx) {
-    parseCics(ctx.cicsRules());
+    addCicsBlock(ctx.cicsRules());
   }
 
-  private void parseCics(CicsRulesContext context) {
+  private void addCicsBlock(CicsRulesContext context) {
     if (context == null) return;
     if (!features.contains(EmbeddedLanguage.CICS)) return;
 
-    CommonTokenStream tokens = applyCicsLexer(context);
-    CICSParser parser = createCicsParser(tokens);
-
+    String text = VisitorHelper.getIntervalText(context);
     Position position = createPosition(context.getStart());
-
-    ParserRuleContext tree = parser.allCicsRules();
-    ParseTreeVisitor<List<Node>> visitor = instanceVisitor(position, EmbeddedLanguage.CICS);
-    resultNodes.addAll(visitor.visit(tree));
-
-    errorListener.getErrors().forEach(e -> e.getLocation().getLocation().setRange(
-        RangeUtils.shiftRangeWithPosition(position, e.getLocation().getLocation().getRange())));
-
-    errors.addAll(errorListener.getErrors());
+    EmbeddedCodeCache.Key key = EmbeddedCodeCache.key(text, CICS_RULES, null);
+    blocks.add(() -> cache.get(key, () -> parseCics(text))
+        .toResult(position, extendedSource, copybooksRepository));
   }
 
-  private Position createPosition(Token token) {
-    return new Position(token.getLine() - 1, token.getCharPositionInLine());
-  }
-
-  private void parseSql(
-      ExecSqlStatementContext context, Function<Db2SqlParser, ParserRuleContext> grammarStartRule) {
+  private void addSqlBlock(
+      ExecSqlStatementContext context,
+      String ruleName,
+      Function<Db2SqlParser, ParserRuleContext> grammarStartRule) {
     if (!features.contains(EmbeddedLanguage.SQL)) return;
 
     SqlCodeContext sqlCode = context.sqlCode();
     if (sqlCode == null) return;
-    CommonTokenStream tokens = applyDb2Lexer(sqlCode);
+    String text = VisitorHelper.getIntervalText(sqlCode);
     Position position = createPosition(sqlCode.getStart());
-
-    ParserRuleContext tree = grammarStartRule.apply(createDb2SqlParser(tokens));
-    ParseTreeVisitor<List<Node>> visitor = instanceVisitor(createPosition(sqlCode.getStart()), EmbeddedLanguage.SQL);
-    resultNodes.addAll(visitor.visit(tree));
-
-    errorListener.getErrors().forEach(e -> e.getLocation().getLocation().setRange(
-        RangeUtils.shiftRangeWithPosition(position, e.getLocation().getLocation().getRange())));
-    errors.addAll(errorListener.getErrors());
+    EmbeddedCodeCache.Key key = EmbeddedCodeCache.key(text, ruleName, sqlBackend);
+    blocks.add(() -> cache.get(key, () -> parseSql(text, grammarStartRule))
+        .toResult(position, extendedSource, copybooksRepository));
   }
 
-  private CommonTokenStream applyDb2Lexer(ParserRuleContext context) {
-    Db2SqlLexer lexer =
-        new Db2SqlLexer(CharStreams.fromString(VisitorHelper.getIntervalText(context)));
-    lexer.removeErrorListeners();
-
-    return new CommonTokenStream(lexer);
+  private Position createPosition(Token token) {
+    return new Position(token.getLine() - 1, token.getCharPositionInLine());
   }
 
-  private CommonTokenStream applyCicsLexer(CicsRulesContext context) {
-    CICSLexer lexer = new CICSLexer(CharStreams.fromString(VisitorHelper.getIntervalText(context)));
+  private EmbeddedCodeTemplate parseCics(String text) {
+    CICSLexer lexer = new CICSLexer(CharStreams.fromString(text));
     lexer.removeErrorListeners();
+    CICSParser parser = new CICSParser(new CommonTokenStream(lexer));
+    parser.addParseListener(treeListener);
 
-    return new CommonTokenStream(lexer);
-  }
-
-  private Db2SqlParser createDb2SqlParser(CommonTokenStream tokens) {
-    Db2SqlParser parser = new Db2SqlParser(tokens);
-    configureParser(parser);
-    return parser;
-  }
-
-  private CICSParser createCicsParser(CommonTokenStream tokens) {
-    CICSParser parser = new CICSParser(tokens);
-    configureParser(parser);
-    return parser;
+    EmbeddedCodeTemplate.ErrorCollector errorListener = new EmbeddedCodeTemplate.ErrorCollector();
+    ParserRuleContext tree = parsingStrategy.parse(parser, errorListener, CICSParser::allCicsRules);
+    return new EmbeddedCodeTemplate(
+        ImmutableList.copyOf(new CICSVisitor().visit(tree)), ImmutableList.copyOf(errorListener.getErrors()));
   }
 
-  private void configureParser(Parser parser) {
-    parser.removeErrorListeners();
-    parser.addErrorListener(errorListener);
+  private EmbeddedCodeTemplate parseSql(
+      String text, Function<Db2SqlParser, ParserRuleContext> grammarStartRule) {
+    Db2SqlLexer lexer = new Db2SqlLexer(CharStreams.fromString(text));
+    lexer.removeErrorListeners();
+    Db2SqlParser parser = new Db2SqlParser(new CommonTokenStream(lexer));
     parser.addParseListener(treeListener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
-  }
 
-  /**
-   * Instance AST visitor for provided language
-   * @param position is a embedded code statring position
-   * @param lang the languate
-   * @return a visitor
-   */
-  public ParseTreeVisitor<List<Node>> instanceVisitor(Position position, EmbeddedLanguage lang) {
-    if (EmbeddedLanguage.CICS == lang) {
-      return new CICSVisitor(position, programUri, extendedSource);
-    }
-
-    if (EmbeddedLanguage.SQL == lang) {
-      return new Db2SqlVisitor(position, programUri, extendedSource);
-    }
-    throw new RuntimeException("Unknown language " + lang);
+    EmbeddedCodeTemplate.ErrorCollector errorListener = new EmbeddedCodeTemplate.ErrorCollector();
+    ParserRuleContext tree = parsingStrategy.parse(parser, errorListener, grammarStartRule);
+    return new EmbeddedCodeTemplate(
+        ImmutableList.copyOf(new Db2SqlVisitor().visit(tree)), ImmutableList.copyOf(errorListener.getErrors()));
   }
-
 }
@@ -14,53 +14,116 @@
  */
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.eclipse.lsp.cobol.common.EmbeddedLanguage;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.UserInterruptException;
+import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
-import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.core.CobolParser;
-import org.eclipse.lsp.cobol.core.visitor.ParserListener;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsingStrategy;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
- * Generates nodes for embedded code
+ * Generates nodes for embedded code. The embedded code blocks are parsed on a separate bounded
+ * thread pool, since a program may have hundreds of them, and the results are merged in the source
+ * order. The extended source is not changed at this stage, so the blocks may map their locations
+ * concurrently. If there are less than two threads configured, the blocks are parsed on the
+ * analysis thread. The blocks repeated across the programs are parsed once, see {@link
+ * EmbeddedCodeCache}.
  */
 @Singleton
 public class EmbeddedCodeService {
-  private final MessageService messageService;
+  private final TwoStageParsingStrategy parsingStrategy;
+  private final EmbeddedCodeCache cache;
+  private final ExecutorService executor;
 
   @Inject
-  public EmbeddedCodeService(MessageService messageService) {
-    this.messageService = messageService;
+  public EmbeddedCodeService(
+      TwoStageParsingStrategy parsingStrategy,
+      EmbeddedCodeCache cache,
+      @Named("EMBEDDED-CODE-PARSING-THREADS") int parsingThreads) {
+    this.parsingStrategy = parsingStrategy;
+    this.cache = cache;
+    this.executor =
+        parsingThreads > 1
+            ? Executors.newFixedThreadPool(
+                parsingThreads,
+                new ThreadFactoryBuilder().setNameFormat("embedded-code-parser-%d").setDaemon(true).build())
+            : null;
   }
 
   /**
    * Extract Embedded Code
    * @param extendedSource is extended source
-   * @param listener a parser listener
+   * @param copybooksRepository a repository of the copybooks to find the copybook IDs of the errors
    * @param tree a CST root
    * @param treeListener a Parse Tree Listener
-   * @param programUri a program uri
    * @param features is a list of language features such as CICS or SQL
+   * @param sqlBackend the SQL backend of the program
    * @return a list of embedded code nodes with errors
    */
   public ResultWithErrors<List<Node>> generateNodes(
       ExtendedSource extendedSource,
-      ParserListener listener,
+      CopybooksRepository copybooksRepository,
       CobolParser.StartRuleContext tree,
       ParseTreeListener treeListener,
-      String programUri,
-      List<EmbeddedLanguage> features) {
+      List<EmbeddedLanguage> features,
+      SQLBackend sqlBackend) {
 
-    EmbeddedCodeListener embeddedLanguagesListener = new EmbeddedCodeListener(messageService, treeListener, listener, programUri, features, extendedSource);
+    EmbeddedCodeListener embeddedLanguagesListener = new EmbeddedCodeListener(parsingStrategy, cache, treeListener,
+        copybooksRepository, features, sqlBackend, extendedSource);
     new ParseTreeWalker().walk(embeddedLanguagesListener, tree);
-    return new ResultWithErrors<>(embeddedLanguagesListener.getResultNodes(), embeddedLanguagesListener.getErrors());
+
+    List<Node> nodes = new ArrayList<>();
+    List<SyntaxError> errors = new ArrayList<>();
+    for (ResultWithErrors<List<Node>> result : parseBlocks(embeddedLanguagesListener.getBlocks())) {
+      nodes.addAll(result.getResult());
+      errors.addAll(result.getErrors());
+    }
+    return new ResultWithErrors<>(nodes, errors);
   }
 
+  private List<ResultWithErrors<List<Node>>> parseBlocks(List<Supplier<ResultWithErrors<List<Node>>>> blocks) {
+    List<ResultWithErrors<List<Node>>> results = new ArrayList<>(blocks.size());
+    if (executor == null || blocks.size() < 2) {
+      blocks.forEach(block -> results.add(block.get()));
+      return results;
+    }
+    List<Future<ResultWithErrors<List<Node>>>> futures = new ArrayList<>(blocks.size());
+    try {
+      for (Supplier<ResultWithErrors<List<Node>>> block : blocks) {
+        futures.add(executor.submit(block::get));
+      }
+      for (Future<ResultWithErrors<List<Node>>> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UserInterruptException("Parsing interrupted by user.", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      // Stop the rest of the blocks if one of them failed or the analysis was interrupted
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
 }
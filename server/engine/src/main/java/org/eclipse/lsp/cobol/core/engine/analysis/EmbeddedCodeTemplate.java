@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import lombok.Getter;
+import lombok.Value;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+import org.eclipse.lsp.cobol.core.visitor.ParserListener;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The result of the parsing of an embedded code block: the nodes and the syntax errors with the
+ * ranges relative to the block start. It becomes the result of the block after the ranges are
+ * shifted to the block start and mapped to the original documents.
+ */
+@Value
+class EmbeddedCodeTemplate {
+  List<EmbeddedNodeTemplate> nodes;
+  List<ErrorTemplate> errors;
+
+  /**
+   * Create the nodes and the errors of the block
+   *
+   * @param start the start of the block in the extended text
+   * @param extendedSource the extended source to map the locations
+   * @param copybooksRepository a repository of the copybooks to find the copybook IDs of the errors
+   * @return the nodes with the errors
+   */
+  ResultWithErrors<List<Node>> toResult(
+      Position start, ExtendedSource extendedSource, CopybooksRepository copybooksRepository) {
+    List<Node> result = nodes.stream().map(node -> node.toNode(start, extendedSource)).collect(toList());
+    ParserListener errorListener = new ParserListener(extendedSource, copybooksRepository);
+    errors.forEach(error ->
+        errorListener.addError(RangeUtils.shiftRangeWithPosition(start, error.getRange()), error.getMessage()));
+    return new ResultWithErrors<>(result, errorListener.getErrors());
+  }
+
+  /** The syntax error with the range relative to the block start */
+  @Value
+  static class ErrorTemplate {
+    Range range;
+    String message;
+  }
+
+  /** This error listener keeps the syntax errors of the block as they are reported by the parser */
+  static class ErrorCollector extends BaseErrorListener {
+    @Getter private final List<ErrorTemplate> errors = new ArrayList<>();
+
+    @Override
+    public void syntaxError(
+        Recognizer<?, ?> recognizer,
+        Object offendingSymbol,
+        int line,
+        int charPositionInLine,
+        String msg,
+        RecognitionException e) {
+      if (!ParserListener.isIgnored(msg)) {
+        errors.add(new ErrorTemplate(ParserListener.getErrorRange(offendingSymbol, line, charPositionInLine), msg));
+      }
+    }
+  }
+}
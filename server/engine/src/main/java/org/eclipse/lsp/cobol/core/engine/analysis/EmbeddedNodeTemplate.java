@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import lombok.Value;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The node of the embedded code block with the range relative to the block start. The template
+ * doesn't depend on the document, so it may be shared between the blocks with the same text. The
+ * factory must not keep the parse tree.
+ */
+@Value
+class EmbeddedNodeTemplate {
+  Function<Locality, Node> factory;
+  Range range;
+  List<EmbeddedNodeTemplate> children;
+
+  /**
+   * Create the node with its children at the actual location of the block
+   *
+   * @param start the start of the block in the extended text
+   * @param extendedSource the extended source to map the locations
+   * @return the node
+   */
+  Node toNode(Position start, ExtendedSource extendedSource) {
+    Location location = extendedSource.mapLocation(RangeUtils.shiftRangeWithPosition(start, range));
+    Node node = factory.apply(Locality.builder()
+        .range(location.getRange())
+        .uri(location.getUri())
+        .build());
+    children.forEach(child -> node.addChild(child.toNode(start, extendedSource)));
+    return node;
+  }
+}
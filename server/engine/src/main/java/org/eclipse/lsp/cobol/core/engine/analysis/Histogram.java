@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import org.eclipse.lsp.cobol.core.model.extendedapi.TimerMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency histogram with fixed exponential buckets from 0.1 ms to 10 s. It can be updated from
+ * several threads without locking, the percentiles are estimated as the upper bounds of the buckets.
+ */
+public class Histogram {
+  private static final long[] BOUNDS_MICROS = {
+    100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+    1_000_000, 2_500_000, 5_000_000, 10_000_000
+  };
+  private static final String OVERFLOW = "+Inf";
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Record the duration
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    int bucket = 0;
+    while (bucket < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[bucket]) {
+      bucket++;
+    }
+    buckets.incrementAndGet(bucket);
+    count.increment();
+    total.add(nanos);
+    max.accumulate(nanos);
+  }
+
+  /**
+   * Take the snapshot of the recorded durations. The concurrent updates may be partially visible in
+   * it.
+   *
+   * @return the durations statistics in milliseconds
+   */
+  public TimerMetrics snapshot() {
+    long[] counts = new long[buckets.length()];
+    Map<String, Long> histogram = new LinkedHashMap<>();
+    long recorded = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets.get(i);
+      recorded += counts[i];
+      if (counts[i] > 0) {
+        String bound = i < BOUNDS_MICROS.length ? String.valueOf(toMillis(BOUNDS_MICROS[i] * 1000)) : OVERFLOW;
+        histogram.put(bound, counts[i]);
+      }
+    }
+    long totalNanos = total.sum();
+    long maxNanos = max.get();
+    return new TimerMetrics(
+        recorded,
+        toMillis(totalNanos),
+        recorded == 0 ? 0 : toMillis(totalNanos / recorded),
+        toMillis(maxNanos),
+        percentile(counts, recorded, 0.5, maxNanos),
+        percentile(counts, recorded, 0.9, maxNanos),
+        percentile(counts, recorded, 0.99, maxNanos),
+        histogram);
+  }
+
+  private static double percentile(long[] counts, long recorded, double rank, long maxNanos) {
+    long threshold = (long) Math.ceil(recorded * rank);
+    long seen = 0;
+    for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+      seen += counts[i];
+      if (seen >= threshold && seen > 0) {
+        return toMillis(Math.min(BOUNDS_MICROS[i] * 1000, maxNanos));
+      }
+    }
+    return toMillis(maxNanos);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.eclipse.lsp.cobol.common.dialects.AntlrParserRuntime;
+import org.eclipse.lsp.cobol.common.dialects.ParserRuntime;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.*;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.PARSER_WARM_UP;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.PARSER_CACHE_CLEARS;
+
+/**
+ * This service manages the prediction caches of all the parsers of the server and the dialects. The
+ * caches are static, so they live as long as the server and start empty after each launch. The
+ * service fills them in the background when the server starts, checks their size after each
+ * analysis and, if the size exceeds the limit, drops and fills them again.
+ *
+ * <p>The limit is the total number of the DFA states of the lexers and the parsers, since the
+ * memory they take grows with it. Zero or a negative limit disables the check.
+ */
+@Slf4j
+@Singleton
+public class ParserRuntimeManager {
+  private final List<ParserRuntime> engineRuntimes;
+  private final DialectService dialectService;
+  private final AnalysisMetrics analysisMetrics;
+  private final CustomThreadPoolExecutor executors;
+  private final int maxStates;
+  private final AtomicBoolean warmingUp = new AtomicBoolean(false);
+  private volatile boolean warm;
+
+  @Inject
+  public ParserRuntimeManager(
+      DialectService dialectService,
+      MessageService messageService,
+      AnalysisMetrics analysisMetrics,
+      CustomThreadPoolExecutor executors,
+      @Named("PARSER-CACHE-MAX-STATES") int maxStates) {
+    this.dialectService = dialectService;
+    this.analysisMetrics = analysisMetrics;
+    this.executors = executors;
+    this.maxStates = maxStates;
+    Supplier<ANTLRErrorStrategy> errorStrategy = () -> new CobolErrorStrategy(messageService);
+    engineRuntimes =
+        ImmutableList.<ParserRuntime>of(
+            new AntlrParserRuntime<CobolParser>("COBOL", "cobol.cbl", CobolLexer::new, CobolParser::new,
+                CobolParser::startRule, errorStrategy),
+            new AntlrParserRuntime<CobolPreprocessor>("PREPROCESSOR", "cobol.cbl", CobolPreprocessorLexer::new,
+                CobolPreprocessor::new, CobolPreprocessor::startRule, errorStrategy),
+            new AntlrParserRuntime<Db2SqlParser>("SQL", "sql.txt", Db2SqlLexer::new, Db2SqlParser::new,
+                Db2SqlParser::procedureDivisionRules, errorStrategy),
+            new AntlrParserRuntime<CICSParser>("CICS", "cics.txt", CICSLexer::new, CICSParser::new,
+                CICSParser::allCicsRules, errorStrategy));
+    analysisMetrics.registerGauge("PARSER_CACHE_STATES", this::getCacheSize);
+  }
+
+  /**
+   * Check if the parser caches were filled with the sample sources. The parsings that start before
+   * that are slower, since they fill the caches themselves.
+   *
+   * @return true if the warm-up finished
+   */
+  public boolean isWarm() {
+    return warm;
+  }
+
+  /** Fill the parser caches on the server thread pool, so the server start is not delayed */
+  public void warmUpInBackground() {
+    if (warmingUp.compareAndSet(false, true)) {
+      executors.getThreadPoolExecutor().submit(this::fillCaches);
+    }
+  }
+
+  /**
+   * Check the total size of the parser caches and drop them if it exceeds the limit. The caches are
+   * filled again in the background.
+   */
+  public void checkCacheSize() {
+    if (maxStates <= 0 || warmingUp.get()) {
+      return;
+    }
+    long states = getCacheSize();
+    if (states > maxStates && warmingUp.compareAndSet(false, true)) {
+      LOG.info("The parser caches hold {} states, the limit is {}. Dropping the caches", states, maxStates);
+      warm = false;
+      getRuntimes().forEach(ParserRuntime::clearCache);
+      analysisMetrics.count(PARSER_CACHE_CLEARS, 1);
+      executors.getThreadPoolExecutor().submit(this::fillCaches);
+    }
+  }
+
+  /**
+   * Get the total size of the parser caches
+   *
+   * @return the number of the cached states of all the lexers and the parsers
+   */
+  public long getCacheSize() {
+    return getRuntimes().stream().mapToLong(ParserRuntime::getCacheSize).sum();
+  }
+
+  private void fillCaches() {
+    try {
+      analysisMetrics.measure(PARSER_WARM_UP, () -> getRuntimes().forEach(this::warmUp));
+      warm = true;
+      LOG.debug("The parser caches are filled with {} states", getCacheSize());
+    } finally {
+      warmingUp.set(false);
+    }
+  }
+
+  private void warmUp(ParserRuntime runtime) {
+    try {
+      runtime.warmUp();
+    } catch (Exception e) {
+      LOG.warn("Cannot warm up the {} parser: {}", runtime.getName(), e.getMessage());
+    }
+  }
+
+  private List<ParserRuntime> getRuntimes() {
+    List<ParserRuntime> runtimes = new ArrayList<>(engineRuntimes);
+    runtimes.addAll(dialectService.getParserRuntimes());
+    return runtimes;
+  }
+}
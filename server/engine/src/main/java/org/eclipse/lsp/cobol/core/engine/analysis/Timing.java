@@ -14,8 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
@@ -51,7 +50,11 @@ public class Timing {
     }
   }
   public long getTime() {
-    return  timer.getTotalTime();
+    return TimeUnit.NANOSECONDS.toMillis(timer.getTotalTime());
+  }
+
+  public long getNanoTime() {
+    return timer.getTotalTime();
   }
 }
 
@@ -59,25 +62,27 @@ public class Timing {
  * The stop watch timer.
  */
 class Timer {
-  private List<Long> measurements = new ArrayList<>();
+  private long totalTime = 0;
   private long startTime = 0;
+  private boolean running = false;
 
   public void start() {
-    if (startTime != 0) {
+    if (running) {
       throw new IllegalStateException("The timer is running");
     }
-    startTime = System.currentTimeMillis();
+    running = true;
+    startTime = System.nanoTime();
   }
 
   public void stop() {
-    if (startTime == 0) {
+    if (!running) {
       throw new IllegalStateException("The timer is not running");
     }
-    measurements.add(System.currentTimeMillis() - startTime);
-    startTime = 0;
+    totalTime += System.nanoTime() - startTime;
+    running = false;
   }
 
   long getTotalTime() {
-      return measurements.stream().mapToLong(l -> l).sum();
+    return totalTime;
   }
 }
@@ -22,6 +22,7 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.dialects.ParserRuntime;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
@@ -190,4 +191,14 @@ public class DialectService {
     return dialectSuppliers.values().stream()
         .flatMap(d -> d.getWatchingFolderSettings().stream()).collect(Collectors.toList());
   }
+
+  /**
+   * Return a list of the parser runtimes of all the loaded dialects
+   *
+   * @return a list of parser runtimes
+   */
+  public List<ParserRuntime> getParserRuntimes() {
+    return dialectSuppliers.values().stream()
+        .flatMap(d -> d.getParserRuntimes().stream()).collect(Collectors.toList());
+  }
 }
@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.engine.processor;
 
+import com.google.inject.Singleton;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
@@ -21,14 +22,23 @@ import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 
 /**
  * AST processor. This class contains node type specific processors and handles abstract syntax tree
  * processing.
+ *
+ * <p>The processors applicable to a node class are resolved once for each set of the registered
+ * node classes, i.e. once for each dialect configuration, and kept in a dispatch table, so the
+ * processing of a node doesn't require checking all the registered classes.
  */
+@Singleton
 public class AstProcessor {
+  private final Map<List<Class<? extends Node>>, Map<Class<? extends Node>, int[]>> dispatchTables =
+      new ConcurrentHashMap<>();
 
   /**
    * The entry point to AST processing
@@ -52,25 +62,58 @@ public class AstProcessor {
    * @param ctx processing context
    */
   public void process(ProcessingPhase phase, Node node, ProcessingContext ctx) {
-    ThreadInterruptionUtil.checkThreadInterrupted();
-    findProcessors(ctx, phase, node.getClass()).forEach(p -> ((Processor<Node>) p).accept(node, ctx));
-    node.getChildren().forEach(n -> process(phase, n, ctx));
+    Map<Class<? extends Node>, List<BiConsumer<? extends Node, ProcessingContext>>> registered =
+        ctx.getProcessors().get(phase);
+    if (registered == null || registered.isEmpty()) {
+      return;
+    }
+    Dispatcher dispatcher = new Dispatcher(registered);
+    Deque<Node> nodes = new ArrayDeque<>();
+    nodes.push(node);
+    while (!nodes.isEmpty()) {
+      ThreadInterruptionUtil.checkThreadInterrupted();
+      Node current = nodes.pop();
+      dispatcher.find(current.getClass()).forEach(p -> p.accept(current, ctx));
+      List<Node> children = current.getChildren();
+      for (int i = children.size() - 1; i >= 0; i--) {
+        nodes.push(children.get(i));
+      }
+    }
   }
 
-  private List<Processor<? extends Node>> findProcessors(ProcessingContext ctx,
-                                               ProcessingPhase phase, Class<? extends Node> nodeClass) {
-    List<Processor<? extends Node>> result = new ArrayList<>();
-    if (!ctx.getProcessors().containsKey(phase)) {
+  /**
+   * Resolves the processors of one phase for the node classes using the shared dispatch table of
+   * the registered node classes
+   */
+  private final class Dispatcher {
+    private final List<Class<? extends Node>> nodeClasses;
+    private final List<List<BiConsumer<? extends Node, ProcessingContext>>> processors;
+    private final Map<Class<? extends Node>, int[]> dispatchTable;
+    private final Map<Class<? extends Node>, List<Processor<Node>>> resolved = new HashMap<>();
+
+    Dispatcher(Map<Class<? extends Node>, List<BiConsumer<? extends Node, ProcessingContext>>> registered) {
+      nodeClasses = new ArrayList<>(registered.keySet());
+      processors = new ArrayList<>(registered.values());
+      dispatchTable = dispatchTables.computeIfAbsent(nodeClasses, k -> new ConcurrentHashMap<>());
+    }
+
+    List<Processor<Node>> find(Class<? extends Node> nodeClass) {
+      return resolved.computeIfAbsent(nodeClass, this::resolve);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Processor<Node>> resolve(Class<? extends Node> nodeClass) {
+      List<Processor<Node>> result = new ArrayList<>();
+      for (int index : dispatchTable.computeIfAbsent(nodeClass, this::findAssignable)) {
+        processors.get(index).forEach(p -> result.add((Processor<Node>) p));
+      }
       return result;
     }
-    ctx.getProcessors()
-        .get(phase)
-        .forEach(
-            (key, value) -> {
-              if (key.isAssignableFrom(nodeClass)) {
-                value.forEach(v -> result.add((Processor<? extends Node>) v));
-              }
-            });
-    return result;
+
+    private int[] findAssignable(Class<? extends Node> nodeClass) {
+      return IntStream.range(0, nodeClasses.size())
+          .filter(i -> nodeClasses.get(i).isAssignableFrom(nodeClass))
+          .toArray();
+    }
   }
 }
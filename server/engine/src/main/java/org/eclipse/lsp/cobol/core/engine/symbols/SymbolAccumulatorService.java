@@ -41,8 +41,6 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-
 /** Service to handle symbol information and dependencies */
 public class SymbolAccumulatorService implements VariableAccumulator {
   private final Map<String, SymbolTable> programSymbols;
@@ -71,9 +69,7 @@ public class SymbolAccumulatorService implements VariableAccumulator {
     // collect them
     List<VariableNode> variables =
         node.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
-            .map(VariableNode.class::cast)
+            .flatMap(child -> child.getDepthFirstStream(VariableNode.class))
             .collect(Collectors.toList());
     node.getProgram()
         .ifPresent(programNode -> variables.forEach(v -> addVariableDefinition(programNode, v)));
@@ -88,6 +84,7 @@ public class SymbolAccumulatorService implements VariableAccumulator {
   public void registerCodeBlock(ProgramNode program, CodeBlockDefinitionNode node) {
     SymbolTable symbolTable = createOrGetSymbolTable(program);
     symbolTable.getCodeBlocks().add(node);
+    symbolTable.getCodeBlocksByName().put(node.getName().toUpperCase(Locale.ROOT), node);
   }
 
   /**
@@ -102,9 +99,12 @@ public class SymbolAccumulatorService implements VariableAccumulator {
       ProgramNode program, CodeBlockUsageNode node) {
     SymbolTable symbolTable = createOrGetSymbolTable(program);
 
+    Optional<String> qualifyingSectionName = getQualifyingSectionName(node);
     List<CodeBlockDefinitionNode> definitions =
-        symbolTable.getCodeBlocks().stream()
-            .filter(it -> filterNodes(it, node))
+        symbolTable.getCodeBlocksByName().get(node.getName().toUpperCase(Locale.ROOT)).stream()
+            .filter(it -> qualifyingSectionName
+                .map(n -> n.equalsIgnoreCase(getSectionName(symbolTable, it)))
+                .orElse(true))
             .collect(Collectors.toList());
 
     if (definitions.size() == 0) {
@@ -124,7 +124,7 @@ public class SymbolAccumulatorService implements VariableAccumulator {
       String usageSectionName = getSectionName(node);
 
       List<CodeBlockDefinitionNode> inTheSameSection = definitions.stream()
-              .filter(d -> getSectionName(d).equalsIgnoreCase(usageSectionName))
+              .filter(d -> getSectionName(symbolTable, d).equalsIgnoreCase(usageSectionName))
               .collect(Collectors.toList());
       if (inTheSameSection.size() == 1) {
         definitions = inTheSameSection;
@@ -151,25 +151,22 @@ public class SymbolAccumulatorService implements VariableAccumulator {
     return Optional.empty();
   }
 
-  private boolean filterNodes(CodeBlockDefinitionNode definition, CodeBlockUsageNode usage) {
-    if (!usage.getName().equalsIgnoreCase(definition.getName())) {
-      return false;
-    }
-
+  private Optional<String> getQualifyingSectionName(CodeBlockUsageNode usage) {
     //Filter nodes in case of section usage in the PERFORM or GO TO statements. i.e. GO TO PARAG1 OF SECTION-1.
     if (usage.getParent().getNodeType() == NodeType.PERFORM
         || usage.getParent().getNodeType() == NodeType.GO_TO
         || usage.getParent().getNodeType() == NodeType.SENTENCE) {
-      Optional<SectionNameNode> sectionNameNode = usage.getParent().getChildren().stream()
+      return usage.getParent().getChildren().stream()
           .filter(c -> c instanceof SectionNameNode)
-          .map(SectionNameNode.class::cast).findFirst();
-
-      return sectionNameNode
-          .map(SectionNameNode::getName)
-          .map(n -> n.equalsIgnoreCase(getSectionName(definition)))
-          .orElse(true);
+          .map(SectionNameNode.class::cast)
+          .findFirst()
+          .map(SectionNameNode::getName);
     }
-    return true;
+    return Optional.empty();
+  }
+
+  private String getSectionName(SymbolTable symbolTable, CodeBlockDefinitionNode definition) {
+    return symbolTable.getCodeBlockSections().computeIfAbsent(definition, this::getSectionName);
   }
 
   private String getSectionName(Node node) {
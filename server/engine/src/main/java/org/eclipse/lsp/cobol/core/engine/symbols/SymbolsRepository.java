@@ -16,18 +16,19 @@ package org.eclipse.lsp.cobol.core.engine.symbols;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Multimap;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import lombok.Synchronized;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.model.Context;
-import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
 import org.eclipse.lsp.cobol.common.symbols.CodeBlockReference;
 import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
-import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
 
@@ -35,15 +36,40 @@ import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.common.utils.RangeUtils.findNodeByPosition;
 
-/** This class is a repository for symbols */
+/**
+ * This class is a repository for symbols. The symbol tables are stored per document, so they are
+ * replaced when the document is re-analysed and removed when it is closed. The symbol table of a
+ * program belongs to the document analysed last among the ones that declare the program, so only
+ * that document removes it. If the maximum size is positive, the least recently used symbol tables
+ * are evicted when the number of programs exceeds it. The limit is off by default, since it may
+ * evict the symbols of the open documents.
+ */
+@Slf4j
 @Singleton
 public class SymbolsRepository {
   private final Map<String, SymbolTable> programSymbols;
+  private final Map<String, Set<String>> documentPrograms = new HashMap<>();
+  private final Map<String, String> programOwners = new HashMap<>();
 
   public SymbolsRepository() {
-    programSymbols = Collections.synchronizedMap(new HashMap<>());
+    this(0);
+  }
+
+  @Inject
+  public SymbolsRepository(@Named("SYMBOLS-REPOSITORY-MAX-SIZE") int maxSize) {
+    programSymbols =
+        Collections.synchronizedMap(
+            new LinkedHashMap<String, SymbolTable>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, SymbolTable> eldest) {
+                if (maxSize > 0 && size() > maxSize) {
+                  releaseProgram(eldest.getKey());
+                  return true;
+                }
+                return false;
+              }
+            });
   }
 
   @VisibleForTesting
@@ -52,13 +78,70 @@ public class SymbolsRepository {
   }
 
   /**
-   * Updates the symbol
+   * Updates the symbols of the document replacing the ones from the previous analysis
    *
+   * @param documentUri the URI of the analysed document
    * @param symbols updated symbols upon analysis
    */
   @Synchronized
-  public void updateSymbols(Map<String, SymbolTable> symbols) {
+  public void updateSymbols(String documentUri, Map<String, SymbolTable> symbols) {
+    reset(documentUri);
+    documentPrograms.put(documentUri, new HashSet<>(symbols.keySet()));
+    symbols.keySet().forEach(program -> takeProgram(documentUri, program));
     programSymbols.putAll(symbols);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Symbols repository usage: {}", getUsage());
+    }
+  }
+
+  /**
+   * Remove the symbols of the document
+   *
+   * @param documentUri the URI of the document
+   */
+  @Synchronized
+  public void reset(String documentUri) {
+    Optional.ofNullable(documentPrograms.remove(documentUri))
+        .ifPresent(keys -> keys.stream()
+            .filter(key -> programOwners.remove(key, documentUri))
+            .forEach(programSymbols::remove));
+  }
+
+  private void takeProgram(String documentUri, String program) {
+    String previousOwner = programOwners.put(program, documentUri);
+    if (previousOwner != null && !previousOwner.equals(documentUri)) {
+      removeFromDocument(previousOwner, program);
+    }
+  }
+
+  private void releaseProgram(String program) {
+    Optional.ofNullable(programOwners.remove(program))
+        .ifPresent(owner -> removeFromDocument(owner, program));
+  }
+
+  private void removeFromDocument(String documentUri, String program) {
+    Set<String> programs = documentPrograms.get(documentUri);
+    if (programs != null && programs.remove(program) && programs.isEmpty()) {
+      documentPrograms.remove(documentUri);
+    }
+  }
+
+  /**
+   * Calculate the amount of symbols held by the repository
+   *
+   * @return the usage of the repository
+   */
+  @Synchronized
+  public Usage getUsage() {
+    int variables = 0;
+    int codeBlocks = 0;
+    synchronized (programSymbols) {
+      for (SymbolTable symbolTable : programSymbols.values()) {
+        variables += symbolTable.getVariables().size();
+        codeBlocks += symbolTable.getCodeBlocks().size();
+      }
+    }
+    return new Usage(documentPrograms.size(), programSymbols.size(), variables, codeBlocks);
   }
 
   /**
@@ -99,31 +182,13 @@ public class SymbolsRepository {
    */
   public Optional<Context> findElementByPosition(
       CobolDocumentModel document, TextDocumentPositionParams position) {
-    AnalysisResult result = document.getAnalysisResult();
-    if (result.getRootNode() == null) {
-      return Optional.empty();
-    }
-    Optional<Node> node =
-        findNodeByPosition(
-            result.getRootNode(), position.getTextDocument().getUri(), position.getPosition());
-    return node.filter(Context.class::isInstance)
+    return document
+        .findNodeByPosition(position.getTextDocument().getUri(), position.getPosition())
+        .filter(Context.class::isInstance)
         .map(Context.class::cast)
         .map(this::constructElementsExcludingImplicits);
   }
 
-//  /**
-//   * Remove program related symbols
-//   *
-//   * @param documentUri the program uri
-//   */
-//  public void reset(String documentUri) {
-//    programSymbols.keySet().stream()
-//        .filter(k -> k.endsWith("%" + documentUri))
-//        .collect(Collectors.toList())
-//        .forEach(programSymbols::remove);
-//    programSymbols.remove(documentUri);
-//  }
-
   private Context constructElementsExcludingImplicits(Context ctx) {
     List<Location> definitions =
         ctx.getDefinitions().stream().filter(uriNotImplicit()).collect(Collectors.toList());
@@ -142,6 +207,15 @@ public class SymbolsRepository {
         SymbolTable.generateKey(program), p -> new SymbolTable());
   }
 
+  /** The amount of documents, programs and symbols held by the repository */
+  @Value
+  public static class Usage {
+    int documents;
+    int programs;
+    int variables;
+    int codeBlocks;
+  }
+
   @Value
   private static class Element implements Context {
     String name;
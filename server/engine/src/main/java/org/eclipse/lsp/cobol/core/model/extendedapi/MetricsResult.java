@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.extendedapi;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The analysis metrics of the server for Extended Api call
+ */
+@Value
+public class MetricsResult {
+  Map<String, TimerMetrics> timers;
+  Map<String, Long> counters;
+  Map<String, Long> gauges;
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.extendedapi;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The statistics of the measured durations in milliseconds. The histogram maps the upper bounds of
+ * the non-empty buckets to the number of the durations in them.
+ */
+@Value
+public class TimerMetrics {
+  long count;
+  double totalMs;
+  double meanMs;
+  double maxMs;
+  double p50Ms;
+  double p90Ms;
+  double p99Ms;
+  Map<String, Long> histogram;
+}
@@ -15,8 +15,6 @@
 package org.eclipse.lsp.cobol.core.model.tree.logic;
 
 import org.eclipse.lsp.cobol.common.VariableConstants;
-import org.eclipse.lsp.cobol.common.model.tree.Node;
-import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.Processor;
@@ -35,9 +33,7 @@ public class FileEntryProcess implements Processor<FileEntryNode> {
     }
     ProgramNode program = programOpt.get();
     program
-        .getDepthFirstStream()
-        .filter(Node.hasType(NodeType.VARIABLE_DEFINITION))
-        .map(VariableDefinitionNode.class::cast)
+        .getDepthFirstStream(VariableDefinitionNode.class)
         .filter(n -> n.getLevel() == VariableConstants.LEVEL_FD_SD)
         .filter(n -> n.getVariableName().getName().equals(node.getFileName()))
         .forEach(n -> n.setFileControlClause(node.getFileControlClause()));
@@ -28,8 +28,6 @@ import org.eclipse.lsp4j.Range;
 
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
-
 /** RootNode processor */
 public class RootNodeUpdateCopyNodesByPositionInTree implements Processor<RootNode> {
   @Override
@@ -38,9 +36,7 @@ public class RootNodeUpdateCopyNodesByPositionInTree implements Processor<RootNo
   }
 
   private void updateCopyNodes(RootNode node) {
-    List<Node> nodes =
-        node.getChildren().stream().filter(Node.hasType(NodeType.COPY)).collect(toList());
-    nodes.forEach(node::removeChild);
+    List<Node> nodes = node.removeChildren(Node.hasType(NodeType.COPY));
     nodes.forEach(
         it ->
             RangeUtils.findNodeByPosition(
@@ -48,9 +44,7 @@ public class RootNodeUpdateCopyNodesByPositionInTree implements Processor<RootNo
                 .orElse(node)
                 .addChild(it));
 
-    node.getDepthFirstStream()
-        .filter(Node.hasType(NodeType.COPY))
-        .map(CopyNode.class::cast)
+    node.getDepthFirstStream(CopyNode.class)
         .forEach(copyNode -> registerCopyUsage(node, copyNode));
   }
 
@@ -144,11 +144,7 @@ public class StatementValidate implements Processor<StatementNode> {
     }
 
     QualifiedReferenceNode lastQualifiedElement =
-        getLastElement(
-            variable
-                .getDepthFirstStream()
-                .filter(QualifiedReferenceNode.class::isInstance)
-                .map(QualifiedReferenceNode.class::cast));
+        getLastElement(variable.getDepthFirstStream(QualifiedReferenceNode.class));
 
     if (lastQualifiedElement == null) {
       return false;
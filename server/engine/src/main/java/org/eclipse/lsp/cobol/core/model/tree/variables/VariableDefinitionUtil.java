@@ -38,7 +38,6 @@ import java.util.stream.Collectors;
 import static java.util.stream.Collectors.groupingBy;
 import static org.eclipse.lsp.cobol.common.VariableConstants.*;
 import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.common.model.tree.variable.VariableType.FD;
 import static org.eclipse.lsp.cobol.common.model.tree.variable.VariableType.SD;
 
@@ -122,9 +121,7 @@ public class VariableDefinitionUtil {
 
     List<CopyNode> allCopybooks =
         copybooks.stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(n -> n.getNodeType() == NodeType.COPY)
-            .map(CopyNode.class::cast)
+            .flatMap(copybook -> copybook.getDepthFirstStream(CopyNode.class))
             .collect(Collectors.toList());
 
     allCopybooks.stream()
@@ -162,11 +159,8 @@ public class VariableDefinitionUtil {
           }
 
           copyNode
-              .getDepthFirstStream()
-              .filter(hasType(NodeType.COPY))
-              .flatMap(Node::getDepthFirstStream)
-              .filter(hasType(NodeType.VARIABLE_DEFINITION))
-              .map(VariableDefinitionNode.class::cast)
+              .getDepthFirstStream(CopyNode.class)
+              .flatMap(nested -> nested.getDepthFirstStream(VariableDefinitionNode.class))
               .forEach(
                   copyNodeVariable -> variables.add(index.getAndIncrement(), copyNodeVariable));
         });
@@ -537,9 +531,7 @@ public class VariableDefinitionUtil {
     List<SyntaxError> errors = new ArrayList<>();
     List<VariableNode> nodesForRenaming =
         group.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
-            .map(VariableNode.class::cast)
+            .flatMap(node -> node.getDepthFirstStream(VariableNode.class))
             .collect(Collectors.toList());
     if (renames == null) return new ResultWithErrors<>(-1, errors);
     String renamesName = renames.get(0).getName();
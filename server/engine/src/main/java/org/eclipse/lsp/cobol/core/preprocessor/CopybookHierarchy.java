@@ -143,6 +143,34 @@ public class CopybookHierarchy {
     }
   }
 
+  /**
+   * Get the patterns of the copy replacing clauses that are applied to the current copybook
+   *
+   * @return the list of pattern lists, one for each copybook level with replacing
+   */
+  public List<List<Pair<String, String>>> getCopybookReplacing() {
+    return recursiveReplaceStmtStack.stream()
+        .map(ReplaceData::getReplacePatterns)
+        .map(ArrayList::new)
+        .collect(toList());
+  }
+
+  /**
+   * Replace the patterns of the copy replacing clauses with the given ones, e.g. to restore the
+   * state after the copybook processing
+   *
+   * @param replacing the list of pattern lists, one for each copybook level with replacing
+   */
+  public void setCopybookReplacing(List<List<Pair<String, String>>> replacing) {
+    recursiveReplaceStmtStack.clear();
+    replacing.forEach(
+        patterns -> {
+          ReplaceData data = new ReplaceData();
+          data.getReplacePatterns().addAll(patterns);
+          recursiveReplaceStmtStack.add(data);
+        });
+  }
+
   /**
    * Check if there is a recursive replacement
    *
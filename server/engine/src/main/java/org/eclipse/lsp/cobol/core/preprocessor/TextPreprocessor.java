@@ -32,4 +32,13 @@ public interface TextPreprocessor {
    *     client
    */
   ResultWithErrors<TextTransformations> cleanUpCode(String documentUri, String cobolCode);
+
+  /**
+   * Get the version of the clean up. It changes whenever the clean up of the same code may produce
+   * a different result, e.g. after the server update, so the stored results of the earlier versions
+   * are not reused.
+   *
+   * @return the version of the clean up
+   */
+  String getVersion();
 }
@@ -29,6 +29,7 @@ import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This class re-writes the content of the analyzing file to simplify the processing by the grammar,
@@ -39,6 +40,9 @@ import java.util.List;
 @Slf4j
 @Singleton
 public class TextPreprocessorImpl implements TextPreprocessor, CleanerPreprocessor {
+  /** Increase when a change of the clean up or of the classes it uses changes its result */
+  private static final int CLEAN_UP_REVISION = 1;
+
   private final CobolLineReader reader;
   private final CobolLineWriter writer;
   private final CobolLinesTransformation transformation;
@@ -66,4 +70,18 @@ public class TextPreprocessorImpl implements TextPreprocessor, CleanerPreprocess
     TextTransformations code = writer.serialize(rewrittenLines, documentUri);
     return new ResultWithErrors<>(code, errors);
   }
+
+  /**
+   * The version consists of the revision of the clean up and the version of the server, if it is
+   * known from the manifest, so the results of another release are not reused.
+   *
+   * @return the version of the clean up
+   */
+  @Override
+  public String getVersion() {
+    return Optional.ofNullable(getClass().getPackage())
+        .map(Package::getImplementationVersion)
+        .map(serverVersion -> CLEAN_UP_REVISION + ":" + serverVersion)
+        .orElse(String.valueOf(CLEAN_UP_REVISION));
+  }
 }
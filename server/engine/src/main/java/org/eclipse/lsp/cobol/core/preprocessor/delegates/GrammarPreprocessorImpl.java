@@ -20,10 +20,15 @@ import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.Trees;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
+import org.eclipse.lsp.cobol.common.utils.PreprocessorStringUtils;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.CobolPreprocessor;
 import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
@@ -36,6 +41,8 @@ import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * This class runs pre-processing for COBOL using CobolPreprocessor.g4 grammar file. As a result, it
  * returns an extended document with all the available copybooks included, with their definitions
@@ -44,13 +51,16 @@ import java.util.List;
 public class GrammarPreprocessorImpl implements GrammarPreprocessor {
   private final GrammarPreprocessorListenerFactory listenerFactory;
   private final ReplacePreprocessorFactory replacingFactory;
+  private final CopybookService copybookService;
 
   @Inject
   public GrammarPreprocessorImpl(
           GrammarPreprocessorListenerFactory listenerFactory,
-          ReplacePreprocessorFactory replacingFactory) {
+          ReplacePreprocessorFactory replacingFactory,
+          CopybookService copybookService) {
     this.listenerFactory = listenerFactory;
     this.replacingFactory = replacingFactory;
+    this.copybookService = copybookService;
   }
 
   @NonNull
@@ -85,11 +95,29 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
     CobolPreprocessor parser = new CobolPreprocessor(tokens);
     parser.removeErrorListeners();
 
+    ParseTree tree = parser.startRule();
+    prefetchCopybooks(context, tree);
+
     ParseTreeWalker walker = new ParseTreeWalker();
-    walker.walk(listener, parser.startRule());
+    walker.walk(listener, tree);
     return listener.getResult();
   }
 
+  private void prefetchCopybooks(PreprocessorContext context, ParseTree tree) {
+    if (!context.getCopybookConfig().getCopybookProcessingMode().analyze) {
+      return;
+    }
+    List<CopybookName> copybookNames = Trees.findAllRuleNodes(tree, CobolPreprocessor.RULE_copySource).stream()
+        .map(ParseTree::getText)
+        .map(PreprocessorStringUtils::trimQuotes)
+        .map(CopybookName::new)
+        .collect(toList());
+    if (!copybookNames.isEmpty()) {
+      copybookService.prefetch(copybookNames, context.getProgramDocumentUri(), context.getCurrentDocument().getUri(),
+          context.getCopybookConfig(), true);
+    }
+  }
+
   private static BufferedTokenStream makeTokens(String code) {
     Lexer lexer = new CobolPreprocessorLexer(CharStreams.fromString(code));
     lexer.removeErrorListeners();
@@ -36,6 +36,9 @@ import org.eclipse.lsp.cobol.core.model.CopybookUsage;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.PreprocessorContext;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.PreprocessedCopybookCache.Dependency;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.PreprocessedCopybookCache.Key;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.PreprocessedCopybookCache.PreprocessedCopybook;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacementContext;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacementHelper;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingService;
@@ -49,6 +52,7 @@ import org.eclipse.lsp4j.Range;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -73,6 +77,7 @@ class CopybookPreprocessorService {
   private final CopybookHierarchy hierarchy;
   private final ReplacingService replacingService;
   private final CopybookErrorService copybookErrorService;
+  private final PreprocessedCopybookCache preprocessedCopybooks;
 
   private static final String HYPHEN = "-";
   private static final String UNDERSCORE = "_";
@@ -86,7 +91,8 @@ class CopybookPreprocessorService {
                                      CopybooksRepository copybooks,
                                      CopybookHierarchy hierarchy,
                                      MessageService messageService,
-                                     ReplacingService replacingService) {
+                                     ReplacingService replacingService,
+                                     PreprocessedCopybookCache preprocessedCopybooks) {
     this.programDocumentUri = programDocumentUri;
     this.grammarPreprocessor = grammarPreprocessor;
     this.extendedSource = extendedSource;
@@ -97,6 +103,7 @@ class CopybookPreprocessorService {
     this.hierarchy = hierarchy;
     this.replacingService = replacingService;
     this.copybookErrorService = new CopybookErrorService(messageService);
+    this.preprocessedCopybooks = preprocessedCopybooks;
   }
 
   void addCopybook(ParserRuleContext ctx, CobolPreprocessor.CopySourceContext copySource,
@@ -158,18 +165,18 @@ class CopybookPreprocessorService {
       replacementContext.forEach(h -> hierarchy.addTextReplacing(h.getReplacement(), h.getLocality().getUri(), h.getLocality().getRange()));
     }
 
-    DocumentMap copybookDocument = new DocumentMap(copybook.getUri(), copybook.getContent());
     hierarchy.prepareCopybookReplacement(copybook.getUri());
 
     if (hierarchy.containsRecursiveReplacement()) {
       errors.add(copybookErrorService.addRecursiveReplacementError(copybook.getCopybookName(), nameLocality));
     }
 
-    hierarchy.replaceCopybook(copybookDocument, replacingService::applyReplacing, errors);
-
-    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, extendedSource, copybookDocument, copybookConfig, hierarchy, copybooks);
-    List<SyntaxError> copybookErrors = new LinkedList<>();
-    grammarPreprocessor.preprocess(copybookContext).unwrap(copybookErrors::addAll);
+    PreprocessedCopybook preprocessedCopybook = preprocessCopybook(copybook);
+    DocumentMap copybookDocument = preprocessedCopybook.getDocument();
+    extendedSource.merge(preprocessedCopybook.getExtendedSource());
+    copybooks.addAll(preprocessedCopybook.getCopybooks());
+    errors.addAll(preprocessedCopybook.getReplacingErrors());
+    List<SyntaxError> copybookErrors = new LinkedList<>(preprocessedCopybook.getCopybookErrors());
 
     copybookErrors.forEach(e -> errors.add(e.toBuilder().location(statementLocality.toOriginalLocation()).build()));
     errors.addAll(copybookErrors);
@@ -178,10 +185,64 @@ class CopybookPreprocessorService {
     errors.addAll(distinct);
 
     hierarchy.pop();
-    copybookDocument.commitTransformations();
     return copybookDocument;
   }
 
+  /**
+   * Apply the replacing to the copybook and process its nested copybooks, or take the result from
+   * the cache if the same copybook was already processed with the same replacing. The copybook is
+   * processed in a separate extended source and copybook repository, so the result can be stored
+   * and reused as a whole. The result is cached only if the processing doesn't depend on the REPLACE
+   * statements of the including documents and doesn't leave them to the following text.
+   */
+  private PreprocessedCopybook preprocessCopybook(CopybookModel copybook) {
+    Key key = hierarchy.getLastTextReplacing() == null
+        ? new Key(PreprocessedCopybookCache.hash(copybook), hierarchy.getCopybookReplacing(),
+            hierarchy.mapCopybooks(CopybookUsage::getName), copybookConfig)
+        : null;
+    if (key != null) {
+      Optional<PreprocessedCopybook> cached = preprocessedCopybooks.get(key).filter(this::isUpToDate);
+      if (cached.isPresent()) {
+        hierarchy.setCopybookReplacing(cached.get().getReplacingAfter());
+        return cached.get();
+      }
+    }
+
+    DocumentMap copybookDocument = new DocumentMap(copybook.getUri(), copybook.getContent());
+    ExtendedSource copybookSource = new ExtendedSource(copybookDocument);
+    CopybooksRepository copybookRepository = new CopybooksRepository();
+    List<SyntaxError> replacingErrors = new ArrayList<>();
+    hierarchy.replaceCopybook(copybookDocument, replacingService::applyReplacing, replacingErrors);
+
+    PreprocessorContext copybookContext = new PreprocessorContext(programDocumentUri, copybookSource, copybookDocument, copybookConfig, hierarchy, copybookRepository);
+    List<SyntaxError> copybookErrors = new ArrayList<>();
+    grammarPreprocessor.preprocess(copybookContext).unwrap(copybookErrors::addAll);
+    copybookDocument.commitTransformations();
+    // Calculate the text before sharing the document, since it is memoized lazily
+    copybookDocument.extendedText();
+
+    PreprocessedCopybook result = new PreprocessedCopybook(copybookDocument, copybookSource, copybookRepository,
+        replacingErrors, copybookErrors, hierarchy.getCopybookReplacing(), collectDependencies(copybookRepository));
+    if (key != null && hierarchy.getLastTextReplacing() == null) {
+      preprocessedCopybooks.store(key, result);
+    }
+    return result;
+  }
+
+  private List<Dependency> collectDependencies(CopybooksRepository copybookRepository) {
+    return copybookRepository.getUsages().entries().stream()
+        .map(e -> Pair.of(new CopybookName(e.getKey()), e.getValue().getUri()))
+        .distinct()
+        .map(p -> new Dependency(p.getKey(), p.getValue(),
+            PreprocessedCopybookCache.hash(read(copybookConfig, p.getKey(), p.getValue()))))
+        .collect(Collectors.toList());
+  }
+
+  private boolean isUpToDate(PreprocessedCopybook preprocessedCopybook) {
+    return preprocessedCopybook.getDependencies().stream()
+        .allMatch(d -> d.getHash().equals(PreprocessedCopybookCache.hash(read(copybookConfig, d.getName(), d.getDocumentUri()))));
+  }
+
   private Locality mapLocality(Locality locality) {
     Location location = currentDocument.mapLocation(locality.getRange(), false);
     return Locality.builder()
@@ -65,7 +65,8 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
       GrammarPreprocessor grammarPreprocessor,
       CopybookService copybookService,
       MessageService messageService,
-      ReplacingService replacingService) {
+      ReplacingService replacingService,
+      PreprocessedCopybookCache preprocessedCopybooks) {
     this.copybookConfig = context.getCopybookConfig();
     this.messageService = messageService;
     this.preprocessorService = new CopybookPreprocessorService(context.getProgramDocumentUri(),
@@ -77,7 +78,8 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
         context.getCopybooksRepository(),
         context.getHierarchy(),
         messageService,
-        replacingService);
+        replacingService,
+        preprocessedCopybooks);
     this.replacingService = replacingService;
   }
 
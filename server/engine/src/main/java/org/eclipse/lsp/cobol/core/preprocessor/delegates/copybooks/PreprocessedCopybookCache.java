@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.Value;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.copybook.CopybookConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedSource;
+import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This cache keeps the results of the copybook preprocessing, i.e. the copybook document with
+ * applied replacing and nested copybooks, the usages of the nested copybooks and the errors. The
+ * results are shared between the documents and analyses and are looked up by the copybook URI, the
+ * hash of its content and the replacing patterns applied to it, so the repeated inclusions of a
+ * copybook are not preprocessed again. The cached results must not be modified.
+ */
+@Singleton
+public class PreprocessedCopybookCache {
+  private final Cache<Key, PreprocessedCopybook> cache;
+
+  @Inject
+  public PreprocessedCopybookCache(@Named("PREPROCESSED-COPYBOOK-CACHE-MAX-SIZE") int maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Find the preprocessed copybook by the key
+   *
+   * @param key the key of the preprocessing
+   * @return the preprocessed copybook or empty if absent
+   */
+  Optional<PreprocessedCopybook> get(Key key) {
+    return Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  /**
+   * Store the preprocessed copybook
+   *
+   * @param key the key of the preprocessing
+   * @param copybook the result of the preprocessing
+   */
+  void store(Key key, PreprocessedCopybook copybook) {
+    cache.put(key, copybook);
+  }
+
+  /**
+   * Calculate the hash of the resolved copybook that changes if either its URI or content changes
+   *
+   * @param copybook the resolved copybook or null if it is missing
+   * @return the hash of the copybook
+   */
+  static String hash(CopybookModel copybook) {
+    if (copybook == null) {
+      return "";
+    }
+    return Hashing.sha256()
+        .newHasher()
+        .putString(copybook.getUri(), UTF_8)
+        .putChar('\n')
+        .putString(copybook.getContent(), UTF_8)
+        .hash()
+        .toString();
+  }
+
+  /** The key of the copybook preprocessing */
+  @Value
+  static class Key {
+    String contentHash;
+    List<List<Pair<String, String>>> replacing;
+    List<CopybookName> hierarchy;
+    CopybookConfig copybookConfig;
+  }
+
+  /** The result of the copybook preprocessing */
+  @Value
+  static class PreprocessedCopybook {
+    DocumentMap document;
+    ExtendedSource extendedSource;
+    CopybooksRepository copybooks;
+    List<SyntaxError> replacingErrors;
+    List<SyntaxError> copybookErrors;
+    List<List<Pair<String, String>>> replacingAfter;
+    List<Dependency> dependencies;
+  }
+
+  /** A nested copybook resolved during the preprocessing */
+  @Value
+  static class Dependency {
+    CopybookName name;
+    String documentUri;
+    String hash;
+  }
+}
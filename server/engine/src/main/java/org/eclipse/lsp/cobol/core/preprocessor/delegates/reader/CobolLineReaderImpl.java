@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.reader;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -32,8 +33,6 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.util.Optional.ofNullable;
 import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
@@ -43,18 +42,19 @@ import static org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum.*;
  * Preprocessor, which converts strings with COBOL code into a specific entity; analyzes and
  * processes line indicators. This implementation checks if the lines match the given format and
  * raises an error if not. It also puts the entire compiler directive text (excluding the sequence
- * area if present) to prevent possible cutting off the line beginning.
+ * area if present) to prevent possible cutting off the line beginning. The areas are found by their
+ * column offsets in one pass over the text without splitting it with regular expressions.
  */
 @Slf4j
 @Singleton
 public class CobolLineReaderImpl implements CobolLineReader {
   private static final int INDICATOR_AREA_INDEX = 6;
   private static final int MAX_LINE_LENGTH = 80;
-  private static final Pattern COBOL_LINE_PATTERN =
-      Pattern.compile(
-          "^(?<sequence>.{0,6})(?<indicator>.?)(?<contentA>.{0,4})(?<contentB>.{0,61})(?<comment>.{0,8})(?<extra>.*)$");
-  private static final Pattern COMPILER_DIRECTIVE_LINE =
-      Pattern.compile("(?i)(.{0,6} +|\\s*+)(?<directives>(CBL|PROCESS) .+)");
+  private static final int SEQUENCE_AREA_LENGTH = 6;
+  private static final int CONTENT_AREA_A_LENGTH = 4;
+  private static final int CONTENT_AREA_B_LENGTH = 61;
+  private static final int COMMENT_AREA_LENGTH = 8;
+  private static final List<String> COMPILER_DIRECTIVES = ImmutableList.of("CBL ", "PROCESS ");
   private static final Map<String, CobolLineTypeEnum> INDICATORS =
       new ImmutableMap.Builder<String, CobolLineTypeEnum>()
           .put("*", COMMENT)
@@ -80,43 +80,57 @@ public class CobolLineReaderImpl implements CobolLineReader {
       @NonNull String documentURI, @NonNull String lines) {
     List<SyntaxError> accumulatedErrors = new ArrayList<>();
     List<CobolLine> result = new ArrayList<>();
-    try (Scanner scanner = new Scanner(lines)) {
-      String currentLine;
-      CobolLine lastCobolLine = null;
-      int lineNumber = 0;
+    CobolLine lastCobolLine = null;
+    int lineNumber = 0;
+    int lineStart = 0;
 
-      while (scanner.hasNextLine()) {
-        currentLine = scanner.nextLine();
-        CobolLine currentCobolLine =
-            parseLine(currentLine, documentURI, lineNumber).unwrap(accumulatedErrors::addAll);
+    while (lineStart < lines.length()) {
+      int lineEnd = findLineEnd(lines, lineStart);
+      CobolLine currentCobolLine =
+          parseLine(lines.substring(lineStart, lineEnd), documentURI, lineNumber)
+              .unwrap(accumulatedErrors::addAll);
 
-        currentCobolLine.setPredecessor(lastCobolLine);
-        result.add(currentCobolLine);
+      currentCobolLine.setPredecessor(lastCobolLine);
+      result.add(currentCobolLine);
 
-        lineNumber++;
-        lastCobolLine = currentCobolLine;
-      }
+      lineNumber++;
+      lastCobolLine = currentCobolLine;
+      lineStart = skipLineSeparator(lines, lineEnd);
     }
     return new ResultWithErrors<>(result, accumulatedErrors);
   }
 
+  private static int findLineEnd(String text, int from) {
+    int index = from;
+    while (index < text.length() && !isLineSeparator(text.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static int skipLineSeparator(String text, int lineEnd) {
+    if (text.startsWith("\r\n", lineEnd)) {
+      return lineEnd + 2;
+    }
+    return lineEnd + 1;
+  }
+
+  private static boolean isLineSeparator(char c) {
+    return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+  }
+
   @NonNull
   private ResultWithErrors<CobolLine> parseLine(
       @NonNull String line, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
     CobolLine cobolLine;
 
-    Matcher usualLine = COBOL_LINE_PATTERN.matcher(line);
-    Matcher directivesLine = COMPILER_DIRECTIVE_LINE.matcher(line);
-    if (directivesLine.matches()) {
+    int directivesStart = findCompilerDirectives(line);
+    if (directivesStart >= 0) {
       cobolLine =
-          processCompilerDirectives(line, uri, lineNumber, directivesLine).unwrap(errors::addAll);
-    } else if (usualLine.matches()) {
-      cobolLine = processNormalLine(line, uri, lineNumber, usualLine).unwrap(errors::addAll);
+          processCompilerDirectives(line, uri, lineNumber, directivesStart).unwrap(errors::addAll);
     } else {
-      // It is impossible. Pattern must match any line.
-      LOG.error("The line '{}' can't be parsed.", line);
-      cobolLine = new CobolLine();
+      cobolLine = processNormalLine(line, uri, lineNumber).unwrap(errors::addAll);
     }
 
     cobolLine.setNumber(lineNumber);
@@ -124,11 +138,80 @@ public class CobolLineReaderImpl implements CobolLineReader {
     return new ResultWithErrors<>(cobolLine, errors);
   }
 
+  /**
+   * Find the start of the compiler directives if the line contains them, i.e. the CBL or PROCESS
+   * statement goes either after the whitespaces or after up to six characters of the sequence area
+   * followed by spaces.
+   *
+   * @param line the line to check
+   * @return the index of the directives or -1 if the line is not a compiler directive line
+   */
+  private static int findCompilerDirectives(String line) {
+    for (int length = SEQUENCE_AREA_LENGTH; length >= 0; length--) {
+      int spacesStart = advance(line, 0, length);
+      if (countCodePoints(line, spacesStart) == length
+          && spacesStart < line.length()
+          && line.charAt(spacesStart) == ' ') {
+        int directivesStart = spacesStart;
+        while (directivesStart < line.length() && line.charAt(directivesStart) == ' ') {
+          directivesStart++;
+        }
+        if (isCompilerDirective(line, directivesStart)) {
+          return directivesStart;
+        }
+      }
+    }
+    int directivesStart = 0;
+    while (directivesStart < line.length() && isWhitespace(line.charAt(directivesStart))) {
+      directivesStart++;
+    }
+    return isCompilerDirective(line, directivesStart) ? directivesStart : -1;
+  }
+
+  private static boolean isCompilerDirective(String line, int start) {
+    for (String directive : COMPILER_DIRECTIVES) {
+      int end = start + directive.length();
+      if (end < line.length() && startsWithIgnoreCase(line, start, directive)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean startsWithIgnoreCase(String line, int start, String prefix) {
+    for (int i = 0; i < prefix.length(); i++) {
+      char c = line.charAt(start + i);
+      if (c != prefix.charAt(i) && (c > 'z' || Character.toUpperCase(c) != prefix.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  /**
+   * Move the index by the given number of characters, counting a surrogate pair as one character
+   * like the fixed format columns do, without passing the end of the line.
+   */
+  private static int advance(String line, int from, int characters) {
+    int index = from;
+    for (int i = 0; i < characters && index < line.length(); i++) {
+      index += Character.charCount(line.codePointAt(index));
+    }
+    return index;
+  }
+
+  private static int countCodePoints(String line, int end) {
+    return line.codePointCount(0, end);
+  }
+
   private ResultWithErrors<CobolLine> processCompilerDirectives(
-      @NonNull String line, @NonNull String uri, int lineNumber, @NonNull Matcher matcher) {
+      @NonNull String line, @NonNull String uri, int lineNumber, int contentStart) {
     List<SyntaxError> errors = new ArrayList<>();
-    int contentStart = matcher.start("directives");
-    String directives = matcher.group("directives");
+    String directives = line.substring(contentStart);
     checkSequenceArea(line, uri, lineNumber, contentStart).ifPresent(errors::add);
     checkLineLength(line, uri, lineNumber).ifPresent(errors::add);
     CobolLine cobolLine = new CobolLine();
@@ -138,16 +221,21 @@ public class CobolLineReaderImpl implements CobolLineReader {
   }
 
   private ResultWithErrors<CobolLine> processNormalLine(
-      @NonNull String line, @NonNull String uri, int lineNumber, Matcher matcher) {
+      @NonNull String line, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
     CobolLine cobolLine = new CobolLine();
-    cobolLine.setSequenceArea(matcher.group("sequence"));
-    String indicatorArea = matcher.group("indicator");
+    int indicatorStart = advance(line, 0, SEQUENCE_AREA_LENGTH);
+    int contentAStart = advance(line, indicatorStart, 1);
+    int contentBStart = advance(line, contentAStart, CONTENT_AREA_A_LENGTH);
+    int commentStart = advance(line, contentBStart, CONTENT_AREA_B_LENGTH);
+    int extraStart = advance(line, commentStart, COMMENT_AREA_LENGTH);
+    cobolLine.setSequenceArea(line.substring(0, indicatorStart));
+    String indicatorArea = line.substring(indicatorStart, contentAStart);
     cobolLine.setIndicatorArea(indicatorArea);
     cobolLine.setType(determineType(indicatorArea, uri, lineNumber).unwrap(errors::addAll));
-    cobolLine.setContentAreaA(matcher.group("contentA"));
-    cobolLine.setContentAreaB(matcher.group("contentB"));
-    cobolLine.setCommentArea(matcher.group("comment"));
+    cobolLine.setContentAreaA(line.substring(contentAStart, contentBStart));
+    cobolLine.setContentAreaB(line.substring(contentBStart, commentStart));
+    cobolLine.setCommentArea(line.substring(commentStart, extraStart));
     checkLineLength(line, uri, lineNumber).ifPresent(errors::add);
 
     return new ResultWithErrors<>(cobolLine, errors);
@@ -15,6 +15,9 @@
 
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.AllArgsConstructor;
@@ -28,10 +31,10 @@ import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.mapping.DocumentMap;
+import org.eclipse.lsp.cobol.common.mapping.LineIndex;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
-import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.ArrayList;
@@ -71,8 +74,13 @@ public class ReplacingServiceImpl implements ReplacingService {
 
   private static final String ERROR_REPLACING = "Error replacing on text: %s with the pattern: %s";
   private static final int INDIVIDUAL_WORD_VALID_LENGTH = 322;
+  private static final int COMPILED_PATTERNS_CACHE_SIZE = 1000;
 
   private final MessageService messageService;
+  private final LoadingCache<String, Pattern> compiledPatterns =
+      CacheBuilder.newBuilder()
+          .maximumSize(COMPILED_PATTERNS_CACHE_SIZE)
+          .build(CacheLoader.from(regex -> Pattern.compile(regex, Pattern.CASE_INSENSITIVE)));
 
   @Inject
   public ReplacingServiceImpl(MessageService messageService) {
@@ -235,9 +243,13 @@ public class ReplacingServiceImpl implements ReplacingService {
     }
     String text = documentMap.getText();
     try {
-      Matcher matcher = Pattern.compile(pattern.getLeft(), Pattern.CASE_INSENSITIVE).matcher(text);
+      Matcher matcher = compiledPatterns.getUnchecked(pattern.getLeft()).matcher(text);
+      LineIndex lineIndex = null;
       while (matcher.find()) {
-        Range range = getRange(text, matcher);
+        if (lineIndex == null) {
+          lineIndex = documentMap.getLineIndex();
+        }
+        Range range = new Range(lineIndex.toPosition(matcher.start()), lineIndex.toPosition(matcher.end()));
         if (RangeUtils.isInside(range, scope)) {
           documentMap.replace(range, pattern.getRight());
         }
@@ -248,19 +260,6 @@ public class ReplacingServiceImpl implements ReplacingService {
     }
   }
 
-  private Range getRange(String text, Matcher matcher) {
-    Position start = getPosition(text, matcher.start());
-    Position end = getPosition(text, matcher.end());
-    return new Range(start, end);
-  }
-
-  private Position getPosition(String text, int positionInFile) {
-    String prefix = text.substring(0, positionInFile);
-    int character = positionInFile - prefix.lastIndexOf("\n") - 1;
-    int line = StringUtils.countMatches(prefix, "\n");
-    return new Position(line, character);
-  }
-
   private Function<String, Boolean> checkContainWord(String check) {
     return text ->
         Arrays.stream(text.toUpperCase().split("\b")).anyMatch(txt -> txt.equalsIgnoreCase(check));
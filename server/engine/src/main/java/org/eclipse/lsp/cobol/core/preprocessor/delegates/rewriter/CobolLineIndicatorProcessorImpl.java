@@ -21,8 +21,6 @@ import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.CobolLineUtils;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -38,8 +36,7 @@ public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
   private static final String EMPTY_STRING = "";
   private static final String DOUBLE_QUOTE_LITERAL = "\"([^\"]|\"\"|'')*+\"";
   private static final String SINGLE_QUOTE_LITERAL = "'([^']|''|\"\")*+'";
-  private static final Pattern FLOATING_COMMENT_LINE =
-      Pattern.compile("(?<validText>.*?)(?<floatingComment>\\*> .+)?");
+  private static final String FLOATING_COMMENT = "*> ";
 
   /**
    * Normalizes the lines by stripping the sequence number and line indicator, and interpreting the
@@ -66,10 +63,14 @@ public class CobolLineIndicatorProcessorImpl implements CobolLineReWriter {
       return processContinuationLine(line, trimmedContentArea);
     }
 
-    Matcher matchedLine = FLOATING_COMMENT_LINE.matcher(trimmedContentArea);
-    return matchedLine.matches()
-            ? CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(WS, matchedLine.group("validText"), line)
-            : CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(WS, trimmedContentArea, line);
+    return CobolLineUtils.copyCobolLineWithIndicatorAndContentArea(WS, removeFloatingComment(trimmedContentArea), line);
+  }
+
+  private String removeFloatingComment(String contentArea) {
+    int floatingComment = contentArea.indexOf(FLOATING_COMMENT);
+    return floatingComment >= 0 && floatingComment + FLOATING_COMMENT.length() < contentArea.length()
+        ? contentArea.substring(0, floatingComment)
+        : contentArea;
   }
 
   private CobolLine processContinuationLine(CobolLine line, String conditionalRightTrimmedContentArea) {
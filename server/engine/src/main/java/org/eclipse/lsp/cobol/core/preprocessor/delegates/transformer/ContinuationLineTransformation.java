@@ -32,7 +32,6 @@ import org.eclipse.lsp4j.Range;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static java.util.Optional.ofNullable;
@@ -50,7 +49,7 @@ import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
  */
 @Slf4j
 public class ContinuationLineTransformation implements CobolLinesTransformation {
-  private static final Pattern BLANK_LINE_PATTERN = Pattern.compile("\\s*");
+  private static final String BLANK_CHARS = " \t\n\u000B\f\r";
   private static final String PSEUDO_TEXT_DELIMITER = "=";
   private final MessageService messageService;
 
@@ -156,7 +155,20 @@ public class ContinuationLineTransformation implements CobolLinesTransformation
   }
 
   private boolean isBlankLine(CobolLine cobolLine) {
-    return BLANK_LINE_PATTERN.matcher(cobolLine.toString()).matches();
+    return isBlank(cobolLine.getSequenceArea())
+        && isBlank(cobolLine.getIndicatorArea())
+        && isBlank(cobolLine.getContentAreaA())
+        && isBlank(cobolLine.getContentAreaB())
+        && isBlank(cobolLine.getCommentArea());
+  }
+
+  private boolean isBlank(String area) {
+    for (int i = 0; i < area.length(); i++) {
+      if (BLANK_CHARS.indexOf(area.charAt(i)) < 0) {
+        return false;
+      }
+    }
+    return true;
   }
   private boolean isCommentLine(CobolLine cobolLine) {
     return cobolLine.getType() == CobolLineTypeEnum.COMMENT;
@@ -66,6 +66,17 @@ public class CopybooksRepository {
     definitionStatements.put(toId(name, dialect), location);
   }
 
+  /**
+   * Add all the definitions, usages and definition statements of the given repository to this one
+   *
+   * @param repository the repository to copy elements from
+   */
+  public void addAll(CopybooksRepository repository) {
+    definitions.putAll(repository.getDefinitions());
+    usages.putAll(repository.getUsages());
+    definitionStatements.putAll(repository.getDefinitionStatements());
+  }
+
   /**
    * Check if the context contains a language element with the provided name already defined
    *
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.LL_PARSES;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.SLL_PARSES;
+
+/**
+ * This strategy runs the parser in two stages. The first stage uses the fast SLL prediction mode and
+ * stops on the first syntax error. Only if it fails, the input is parsed again in the full LL mode
+ * with the error recovery of {@link CobolErrorStrategy}. The SLL mode accepts the same inputs as the
+ * LL mode when there are no syntax errors, so both stages produce the same tree.
+ *
+ * <p>The errors reported by the grammar actions during the first stage are kept aside and passed to
+ * the error listener only when that stage succeeds, so they are not reported twice.
+ */
+@Singleton
+public class TwoStageParsingStrategy {
+  private final MessageService messageService;
+  private final AnalysisMetrics analysisMetrics;
+  private final boolean enabled;
+
+  @Inject
+  public TwoStageParsingStrategy(
+      MessageService messageService,
+      AnalysisMetrics analysisMetrics,
+      @Named("TWO-STAGE-PARSING") boolean enabled) {
+    this.messageService = messageService;
+    this.analysisMetrics = analysisMetrics;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Parse the input of the parser starting with the given rule. The parse listeners of the parser
+   * are kept, the error listeners and the error strategy are set by this method.
+   *
+   * @param parser the parser with the token stream to parse
+   * @param errorListener the listener of the syntax errors
+   * @param startRule the grammar rule to start with
+   * @param <P> the type of the parser
+   * @param <T> the type of the parse tree
+   * @return the parse tree
+   */
+  public <P extends Parser, T extends ParserRuleContext> T parse(
+      P parser, ANTLRErrorListener errorListener, Function<P, T> startRule) {
+    if (enabled) {
+      DeferredErrorListener deferredErrors = new DeferredErrorListener();
+      parser.removeErrorListeners();
+      parser.addErrorListener(deferredErrors);
+      parser.setErrorHandler(new BailingErrorStrategy(messageService));
+      parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+      try {
+        T tree = startRule.apply(parser);
+        deferredErrors.replay(errorListener);
+        analysisMetrics.count(SLL_PARSES, 1);
+        return tree;
+      } catch (ParseCancellationException e) {
+        parser.reset();
+      }
+    }
+    parser.removeErrorListeners();
+    parser.addErrorListener(errorListener);
+    parser.setErrorHandler(new CobolErrorStrategy(messageService));
+    parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+    analysisMetrics.count(LL_PARSES, 1);
+    return startRule.apply(parser);
+  }
+
+  /**
+   * The error strategy that cancels the parsing on the first syntax error like {@link
+   * BailErrorStrategy}. It extends {@link CobolErrorStrategy}, since the grammar actions take the
+   * message service from it.
+   */
+  private static final class BailingErrorStrategy extends CobolErrorStrategy {
+    BailingErrorStrategy(MessageService messageService) {
+      super(messageService);
+    }
+
+    @Override
+    public void recover(Parser recognizer, RecognitionException e) {
+      for (ParserRuleContext context = recognizer.getContext();
+          context != null;
+          context = context.getParent()) {
+        context.exception = e;
+      }
+      throw new ParseCancellationException(e);
+    }
+
+    @Override
+    public Token recoverInline(Parser recognizer) {
+      InputMismatchException e = new InputMismatchException(recognizer);
+      for (ParserRuleContext context = recognizer.getContext();
+          context != null;
+          context = context.getParent()) {
+        context.exception = e;
+      }
+      throw new ParseCancellationException(e);
+    }
+
+    @Override
+    public void sync(Parser recognizer) {
+      // Don't recover from the problems in the sub-rules
+    }
+  }
+
+  /** The error listener that keeps the errors until they can be passed to the actual listener */
+  private static final class DeferredErrorListener extends BaseErrorListener {
+    private final List<Consumer<ANTLRErrorListener>> errors = new ArrayList<>();
+
+    @Override
+    public void syntaxError(
+        Recognizer<?, ?> recognizer,
+        Object offendingSymbol,
+        int line,
+        int charPositionInLine,
+        String msg,
+        RecognitionException e) {
+      errors.add(
+          listener ->
+              listener.syntaxError(recognizer, offendingSymbol, line, charPositionInLine, msg, e));
+    }
+
+    void replay(ANTLRErrorListener listener) {
+      errors.forEach(error -> error.accept(listener));
+    }
+  }
+}
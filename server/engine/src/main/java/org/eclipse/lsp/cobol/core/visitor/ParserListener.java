@@ -35,7 +35,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-/** This error listener registers syntax errors found by the COBOL parser. */
+/**
+ * This error listener registers syntax errors found by the COBOL parser. The errors of the code
+ * blocks embedded into the extended text may be added by their range in that text.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ParserListener extends BaseErrorListener {
@@ -52,15 +55,19 @@ public class ParserListener extends BaseErrorListener {
       int charPositionInLine,
       String msg,
       RecognitionException e) {
-
-    Range range = new Range(
-        new Position(line - 1, charPositionInLine), new Position(line - 1,
-        charPositionInLine + getOffendingSymbolSize(offendingSymbol)));
-
-    if ("token recognition error at: '\\n'".equals(msg)) {
+    if (isIgnored(msg)) {
       return;
     }
+    addError(getErrorRange(offendingSymbol, line, charPositionInLine), msg);
+  }
 
+  /**
+   * Register the syntax error found in the extended text
+   *
+   * @param range the range of the error in the extended text
+   * @param msg the message of the error
+   */
+  public void addError(Range range, String msg) {
     Location location = extendedSource.mapLocation(range);
     SyntaxError error =
         SyntaxError.syntaxError()
@@ -78,7 +85,31 @@ public class ParserListener extends BaseErrorListener {
     errors.add(error);
   }
 
-  private int getOffendingSymbolSize(Object offendingSymbol) {
+  /**
+   * Check if the error reported by the parser should not be shown to the user
+   *
+   * @param msg the message of the error
+   * @return true if the error should be skipped
+   */
+  public static boolean isIgnored(String msg) {
+    return "token recognition error at: '\\n'".equals(msg);
+  }
+
+  /**
+   * Calculate the range of the error in the parsed text
+   *
+   * @param offendingSymbol the token that caused the error
+   * @param line the line of the error, starting from 1
+   * @param charPositionInLine the position of the error in the line
+   * @return the range of the error
+   */
+  public static Range getErrorRange(Object offendingSymbol, int line, int charPositionInLine) {
+    return new Range(
+        new Position(line - 1, charPositionInLine),
+        new Position(line - 1, charPositionInLine + getOffendingSymbolSize(offendingSymbol)));
+  }
+
+  private static int getOffendingSymbolSize(Object offendingSymbol) {
     return Optional.ofNullable(offendingSymbol)
         .filter(t -> t instanceof CommonToken)
         .map(CommonToken.class::cast)
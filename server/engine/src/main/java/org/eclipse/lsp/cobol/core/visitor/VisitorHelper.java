@@ -278,16 +278,24 @@ public class VisitorHelper {
    * @return locality object
    */
   public Locality buildNameRangeLocality(ParserRuleContext ctx, String name, String uri) {
-    Range range = new Range(
-        new Position(ctx.start.getLine() - 1, ctx.start.getCharPositionInLine()),
-        new Position(ctx.stop.getLine() - 1, ctx.start.getCharPositionInLine() + name.length()));
-
     return Locality.builder()
         .uri(uri)
-        .range(range)
+        .range(buildNameRange(ctx, name))
         .build();
   }
 
+  /**
+   * Builds context name range based on the name
+   * @param ctx is a parse rule context
+   * @param name is a name of the entity
+   * @return range object
+   */
+  public Range buildNameRange(ParserRuleContext ctx, String name) {
+    return new Range(
+        new Position(ctx.start.getLine() - 1, ctx.start.getCharPositionInLine()),
+        new Position(ctx.stop.getLine() - 1, ctx.start.getCharPositionInLine() + name.length()));
+  }
+
   /**
    * Builds context name locality based on the name and uri of the document
    * @param token is a token
@@ -17,19 +17,29 @@ package org.eclipse.lsp.cobol.domain.databus.model;
 
 import lombok.Value;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * This class is a signal object to show that it is needed to run the syntax and semantic again for
- * all the registered documents.
+ * the registered documents. If the URIs of the changed files are set, only the documents that depend
+ * on them should be analyzed, otherwise all the registered documents are.
  */
 @Value
 public class RunAnalysisEvent implements DataEvent {
   private boolean verbose;
+  private Set<String> changedUris;
 
   public RunAnalysisEvent() {
-    this.verbose = false;
+    this(false);
   }
 
   public RunAnalysisEvent(boolean verbose) {
+    this(verbose, Collections.emptySet());
+  }
+
+  public RunAnalysisEvent(boolean verbose, Set<String> changedUris) {
     this.verbose = verbose;
+    this.changedUris = changedUris;
   }
 }
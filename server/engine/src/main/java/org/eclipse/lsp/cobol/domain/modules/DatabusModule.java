@@ -25,6 +25,14 @@ public class DatabusModule extends AbstractModule {
     bindConstant().annotatedWith(Names.named("CACHE-MAX-SIZE")).to(500);
     bindConstant().annotatedWith(Names.named("CACHE-DURATION")).to(3);
     bindConstant().annotatedWith(Names.named("CACHE-TIME-UNIT")).to("HOURS");
+    bindConstant().annotatedWith(Names.named("PERSISTENT-CACHE-MAX-SIZE")).to(1000);
+    bindConstant().annotatedWith(Names.named("SYMBOLS-REPOSITORY-MAX-SIZE")).to(0);
+    bindConstant().annotatedWith(Names.named("PREPROCESSED-COPYBOOK-CACHE-MAX-SIZE")).to(500);
+    bindConstant().annotatedWith(Names.named("TWO-STAGE-PARSING")).to(true);
+    bindConstant().annotatedWith(Names.named("PARSER-CACHE-MAX-STATES")).to(500000);
+    bindConstant().annotatedWith(Names.named("EMBEDDED-CODE-PARSING-THREADS")).to(4);
+    bindConstant().annotatedWith(Names.named("EMBEDDED-CODE-CACHE-MAX-WEIGHT")).to(2000000);
+    bindConstant().annotatedWith(Names.named("COPYBOOK-PREFETCH-THREADS")).to(4);
     bindConstant().annotatedWith(Names.named("CORE-POOL-SIZE")).to(4);
     bindConstant().annotatedWith(Names.named("MAX-POOL-SIZE")).to(10);
     bindConstant().annotatedWith(Names.named("KEEP-ALIVE-TIME-IN-SECONDS")).to(60);
@@ -52,6 +52,23 @@ public interface CobolLanguageClient extends LanguageClient {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * The copybook/resolveAll request is sent from the server to the client to
+   * resolve local absolute paths of several copybooks in one round trip
+   *
+   * @param cobolFilename the name of cobol program
+   * @param copybookNames the names of copybooks to resolve
+   * @param dialectType the name of copybook dialect
+   * @return corresponding local file absolute paths in the order of the names, null if not found
+   */
+  @JsonRequest("copybook/resolveAll")
+  default CompletableFuture<List<String>> resolveCopybooks(
+      String cobolFilename,
+      List<String> copybookNames,
+      String dialectType) {
+    throw new UnsupportedOperationException();
+  }
+
   /** TODO
    * The copybook/download request is sent from the server to the client to
    * download remote copybook
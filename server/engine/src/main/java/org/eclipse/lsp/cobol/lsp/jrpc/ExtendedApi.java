@@ -18,6 +18,7 @@ package org.eclipse.lsp.cobol.lsp.jrpc;
 import com.google.gson.JsonObject;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.extendedapi.ExtendedApiResult;
+import org.eclipse.lsp.cobol.core.model.extendedapi.MetricsResult;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
 
@@ -36,4 +37,12 @@ public interface ExtendedApi {
   */
   @JsonRequest
   CompletableFuture<ExtendedApiResult> analysis(@NonNull JsonObject json);
+
+  /**
+   * Retrieve the metrics of the analyses run by the server since it started, e.g. the latency
+   * histograms of the analysis stages and the copybook cache hits
+   * @return Future object with the metrics snapshot
+   */
+  @JsonRequest
+  CompletableFuture<MetricsResult> metrics();
 }
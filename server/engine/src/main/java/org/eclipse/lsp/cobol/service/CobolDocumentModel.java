@@ -15,9 +15,10 @@
 package org.eclipse.lsp.cobol.service;
 
 import org.eclipse.lsp.cobol.common.AnalysisResult;
-import lombok.Data;
-import lombok.Value;
+import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.utils.NodePositionIndex;
 import org.eclipse.lsp4j.Position;
 
 import java.io.BufferedReader;
@@ -25,10 +26,12 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This class stores a COBOL program text to be processed. Provides a list of lines and text tokens
- * by position.
+ * by position. The syntax tree nodes of the analysis result are indexed by their positions when the
+ * result is stored.
  */
 @Data
 @Slf4j
@@ -38,9 +41,15 @@ public class CobolDocumentModel {
   private final String text;
   private AnalysisResult analysisResult;
 
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private NodePositionIndex positionIndex;
+
   public CobolDocumentModel(String text, AnalysisResult analysisResult) {
     this.text = text;
-    this.analysisResult = analysisResult;
+    setAnalysisResult(analysisResult);
     parse(text);
   }
 
@@ -49,6 +58,49 @@ public class CobolDocumentModel {
     parse(text);
   }
 
+  private CobolDocumentModel(String text, AnalysisResult analysisResult, NodePositionIndex positionIndex) {
+    this.text = text;
+    this.analysisResult = analysisResult;
+    this.positionIndex = positionIndex;
+    parse(text);
+  }
+
+  /**
+   * Create a model of the given text that keeps the analysis result of this model and its position
+   * index
+   *
+   * @param text - the new text of the document
+   * @return a new document model
+   */
+  public CobolDocumentModel withText(String text) {
+    return new CobolDocumentModel(text, analysisResult, positionIndex);
+  }
+
+  /**
+   * Store the analysis result of the document and index its syntax tree
+   *
+   * @param analysisResult - the result of the document analysis
+   */
+  public void setAnalysisResult(AnalysisResult analysisResult) {
+    this.analysisResult = analysisResult;
+    this.positionIndex =
+        Optional.ofNullable(analysisResult)
+            .map(AnalysisResult::getRootNode)
+            .map(NodePositionIndex::new)
+            .orElse(null);
+  }
+
+  /**
+   * Find the syntax tree node of the analysis result that contains the position
+   *
+   * @param uri - the uri of the node locality
+   * @param position - the position to check
+   * @return the found node or empty if the document is not analysed
+   */
+  public Optional<Node> findNodeByPosition(String uri, Position position) {
+    return Optional.ofNullable(positionIndex).flatMap(it -> it.findNodeByPosition(uri, position));
+  }
+
   Line getLine(int number) {
     return lines.stream().filter(line -> line.getNumber() == number).findFirst().orElse(null);
   }
@@ -23,6 +23,7 @@ import org.eclipse.lsp.cobol.common.error.ErrorCode;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.utils.LogLevelUtils;
+import org.eclipse.lsp.cobol.core.engine.analysis.ParserRuntimeManager;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
@@ -45,7 +46,7 @@ import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
-import static org.eclipse.lsp4j.TextDocumentSyncKind.Full;
+import static org.eclipse.lsp4j.TextDocumentSyncKind.Incremental;
 
 /**
  * This class sets up the initial state of the services and applies other initialization activities,
@@ -67,6 +68,7 @@ public class CobolLanguageServer implements LanguageServer {
   private final Keywords keywords;
   private final DialectService dialectService;
   private final MessageService messageService;
+  private final ParserRuntimeManager parserRuntimeManager;
 
   @Inject
   @SuppressWarnings("squid:S107")
@@ -82,7 +84,8 @@ public class CobolLanguageServer implements LanguageServer {
       CopybookNameService copybookNameService,
       Keywords keywords,
       DialectService dialectService,
-      MessageService messageService) {
+      MessageService messageService,
+      ParserRuntimeManager parserRuntimeManager) {
     this.textService = textService;
     this.workspaceService = workspaceService;
     this.watchingService = watchingService;
@@ -95,6 +98,7 @@ public class CobolLanguageServer implements LanguageServer {
     this.keywords = keywords;
     this.dialectService = dialectService;
     this.messageService = messageService;
+    this.parserRuntimeManager = parserRuntimeManager;
   }
 
   @Override
@@ -112,7 +116,7 @@ public class CobolLanguageServer implements LanguageServer {
   public CompletableFuture<InitializeResult> initialize(@NonNull InitializeParams params) {
     ServerCapabilities capabilities = new ServerCapabilities();
 
-    capabilities.setTextDocumentSync(Full);
+    capabilities.setTextDocumentSync(Incremental);
     capabilities.setCompletionProvider(new CompletionOptions(false, emptyList()));
     capabilities.setDefinitionProvider(TRUE);
     capabilities.setReferencesProvider(TRUE);
@@ -155,6 +159,7 @@ public class CobolLanguageServer implements LanguageServer {
     keywords.updateStorage();
     messageService.reloadMessages();
     notifyConfiguredCopybookExtensions();
+    parserRuntimeManager.warmUpInBackground();
   }
 
   private void notifyConfiguredCopybookExtensions() {
@@ -15,6 +15,7 @@
 package org.eclipse.lsp.cobol.service;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.eventbus.Subscribe;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
@@ -35,7 +36,10 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
 import org.eclipse.lsp.cobol.core.model.extendedapi.ExtendedApiResult;
+import org.eclipse.lsp.cobol.core.model.extendedapi.MetricsResult;
 import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
 import org.eclipse.lsp.cobol.domain.databus.model.AnalysisFinishedEvent;
 import org.eclipse.lsp.cobol.domain.databus.model.RunAnalysisEvent;
@@ -54,6 +58,7 @@ import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.utils.BuildOutlineTreeFromSyntaxTree;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp.cobol.service.utils.ShutdownCheckUtil;
+import org.eclipse.lsp.cobol.service.utils.TextDocumentSyncUtil;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
@@ -94,11 +99,14 @@ import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
@@ -114,8 +122,6 @@ import static java.util.Collections.singletonMap;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 
 /**
  * This class is a set of end-points to apply text operations for COBOL documents. All the requests
@@ -139,6 +145,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       new ConcurrentHashMap<>();
   private final Map<String, CompletableFuture<Node>> cfAstMap = new ConcurrentHashMap<>();
   private final Map<String, Future<?>> futureMap = new ConcurrentHashMap<>();
+  private final Map<String, Long> lastEdits = new ConcurrentHashMap<>();
   private final Communications communications;
   private final LanguageEngineFacade engine;
   private final Formations formations;
@@ -157,6 +164,8 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private final Map<String, Map<String, List<Diagnostic>>> errorsByFileForEachProgram;
   private final SyncProvider syncProvider;
   private final WatcherService watcherService;
+  private final SymbolsRepository symbolsRepository;
+  private final AnalysisMetrics analysisMetrics;
 
   @VisibleForTesting
   CountDownLatch getWaitConfig() {
@@ -187,7 +196,9 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       CopybookService copybookService,
       CopybookReferenceRepo copybookReferenceRepo,
       SyncProvider syncProvider,
-      WatcherService watcherService) {
+      WatcherService watcherService,
+      SymbolsRepository symbolsRepository,
+      AnalysisMetrics analysisMetrics) {
     this.communications = communications;
     this.engine = engine;
     this.formations = formations;
@@ -201,11 +212,13 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     this.disposableLSPStateService = disposableLSPStateService;
     this.configurationService = configurationService;
     this.copybookIdentificationService = copybookIdentificationService;
-    this.errorsByFileForEachProgram = new HashMap<>();
+    this.errorsByFileForEachProgram = new ConcurrentHashMap<>();
     this.copybookService = copybookService;
     this.copybookReferenceRepo = copybookReferenceRepo;
     this.syncProvider = syncProvider;
     this.watcherService = watcherService;
+    this.symbolsRepository = symbolsRepository;
+    this.analysisMetrics = analysisMetrics;
     dataBus.subscribe(this);
   }
 
@@ -387,6 +400,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     if (disposableLSPStateService.isServerShutdown()) return;
     String uri = params.getTextDocument().getUri();
     String text = params.getTextDocument().getText();
+    lastEdits.put(uri, System.nanoTime());
     outlineMap.put(uri, new CompletableFuture<>());
     cfAstMap.put(uri, new CompletableFuture<>());
     // git FS URIs are not currently supported
@@ -404,8 +418,18 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       return;
     }
     String uri = params.getTextDocument().getUri();
-    String text = params.getContentChanges().get(0).getText();
-    docs.computeIfPresent(uri, (k, v) -> new CobolDocumentModel(text, v.getAnalysisResult()));
+    lastEdits.put(uri, System.nanoTime());
+    CobolDocumentModel previous = docs.get(uri);
+    String text =
+        TextDocumentSyncUtil.applyChanges(
+            ofNullable(previous).map(CobolDocumentModel::getText).orElse(""),
+            params.getContentChanges());
+    if (isAnalysisResultReusable(uri, previous, text)) {
+      LOG.debug("Only comments changed in " + uri + ", the previous analysis result is reused.");
+      docs.put(uri, previous.withText(text));
+      return;
+    }
+    docs.computeIfPresent(uri, (k, v) -> v.withText(text));
     outlineMap.put(uri, new CompletableFuture<>());
     cfAstMap.put(uri, new CompletableFuture<>());
     TextDocumentItem docIdentifier = new TextDocumentItem();
@@ -413,25 +437,33 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     docIdentifier.setUri(uri);
     if (copybookIdentificationService.isCopybook(
         docIdentifier.getUri(), docIdentifier.getText(), copybookExtensions)) {
-      reanalyseOpenedPrograms(params, uri);
+      reanalyseOpenedPrograms(uri, text);
       return;
     }
     interruptAnalysis(uri);
     analyzeChanges(uri, text);
   }
 
-  private void reanalyseOpenedPrograms(DidChangeTextDocumentParams params, String uri)
+  private boolean isAnalysisResultReusable(String uri, CobolDocumentModel previous, String text) {
+    return previous != null
+        && previous.getAnalysisResult() != null
+        && !futureMap.containsKey(uri)
+        && !copybookIdentificationService.isCopybook(uri, text, copybookExtensions)
+        && TextDocumentSyncUtil.isCommentOnlyChange(previous.getText(), text);
+  }
+
+  private void reanalyseOpenedPrograms(String uri, String text)
       throws UnsupportedEncodingException {
+    String copybookUri = decode(uri, StandardCharsets.UTF_8.name());
     copybookReferenceRepo
-        .getCopybookUsageReference(decode(uri, StandardCharsets.UTF_8.name()))
+        .getCopybookUsageReference(copybookUri)
         .forEach(
             val -> {
               CopybookModel copybookModel =
-                  new CopybookModel(val.getCopybookId(), val.getCopybookName(), uri,
-                          params.getContentChanges().get(0).getText());
+                  new CopybookModel(val.getCopybookId(), val.getCopybookName(), uri, text);
               this.copybookService.store(copybookModel, true);
             });
-    dataBus.postData(new RunAnalysisEvent(false));
+    dataBus.postData(new RunAnalysisEvent(false, ImmutableSet.of(uri, copybookUri)));
   }
 
   @Override
@@ -447,19 +479,20 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       return;
     }
 
-    Optional.ofNullable(errorsByFileForEachProgram.get(uri))
-        .ifPresent(
-            diagnosticMap ->
-                diagnosticMap.forEach(
-                    (k, v) ->
-                        diagnosticMap.computeIfPresent(k, (k1, v1) -> Collections.emptyList())));
+    errorsByFileForEachProgram.computeIfPresent(
+        uri,
+        (key, diagnosticMap) ->
+            diagnosticMap.keySet().stream()
+                .collect(Collectors.toMap(k -> k, k -> Collections.emptyList())));
 
     communications.publishDiagnostics(collectAllDiagnostics());
     communications.notifyProgressEnd(uri);
     docs.remove(uri);
     clearAnalysedFutureObject(uri);
     watcherService.removeRuntimeWatchers(uri);
+    lastEdits.remove(uri);
     syncProvider.remove(uri);
+    symbolsRepository.reset(uri);
   }
 
   Map<String, List<Diagnostic>> collectAllDiagnostics() {
@@ -488,14 +521,40 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   }
 
   /**
-   * Handle RunAnalysisEvent from the DataBus.
+   * Handle RunAnalysisEvent from the DataBus. If the event has the changed URIs, only the open
+   * documents that depend on them, directly or through the nested copybooks, are analyzed again. The
+   * URIs are compared decoded, since the client may send them encoded. The most recently edited
+   * documents are submitted first.
    *
    * @param event a RunAnalysisEvent
    */
   @Subscribe
   public void onRunAnalysisEventCallback(@NonNull RunAnalysisEvent event) {
     if (disposableLSPStateService.isServerShutdown()) return;
-    docs.forEach((key, value) -> analyzeDocumentFirstTime(key, value.getText(), event.isVerbose()));
+    Set<String> changedUris = event.getChangedUris();
+    Set<String> affectedUris = new HashSet<>();
+    changedUris.forEach(
+        uri -> {
+          affectedUris.add(decodeUri(uri));
+          copybookReferenceRepo.getDependentDocuments(uri).stream()
+              .map(CobolTextDocumentService::decodeUri)
+              .forEach(affectedUris::add);
+        });
+    new HashMap<>(docs)
+        .entrySet().stream()
+            .filter(doc -> changedUris.isEmpty() || affectedUris.contains(decodeUri(doc.getKey())))
+            .sorted(Comparator.comparing(this::getLastEdit).reversed())
+            .forEach(
+                doc -> analyzeDocumentFirstTime(doc.getKey(), doc.getValue().getText(), event.isVerbose()));
+  }
+
+  @SneakyThrows(UnsupportedEncodingException.class)
+  private static String decodeUri(String uri) {
+    return decode(uri, StandardCharsets.UTF_8.name());
+  }
+
+  private long getLastEdit(Entry<String, CobolDocumentModel> doc) {
+    return lastEdits.getOrDefault(doc.getKey(), 0L);
   }
 
   @Override
@@ -522,6 +581,11 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
                 createDescriptiveErrorMessage("analysis retrieving", event.getUri())));
   }
 
+  @Override
+  public CompletableFuture<MetricsResult> metrics() {
+    return CompletableFuture.completedFuture(analysisMetrics.snapshot());
+  }
+
   private void clearAnalysedFutureObject(String uri) {
     futureMap.remove(uri);
   }
@@ -626,9 +690,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private List<String> extractCopybookUsages(AnalysisResult result) {
     return result
         .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
+        .getDepthFirstStream(CopyNode.class)
         .map(CopyNode::getUsages)
         .filter(usages -> !usages.isEmpty())
         .flatMap(List::stream)
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
@@ -28,21 +29,29 @@ import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.service.utils.ShutdownCheckUtil;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
+import static java.net.URLDecoder.decode;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.lsp.cobol.common.error.ErrorCode.MISSING_COPYBOOK;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
 
@@ -63,6 +72,7 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   private final CopybookNameService copybookNameService;
   private final Keywords keywords;
   private final MessageService messageService;
+  private final ConfigurationService configurationService;
 
   @Inject
   public CobolWorkspaceServiceImpl(
@@ -75,7 +85,8 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
       DisposableLSPStateService disposableLSPStateService,
       CopybookNameService copybookNameService,
       Keywords keywords,
-      MessageService messageService) {
+      MessageService messageService,
+      ConfigurationService configurationService) {
     this.dataBus = dataBus;
     this.settingsService = settingsService;
     this.watchingService = watchingService;
@@ -86,6 +97,7 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
     this.copybookNameService = copybookNameService;
     this.keywords = keywords;
     this.messageService = messageService;
+    this.configurationService = configurationService;
   }
 
   /**
@@ -125,6 +137,7 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   public void didChangeConfiguration(DidChangeConfigurationParams params) {
     if (!disposableLSPStateService.isServerShutdown()) {
       messageService.reloadMessages();
+      configurationService.invalidateCache();
       copybookNameService.copybookLocalFolders().thenAccept(this::acceptSettingsChange);
 
       settingsService.fetchConfiguration(LOCALE.label).thenAccept(localeStore.notifyLocaleStore());
@@ -152,18 +165,37 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   }
 
   /**
-   * This method triggered when the user modifies the settings in the settings.json
+   * This method triggered when the watched files, e.g. the local copybooks, are created, changed or
+   * deleted. If the existing files only changed, only the cached copybooks loaded from them are
+   * invalidated, and only the documents that depend on them are analyzed again. Otherwise, the
+   * resolution of any copybook may change, so all the caches are invalidated.
    *
-   * @param params the object that wrap the content changed by the user in the settings.json and
-   *     sent from the client to the server.
+   * @param params the object that wraps the URIs and the types of the file changes sent from the
+   *     client to the server.
    */
   @Override
   public void didChangeWatchedFiles(@NonNull DidChangeWatchedFilesParams params) {
     if (disposableLSPStateService.isServerShutdown()) return;
     copybookNameService.collectLocalCopybookNames();
+    if (params.getChanges().stream().allMatch(it -> it.getType() == FileChangeType.Changed)) {
+      Set<String> changedUris =
+          params.getChanges().stream()
+              .map(FileEvent::getUri)
+              .map(CobolWorkspaceServiceImpl::decodeUri)
+              .collect(toSet());
+      changedUris.forEach(copybookService::invalidateCache);
+      LOG.info("Cache invalidated for {}", changedUris);
+      dataBus.postData(new RunAnalysisEvent(false, changedUris));
+      return;
+    }
     rerunAnalysis(false);
   }
 
+  @SneakyThrows(UnsupportedEncodingException.class)
+  private static String decodeUri(String uri) {
+    return decode(uri, StandardCharsets.UTF_8.name());
+  }
+
   private void rerunAnalysis(boolean verbose) {
     copybookService.invalidateCache();
     subroutineService.invalidateCache();
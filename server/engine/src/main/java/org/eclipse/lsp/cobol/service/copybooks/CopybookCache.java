@@ -53,6 +53,14 @@ public class CopybookCache {
     cache.invalidateAll();
   }
 
+  /**
+   * Invalidates the copybook models loaded from the given URI
+   * @param copybookUri the URI of the copybook file
+   */
+  public void invalidate(String copybookUri) {
+    cache.asMap().values().removeIf(model -> copybookUri.equals(model.getUri()));
+  }
+
   /**
    * Gets copybook model from cache
    * @param copybookId copybook name
@@ -65,6 +73,15 @@ public class CopybookCache {
     return cache.get(copybookId, callable);
   }
 
+  /**
+   * Checks if the copybook model is already in cache
+   * @param copybookId copybook id
+   * @return true if the cache contains a model for the given id
+   */
+  public boolean contains(CopybookId copybookId) {
+    return cache.getIfPresent(copybookId) != null;
+  }
+
   /**
    * Store copybook model to cache
    * @param copybookModel to store
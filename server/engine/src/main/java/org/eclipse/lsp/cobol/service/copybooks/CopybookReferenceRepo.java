@@ -30,6 +30,15 @@ public interface CopybookReferenceRepo {
    */
   Set<CopybookModel> getCopybookUsageReference(String copybookUri);
 
+  /**
+   * Gives the URIs of all the documents that use a copybook directly or through the nested
+   * copybooks, i.e. the programs and the copybooks that should be analyzed again if it changes.
+   *
+   * @param copybookUri is a URI of a copybook
+   * @return a set of the dependent document URIs, empty if the copybook is not used
+   */
+  Set<String> getDependentDocuments(String copybookUri);
+
   /** Clears all copybook references. */
   void clearReferences();
 
@@ -19,6 +19,7 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides API to search for COBOL programs that refers a copybooks file.
@@ -31,7 +32,7 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
   private final Map<String, Set<CopybookModel>> copybookRef;
 
   public CopybookReferenceRepoImpl() {
-    this.copybookRef = new HashMap<>();
+    this.copybookRef = new ConcurrentHashMap<>();
   }
 
   /**
@@ -42,7 +43,33 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
    */
   @Override
   public Set<CopybookModel> getCopybookUsageReference(String copybookUri) {
-    return copybookRef.getOrDefault(copybookUri, Collections.emptySet());
+    return copybookUri == null
+        ? Collections.emptySet()
+        : copybookRef.getOrDefault(copybookUri, Collections.emptySet());
+  }
+
+  /**
+   * Gives the URIs of all the documents that use a copybook directly or through the nested
+   * copybooks. The references are followed transitively from the copybook to the documents that
+   * contain its copy statements.
+   *
+   * @param copybookUri is a URI of a copybook
+   * @return a set of the dependent document URIs, empty if the copybook is not used
+   */
+  @Override
+  public Set<String> getDependentDocuments(String copybookUri) {
+    Set<String> dependents = new LinkedHashSet<>();
+    Deque<String> uris = new ArrayDeque<>();
+    uris.push(copybookUri);
+    while (!uris.isEmpty()) {
+      for (CopybookModel usage : getCopybookUsageReference(uris.pop())) {
+        if (usage.getUri() != null && dependents.add(usage.getUri())) {
+          uris.push(usage.getUri());
+        }
+      }
+    }
+    dependents.remove(copybookUri);
+    return dependents;
   }
 
   /** Clears all copybook references. */
@@ -61,11 +88,13 @@ public class CopybookReferenceRepoImpl implements CopybookReferenceRepo {
   @Override
   public void storeCopybookUsageReference(
       CopybookName copybookName, String programUri, CopybookModel copybookModel) {
-    Set<CopybookModel> copybookUsageRef =
-        copybookRef.computeIfAbsent(copybookModel.getUri(), k -> new HashSet<>());
+    if (copybookModel.getUri() == null) {
+      return;
+    }
     CopybookModel copybookResolveContext =
         new CopybookModel(copybookName.toCopybookId(programUri), copybookName,  programUri, copybookModel.getContent());
-    copybookUsageRef.add(copybookResolveContext);
-    copybookRef.put(copybookModel.getUri(), copybookUsageRef);
+    copybookRef
+        .computeIfAbsent(copybookModel.getUri(), k -> ConcurrentHashMap.newKeySet())
+        .add(copybookResolveContext);
   }
 }
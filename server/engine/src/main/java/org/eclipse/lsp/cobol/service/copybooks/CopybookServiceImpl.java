@@ -15,17 +15,22 @@
 package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.common.UserInterruptException;
 import org.eclipse.lsp.cobol.common.copybook.*;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
@@ -38,12 +43,22 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.COPYBOOK_RESOLUTION;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.COPYBOOK_CACHE_HITS;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Counter.COPYBOOK_CACHE_MISSES;
 
 /**
  * This service processes copybook requests and returns content by its name. The service also caches
- * copybook to reduce filesystem load.
+ * copybook to reduce filesystem load. The prefetched copybooks are loaded on a bounded thread pool
+ * of the service. If there are less than two threads configured, they are loaded on the analysis
+ * thread.
  */
 @Slf4j
 @Singleton
@@ -57,9 +72,14 @@ public class CopybookServiceImpl implements CopybookService {
 
   private final Map<String, Set<CopybookName>> copybooksForDownloading =
       new ConcurrentHashMap<>(8, 0.9f, 1);
+  /** Prefetched copybooks that are already counted as cache misses and not looked up yet */
+  private final Set<CopybookId> prefetchedCopybooks = ConcurrentHashMap.newKeySet();
 
   private final CopybookCache copybookCache;
+  private final PersistentCopybookCache persistentCopybookCache;
   private final CopybookReferenceRepo copybookReferenceRepo;
+  private final AnalysisMetrics analysisMetrics;
+  private final ExecutorService prefetchExecutor;
 
   @Inject
   public CopybookServiceImpl(
@@ -68,12 +88,23 @@ public class CopybookServiceImpl implements CopybookService {
       FileSystemService files,
       TextPreprocessor preprocessor,
       CopybookCache copybookCache,
-      CopybookReferenceRepo copybookReferenceRepo) {
+      PersistentCopybookCache persistentCopybookCache,
+      CopybookReferenceRepo copybookReferenceRepo,
+      AnalysisMetrics analysisMetrics,
+      @Named("COPYBOOK-PREFETCH-THREADS") int prefetchThreads) {
     this.files = files;
     this.clientProvider = clientProvider;
     this.preprocessor = preprocessor;
     this.copybookCache = copybookCache;
+    this.persistentCopybookCache = persistentCopybookCache;
     this.copybookReferenceRepo = copybookReferenceRepo;
+    this.analysisMetrics = analysisMetrics;
+    this.prefetchExecutor =
+        prefetchThreads > 1
+            ? Executors.newFixedThreadPool(
+                prefetchThreads,
+                new ThreadFactoryBuilder().setNameFormat("copybook-prefetch-%d").setDaemon(true).build())
+            : null;
     dataBus.subscribe(this);
   }
 
@@ -84,9 +115,16 @@ public class CopybookServiceImpl implements CopybookService {
     LOG.debug("Cache invalidated");
     copybookReferenceRepo.clearReferences();
     copybooksForDownloading.clear();
+    prefetchedCopybooks.clear();
     copybookCache.invalidateAll();
   }
 
+  @Override
+  public void invalidateCache(@NonNull String copybookUri) {
+    LOG.debug("Cache invalidated for {}", copybookUri);
+    copybookCache.invalidate(copybookUri);
+  }
+
   /**
    * Retrieve and return the copybook by its name. Copybook may be cached to limit interactions with
    * the file system.
@@ -111,21 +149,73 @@ public class CopybookServiceImpl implements CopybookService {
       @NonNull String documentUri,
       @NonNull CopybookConfig copybookConfig,
       boolean preprocess) {
+    AtomicBoolean loaded = new AtomicBoolean();
+    boolean prefetched = prefetchedCopybooks.remove(copybookId);
     try {
-      return copybookCache.get(copybookId, programDocumentUri, () -> {
+      return copybookCache.get(copybookId, programDocumentUri, () -> analysisMetrics.measure(COPYBOOK_RESOLUTION, () -> {
+        loaded.set(true);
         CopybookModel copybookModel = resolveSync(copybookName, programDocumentUri, copybookConfig);
         if (preprocess && copybookModel.getUri() != null) {
           copybookModel = cleanupCopybook(copybookModel);
         }
         copybookReferenceRepo.storeCopybookUsageReference(copybookName, documentUri, copybookModel);
         return copybookModel;
-      });
+      }));
     } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
       LOG.error("Can't resolve copybook '{}'.", copybookName, e);
       return new CopybookModel(copybookId, copybookName, null, null);
+    } finally {
+      if (loaded.get()) {
+        analysisMetrics.count(COPYBOOK_CACHE_MISSES, 1);
+      } else if (!prefetched) {
+        analysisMetrics.count(COPYBOOK_CACHE_HITS, 1);
+      }
     }
   }
 
+  /**
+   * Resolve all the given copybooks that are not cached yet using a single request to the client
+   * per dialect, then load and store them in the cache in parallel. If the client doesn't support
+   * the batch resolution, or a copybook fails to load, the copybooks stay unresolved and will be
+   * processed one by one by {@link #resolve}. The prefetched copybooks are counted as cache misses,
+   * so their first lookup by {@link #resolve} is not counted again as a hit.
+   *
+   * @param copybookNames - the names of the copybooks used in the document
+   * @param programDocumentUri - the currently processing program document
+   * @param documentUri - the currently processing document that contains the copy statements
+   * @param copybookConfig - contains config info like: copybook processing mode, target backend sql
+   *     server
+   * @param preprocess - indicates if copybooks need to be preprocessed after resolving
+   */
+  @Override
+  public void prefetch(
+      @NonNull List<CopybookName> copybookNames,
+      @NonNull String programDocumentUri,
+      @NonNull String documentUri,
+      @NonNull CopybookConfig copybookConfig,
+      boolean preprocess) {
+    Map<String, List<CopybookName>> namesByDialect =
+        copybookNames.stream()
+            .distinct()
+            .filter(name -> !copybookCache.contains(name.toCopybookId(programDocumentUri)))
+            .collect(groupingBy(name -> Optional.ofNullable(name.getDialectType()).orElse(COBOL)));
+    namesByDialect.forEach(
+        (dialect, names) ->
+            analysisMetrics.measure(COPYBOOK_RESOLUTION, () -> resolveCopybooksFromWorkspace(names, dialect, programDocumentUri)
+                .map(uris -> loadResolved(names, uris, programDocumentUri, copybookConfig, preprocess))
+                .ifPresent(
+                    models -> {
+                      analysisMetrics.count(COPYBOOK_CACHE_MISSES, models.size());
+                      models.forEach(
+                          model -> {
+                            copybookReferenceRepo.storeCopybookUsageReference(
+                                model.getCopybookName(), documentUri, model);
+                            copybookCache.store(model);
+                            prefetchedCopybooks.add(model.getCopybookId());
+                          });
+                    })));
+  }
+
   @Override
   public void store(CopybookModel copybookModel) {
     copybookCache.store(copybookModel);
@@ -153,10 +243,89 @@ public class CopybookServiceImpl implements CopybookService {
     if (copybookModel.isPresent()) {
       return copybookModel.get();
     }
+    return resolveNotInWorkspace(copybookName, programUri, copybookConfig);
+  }
+
+  private CopybookModel resolveNotInWorkspace(
+      CopybookName copybookName, String programUri, CopybookConfig copybookConfig) {
     Optional<CopybookModel> predefineCopybook = tryResolvePredefinedCopybook(copybookName, copybookConfig);
     return predefineCopybook.orElseGet(() -> registerForDownloading(copybookName, programUri));
   }
 
+  private List<CopybookModel> loadResolved(
+      List<CopybookName> copybookNames,
+      List<String> uris,
+      String programUri,
+      CopybookConfig copybookConfig,
+      boolean preprocess) {
+    List<CopybookModel> models = new ArrayList<>(copybookNames.size());
+    if (prefetchExecutor == null || copybookNames.size() < 2) {
+      for (int i = 0; i < copybookNames.size(); i++) {
+        tryLoadResolved(copybookNames.get(i), uris.get(i), programUri, copybookConfig, preprocess)
+            .ifPresent(models::add);
+      }
+      return models;
+    }
+    List<Future<Optional<CopybookModel>>> futures = new ArrayList<>(copybookNames.size());
+    try {
+      for (int i = 0; i < copybookNames.size(); i++) {
+        CopybookName copybookName = copybookNames.get(i);
+        String uri = uris.get(i);
+        futures.add(prefetchExecutor.submit(
+            () -> tryLoadResolved(copybookName, uri, programUri, copybookConfig, preprocess)));
+      }
+      for (Future<Optional<CopybookModel>> future : futures) {
+        future.get().ifPresent(models::add);
+      }
+      return models;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UserInterruptException("Parsing interrupted by user.", e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      // Stop loading the rest of the copybooks if the analysis was interrupted
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Load a resolved copybook. The failures are handled per copybook as in {@link #resolve}: the
+   * copybook is skipped, so it is resolved again on demand and reported there.
+   */
+  @SuppressWarnings("java:S1181")
+  private Optional<CopybookModel> tryLoadResolved(
+      CopybookName copybookName,
+      String uri,
+      String programUri,
+      CopybookConfig copybookConfig,
+      boolean preprocess) {
+    try {
+      return Optional.of(loadResolved(copybookName, uri, programUri, copybookConfig, preprocess));
+    } catch (UserInterruptException e) {
+      throw e;
+    } catch (RuntimeException | Error e) {
+      LOG.warn("Can't prefetch copybook '{}', it will be resolved on demand.", copybookName, e);
+      return Optional.empty();
+    }
+  }
+
+  private CopybookModel loadResolved(
+      CopybookName copybookName,
+      String uri,
+      String programUri,
+      CopybookConfig copybookConfig,
+      boolean preprocess) {
+    CopybookModel copybookModel =
+        uri == null
+            ? resolveNotInWorkspace(copybookName, programUri, copybookConfig)
+            : loadCopybook(uri, copybookName, programUri);
+    return preprocess && copybookModel.getUri() != null
+        ? cleanupCopybook(copybookModel)
+        : copybookModel;
+  }
+
   /**
    * Retrieve optional {@link CopybookModel} of the {@link PredefinedCopybooks} for the given name
    * if it is predefined.
@@ -184,7 +353,12 @@ public class CopybookServiceImpl implements CopybookService {
   }
 
   private CopybookModel cleanupCopybook(CopybookModel dirtyCopybook) {
-    String cleanText = preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent()).getResult().calculateExtendedText();
+    String cleanText = persistentCopybookCache.getCleanText(dirtyCopybook.getUri(), dirtyCopybook.getContent())
+        .orElseGet(() -> {
+          String text = preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent()).getResult().calculateExtendedText();
+          persistentCopybookCache.store(dirtyCopybook.getUri(), dirtyCopybook.getContent(), text);
+          return text;
+        });
     return new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(), dirtyCopybook.getUri(), cleanText);
   }
 
@@ -223,6 +397,29 @@ public class CopybookServiceImpl implements CopybookService {
     }
   }
 
+  @SuppressWarnings("java:S2142")
+  private Optional<List<String>> resolveCopybooksFromWorkspace(
+      List<CopybookName> copybookNames, String dialect, String programUri) {
+    ThreadInterruptionUtil.checkThreadInterrupted();
+    try {
+      CompletableFuture<List<String>> future = clientProvider.get().resolveCopybooks(
+          files.getNameFromURI(programUri),
+          copybookNames.stream().map(CopybookName::getDisplayName).collect(toList()),
+          dialect);
+
+      if (future == null) {
+        return Optional.empty();
+      }
+      return Optional.ofNullable(future.get()).filter(uris -> uris.size() == copybookNames.size());
+    } catch (InterruptedException e) {
+      // rethrowing the InterruptedException to interrupt the parent thread.
+      throw new UncheckedExecutionException(e);
+    } catch (ExecutionException | UnsupportedOperationException e) {
+      LOG.debug("Batch copybook resolution is not available, copybooks will be resolved one by one", e);
+      return Optional.empty();
+    }
+  }
+
   private CopybookModel registerForDownloading(CopybookName copybookName, String programUri) {
     String cobolFileName = files.getNameFromURI(programUri);
     LOG.debug("Registering copybook {} of {} for further downloading", copybookName, cobolFileName);
@@ -251,6 +448,7 @@ public class CopybookServiceImpl implements CopybookService {
   public void handleAnalysisFinishedEvent(AnalysisFinishedEvent event) {
     LOG.debug("Received event {}", event);
     LOG.debug("Copybooks expecting downloading: {}", copybooksForDownloading);
+    persistentCopybookCache.scheduleFlush();
     Set<String> uris = new HashSet<>(event.getCopybookUris());
     String documentUri = event.getDocumentUri();
     uris.add(documentUri);
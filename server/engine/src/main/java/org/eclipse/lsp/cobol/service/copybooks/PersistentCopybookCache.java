@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Persistent tier of the copybook cache. It keeps the cleaned up text of copybooks by their URI
+ * together with the hash of the original content, and stores them in a binary file, so the clean up
+ * of unchanged copybooks is skipped after the server restart or the cache invalidation. The file is
+ * located in the folder specified by the "copybook.cache.path" system property. If the property is
+ * not set, the cache is disabled.
+ *
+ * <p>The file and each entry keep the version of the clean up that produced the text, so the text
+ * cleaned up by another version of the server is not reused. The changes are written to the disk on
+ * a background thread a while after the last analysis and when the server exits.
+ */
+@Slf4j
+@Singleton
+public class PersistentCopybookCache {
+  private static final String CACHE_PATH_SYSTEM_PROPERTY = "copybook.cache.path";
+  private static final String CACHE_FILE_NAME = "copybooks.bin";
+  private static final int FORMAT_VERSION = 2;
+  private static final long FLUSH_DELAY_SECONDS = 30;
+
+  private final Path cacheFile;
+  private final int maxSize;
+  private final String cleanUpVersion;
+  private final Map<String, Entry> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final Object writeLock = new Object();
+  private final ScheduledExecutorService flushExecutor;
+  private boolean loaded;
+  private boolean dirty;
+  private boolean flushScheduled;
+
+  @Inject
+  public PersistentCopybookCache(
+      @Named("PERSISTENT-CACHE-MAX-SIZE") int maxSize, TextPreprocessor preprocessor) {
+    this(
+        Optional.ofNullable(System.getProperty(CACHE_PATH_SYSTEM_PROPERTY))
+            .map(path -> Paths.get(path, CACHE_FILE_NAME))
+            .orElse(null),
+        maxSize,
+        preprocessor.getVersion());
+    if (cacheFile != null) {
+      Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "copybook-cache-shutdown"));
+    }
+  }
+
+  public PersistentCopybookCache(Path cacheFile, int maxSize, String cleanUpVersion) {
+    this.cacheFile = cacheFile;
+    this.maxSize = maxSize;
+    this.cleanUpVersion = cleanUpVersion;
+    entries =
+        new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > PersistentCopybookCache.this.maxSize) {
+              evictions.incrementAndGet();
+              return true;
+            }
+            return false;
+          }
+        };
+    flushExecutor =
+        cacheFile == null
+            ? null
+            : Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("copybook-cache-writer").setDaemon(true).build());
+  }
+
+  /**
+   * Get the cleaned up text of the copybook if it was stored for the same content
+   *
+   * @param uri the URI of the copybook
+   * @param content the original content of the copybook
+   * @return the cleaned up text or empty if the copybook is not cached or its content changed
+   */
+  public synchronized Optional<String> getCleanText(String uri, String content) {
+    if (cacheFile == null) {
+      return Optional.empty();
+    }
+    load();
+    Entry entry = entries.get(uri);
+    if (entry != null
+        && entry.getCleanUpVersion().equals(cleanUpVersion)
+        && entry.getContentHash().equals(hash(content))) {
+      hits.incrementAndGet();
+      return Optional.of(entry.getCleanText());
+    }
+    misses.incrementAndGet();
+    return Optional.empty();
+  }
+
+  /**
+   * Store the cleaned up text of the copybook. It will be written to the disk on the next {@link
+   * #flush()}
+   *
+   * @param uri the URI of the copybook
+   * @param content the original content of the copybook
+   * @param cleanText the cleaned up text of the copybook
+   */
+  public synchronized void store(String uri, String content, String cleanText) {
+    if (cacheFile == null) {
+      return;
+    }
+    load();
+    entries.put(uri, new Entry(cleanUpVersion, hash(content), cleanText));
+    dirty = true;
+  }
+
+  /**
+   * Write the changes to the disk on the background thread after the delay. The calls during the
+   * delay are merged into one write. Nothing is written if there are no changes.
+   */
+  public void scheduleFlush() {
+    synchronized (this) {
+      if (cacheFile == null || !dirty || flushScheduled) {
+        return;
+      }
+      flushScheduled = true;
+    }
+    try {
+      flushExecutor.schedule(this::flush, FLUSH_DELAY_SECONDS, SECONDS);
+    } catch (RejectedExecutionException e) {
+      synchronized (this) {
+        flushScheduled = false;
+      }
+    }
+  }
+
+  /** Write the cache to the disk if it was changed since the last flush */
+  public void flush() {
+    Map<String, Entry> snapshot;
+    synchronized (this) {
+      flushScheduled = false;
+      if (!dirty) {
+        return;
+      }
+      snapshot = new LinkedHashMap<>(entries);
+      dirty = false;
+    }
+    synchronized (writeLock) {
+      if (!write(snapshot)) {
+        synchronized (this) {
+          dirty = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the hit, miss and eviction counters of the cache
+   *
+   * @return the statistics of the cache
+   */
+  public Statistics getStatistics() {
+    return new Statistics(hits.get(), misses.get(), evictions.get());
+  }
+
+  private boolean write(Map<String, Entry> snapshot) {
+    LOG.debug("Writing copybook cache to {}, {}", cacheFile, getStatistics());
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tempFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE_NAME, null);
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeInt(FORMAT_VERSION);
+        writeString(output, cleanUpVersion);
+        output.writeInt(snapshot.size());
+        for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+          writeString(output, entry.getKey());
+          writeString(output, entry.getValue().getCleanUpVersion());
+          writeString(output, entry.getValue().getContentHash());
+          writeString(output, entry.getValue().getCleanText());
+        }
+      }
+      Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Cannot write copybook cache to {}", cacheFile, e);
+      return false;
+    }
+  }
+
+  private void load() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    if (!Files.exists(cacheFile)) {
+      return;
+    }
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      long fileSize = Files.size(cacheFile);
+      if (input.readInt() != FORMAT_VERSION || !readString(input, fileSize).equals(cleanUpVersion)) {
+        LOG.debug("Copybook cache {} was written by another version of the server", cacheFile);
+        return;
+      }
+      int size = input.readInt();
+      if (size < 0) {
+        throw new IOException("Invalid number of entries: " + size);
+      }
+      for (int i = 0; i < size; i++) {
+        String uri = readString(input, fileSize);
+        String entryVersion = readString(input, fileSize);
+        String contentHash = readString(input, fileSize);
+        Entry entry = new Entry(entryVersion, contentHash, readString(input, fileSize));
+        if (entry.getCleanUpVersion().equals(cleanUpVersion)) {
+          entries.put(uri, entry);
+        }
+      }
+      LOG.debug("Loaded {} copybooks from cache {}", entries.size(), cacheFile);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Cannot read copybook cache from {}, the cache is dropped", cacheFile, e);
+      entries.clear();
+      delete();
+    }
+  }
+
+  private void delete() {
+    try {
+      Files.deleteIfExists(cacheFile);
+    } catch (IOException e) {
+      LOG.warn("Cannot delete copybook cache {}", cacheFile, e);
+    }
+  }
+
+  private static String hash(String content) {
+    return Hashing.sha256().hashString(content, UTF_8).toString();
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  /**
+   * Read a string written by {@link #writeString}. The length is checked against the file size, so a
+   * corrupted file doesn't make it allocate a huge array.
+   */
+  private static String readString(DataInputStream input, long fileSize) throws IOException {
+    int length = input.readInt();
+    if (length < 0 || length > fileSize) {
+      throw new IOException("Invalid string length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /** Cached copybook text with the clean up version and the hash of the content it was produced from */
+  @Value
+  private static class Entry {
+    String cleanUpVersion;
+    String contentHash;
+    String cleanText;
+  }
+
+  /** Hit, miss and eviction counters of the persistent copybook cache */
+  @Value
+  public static class Statistics {
+    long hits;
+    long misses;
+    long evictions;
+  }
+}
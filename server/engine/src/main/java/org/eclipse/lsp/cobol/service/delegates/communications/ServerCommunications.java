@@ -17,10 +17,12 @@ package org.eclipse.lsp.cobol.service.delegates.communications;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.file.FileSystemService;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
@@ -33,13 +35,17 @@ import org.eclipse.lsp4j.WorkDoneProgressReport;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp4j.MessageType.Info;
 
@@ -47,23 +53,36 @@ import static org.eclipse.lsp4j.MessageType.Info;
  * This class serves the communications between server and client. It also allows sending delayable
  * messages. Notice, that all the messages that are going to be sent from server to client should be
  * cleaned by removing line breaks to prevent incorrect parsing.
+ *
+ * <p>The diagnostics are collected for a short debounce window and published together. A URI is
+ * published only if its diagnostics differ from the ones published last time. Only the non-empty
+ * lists are remembered, so publishing an empty list, e.g. when the document is closed, drops the
+ * URI.
  */
 @Slf4j
+@Singleton
 public class ServerCommunications implements Communications {
+  private static final long DIAGNOSTICS_DEBOUNCE_MS = 50;
 
   private final Set<String> uriInProgress = new HashSet<>();
+  private final Map<String, List<Diagnostic>> pendingDiagnostics = new HashMap<>();
+  private final Map<String, List<Diagnostic>> publishedDiagnostics = new ConcurrentHashMap<>();
+  private boolean diagnosticsFlushScheduled;
   private MessageService messageService;
   private Provider<CobolLanguageClient> provider;
   private FileSystemService files;
+  private CustomThreadPoolExecutor executors;
 
   @Inject
   public ServerCommunications(
           Provider<CobolLanguageClient> provider,
           FileSystemService files,
-          MessageService messageService) {
+          MessageService messageService,
+          CustomThreadPoolExecutor executors) {
     this.provider = provider;
     this.files = files;
     this.messageService = messageService;
+    this.executors = executors;
   }
 
 
@@ -96,16 +115,61 @@ public class ServerCommunications implements Communications {
 
   /**
    * This method raise a diagnostic message to the client with syntax error retrieved by the COBOL
-   * LSP server for related files.
+   * LSP server for related files. The diagnostics are sent after the debounce window, and only for
+   * the URIs whose diagnostics changed since the last publication.
    *
    * @param diagnostics map of URIs and errors populated by the language engine
    */
   public void publishDiagnostics(Map<String, List<Diagnostic>> diagnostics) {
+    synchronized (pendingDiagnostics) {
+      diagnostics.forEach((uri, diagnostic) -> pendingDiagnostics.put(uri, clean(diagnostic)));
+      if (!diagnosticsFlushScheduled) {
+        diagnosticsFlushScheduled = true;
+        try {
+          executors
+              .getScheduledThreadPoolExecutor()
+              .schedule(this::flushDiagnostics, DIAGNOSTICS_DEBOUNCE_MS, MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          diagnosticsFlushScheduled = false;
+          LOG.debug("Diagnostics are not published since the server is shut down");
+        }
+      }
+    }
+  }
+
+  private void flushDiagnostics() {
+    Map<String, List<Diagnostic>> diagnostics;
+    synchronized (pendingDiagnostics) {
+      diagnostics = new HashMap<>(pendingDiagnostics);
+      pendingDiagnostics.clear();
+      diagnosticsFlushScheduled = false;
+    }
     diagnostics.forEach(
-        (uri, diagnostic) ->
-            getClient()
-                .publishDiagnostics(
-                    new PublishDiagnosticsParams(uri, clean(diagnostic))));
+        (uri, diagnostic) -> {
+          List<Diagnostic> previous =
+              diagnostic.isEmpty()
+                  ? publishedDiagnostics.remove(uri)
+                  : publishedDiagnostics.put(uri, diagnostic);
+          if (diagnostic.isEmpty() ? previous == null : diagnostic.equals(previous)) {
+            return;
+          }
+          try {
+            getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostic));
+          } catch (RuntimeException e) {
+            restorePublishedDiagnostics(uri, diagnostic, previous);
+            LOG.error("Cannot publish diagnostics for " + uri, e);
+          }
+        });
+  }
+
+  private void restorePublishedDiagnostics(String uri, List<Diagnostic> failed, List<Diagnostic> previous) {
+    if (failed.isEmpty()) {
+      publishedDiagnostics.putIfAbsent(uri, previous);
+    } else if (previous == null) {
+      publishedDiagnostics.remove(uri, failed);
+    } else {
+      publishedDiagnostics.replace(uri, failed, previous);
+    }
   }
 
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps a {@link PrefixIndex} of completion candidates for each analysis result. The index is
+ * built once for the result and replaced when the document is re-analysed. The results are held
+ * weakly and compared by identity, so the indexes of outdated results are garbage collected.
+ *
+ * @param <T> the type of the candidates
+ */
+final class CompletionIndexCache<T> {
+  private final LoadingCache<AnalysisResult, PrefixIndex<T>> indexes;
+
+  CompletionIndexCache(@NonNull Function<AnalysisResult, PrefixIndex<T>> indexBuilder) {
+    indexes = CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(indexBuilder::apply));
+  }
+
+  /**
+   * Find all the candidates of the analysis result whose names start with the given prefix
+   *
+   * @param result the analysis result of the document
+   * @param prefix the beginning of the name
+   * @return the list of candidates sorted by name
+   */
+  @NonNull
+  List<T> find(@NonNull AnalysisResult result, @NonNull String prefix) {
+    return indexes.getUnchecked(result).find(prefix);
+  }
+}
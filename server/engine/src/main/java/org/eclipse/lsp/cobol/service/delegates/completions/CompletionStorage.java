@@ -21,6 +21,7 @@ import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIALECTS;
@@ -33,6 +34,8 @@ import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIAL
 public abstract class CompletionStorage<T> {
   private List<String> dialectType = ImmutableList.of();
   private Map<String, T> storage;
+  private PrefixIndex<String> labels = PrefixIndex.empty();
+  private Object storageKey;
   private SettingsService settingsService;
 
   CompletionStorage(final SettingsService settingsService) {
@@ -47,16 +50,39 @@ public abstract class CompletionStorage<T> {
 
   protected abstract Map<String, T> getDataMap(List<String> dialectType);
 
+  /**
+   * Return a key that changes when the data map for the given dialects may differ from the loaded
+   * one. The storage is reloaded only if the key changes. By default, the key is the list of
+   * dialect names.
+   *
+   * @param dialectType - the list of enabled dialects
+   * @return the key of the data map
+   */
+  protected Object getStorageKey(List<String> dialectType) {
+    return dialectType;
+  }
+
   /**
    * Return a full set of the registered keywords
    *
    * @return A set of keywords
    */
   Set<String> getLabels() {
-    resetStorage();
+    refreshStorage();
     return storage.keySet();
   }
 
+  /**
+   * Return the registered keywords that start with the given prefix ignoring case
+   *
+   * @param prefix - the beginning of the keyword
+   * @return A list of keywords sorted alphabetically
+   */
+  List<String> findLabels(String prefix) {
+    refreshStorage();
+    return labels.find(prefix);
+  }
+
   /**
    * Return a description for given keywords or null not found
    *
@@ -70,6 +96,7 @@ public abstract class CompletionStorage<T> {
   private void fillInStorage(final Map<String, T> props) {
     this.storage =
         props.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    this.labels = new PrefixIndex<>(storage.keySet().stream(), Function.identity());
   }
 
   private void updateDialects(final List<String> dialects) {
@@ -77,8 +104,13 @@ public abstract class CompletionStorage<T> {
     resetStorage();
   }
 
+  private void refreshStorage() {
+    if (!getStorageKey(this.dialectType).equals(storageKey)) resetStorage();
+  }
+
   private void resetStorage() {
     Map<String, T> dataMap;
+    storageKey = getStorageKey(this.dialectType);
     dataMap = getDataMap(this.dialectType);
     fillInStorage(dataMap);
     LOG.info("The properties file has been loaded successfully");
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
@@ -23,33 +24,35 @@ import org.eclipse.lsp4j.CompletionItemKind;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
 
 /** This class provides completion suggestions for copybook usages in the document */
 @Singleton
 public class CopybookCompletion implements Completion {
+  private final CompletionIndexCache<String> indexes = new CompletionIndexCache<>(this::buildIndex);
 
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
-        .map(CopyNode::getName)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.find(document.getAnalysisResult(), token).stream()
         .map(this::toCopybookCompletion)
         .collect(toList());
   }
 
+  private PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return new PrefixIndex<>(
+        result
+            .getRootNode()
+            .getDepthFirstStream(CopyNode.class)
+            .map(CopyNode::getName),
+        Function.identity());
+  }
+
   private CompletionItem toCopybookCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
@@ -41,8 +41,7 @@ public class KeywordCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
           @NonNull String token, @Nullable CobolDocumentModel document) {
-    return keywords.getLabels().stream()
-            .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return keywords.findLabels(token).stream()
             .map(this::toKeywordCompletion)
             .collect(toList());
   }
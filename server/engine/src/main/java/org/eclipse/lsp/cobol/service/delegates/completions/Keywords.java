@@ -48,4 +48,11 @@ public class Keywords extends CompletionStorage<String> {
     return result;
   }
 
+  @Override
+  protected Object getStorageKey(List<String> dialectTypes) {
+    List<Object> dialects = new ArrayList<>();
+    dialectTypes.forEach(dialectType -> dialects.add(dialectService.getDialectByName(dialectType)));
+    return dialects;
+  }
+
 }
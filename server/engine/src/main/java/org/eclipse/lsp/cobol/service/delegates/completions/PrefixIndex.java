@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An immutable index of completion candidates sorted by their names. It allows to find all the
+ * candidates whose names start with the given prefix, ignoring case, without iterating over the
+ * whole collection.
+ *
+ * @param <T> the type of the candidates
+ */
+final class PrefixIndex<T> {
+  private static final PrefixIndex<?> EMPTY = new PrefixIndex<>(Stream.empty(), Objects::toString);
+
+  private final NavigableMap<String, List<T>> index = new TreeMap<>();
+
+  PrefixIndex(@NonNull Stream<T> candidates, @NonNull Function<T, String> nameOf) {
+    candidates.forEach(
+        it -> index.computeIfAbsent(toKey(nameOf.apply(it)), k -> new ArrayList<>()).add(it));
+  }
+
+  /**
+   * Get an empty index
+   *
+   * @param <T> the type of the candidates
+   * @return an index without candidates
+   */
+  @SuppressWarnings("unchecked")
+  static <T> PrefixIndex<T> empty() {
+    return (PrefixIndex<T>) EMPTY;
+  }
+
+  /**
+   * Find all the candidates whose names start with the given prefix ignoring case
+   *
+   * @param prefix the beginning of the name
+   * @return the list of candidates sorted by name
+   */
+  @NonNull
+  List<T> find(@NonNull String prefix) {
+    String key = toKey(prefix);
+    return index.subMap(key, true, key + Character.MAX_VALUE, false).values().stream()
+        .flatMap(List::stream)
+        .collect(toList());
+  }
+
+  private static String toKey(String name) {
+    return name.toUpperCase(Locale.ROOT);
+  }
+}
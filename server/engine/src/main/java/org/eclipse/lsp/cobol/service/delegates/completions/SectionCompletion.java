@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
@@ -26,11 +27,10 @@ import org.eclipse.lsp4j.CompletionItemKind;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.SECTIONS;
 
 /** Provides completion functionality for sections */
@@ -38,6 +38,7 @@ import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrde
 public class SectionCompletion implements Completion {
 
   private final SymbolsRepository symbolsRepository;
+  private final CompletionIndexCache<String> indexes = new CompletionIndexCache<>(this::buildIndex);
 
   @Inject
   public SectionCompletion(SymbolsRepository symbolsRepository) {
@@ -48,20 +49,22 @@ public class SectionCompletion implements Completion {
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(symbolsRepository::getSectionMap)
-        .map(Map::keySet)
-        .flatMap(Collection::stream)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.find(document.getAnalysisResult(), token).stream()
         .map(this::toSectionCompletion)
         .collect(toList());
   }
 
+  private PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return new PrefixIndex<>(
+        result
+            .getRootNode()
+            .getDepthFirstStream(ProgramNode.class)
+            .map(symbolsRepository::getSectionMap)
+            .map(Map::keySet)
+            .flatMap(Collection::stream),
+        Function.identity());
+  }
+
   private CompletionItem toSectionCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
@@ -18,6 +18,7 @@ import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
@@ -27,12 +28,9 @@ import org.eclipse.lsp4j.CompletionItem;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.function.Predicate;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.CONSTANTS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
 import static org.eclipse.lsp4j.CompletionItemKind.Constant;
@@ -46,6 +44,8 @@ import static org.eclipse.lsp4j.CompletionItemKind.Variable;
 public class VariableCompletion implements Completion {
 
   private final SymbolsRepository symbolsRepository;
+  private final CompletionIndexCache<VariableNode> indexes =
+      new CompletionIndexCache<>(this::buildIndex);
 
   @Inject
   public VariableCompletion(SymbolsRepository symbolsRepository) {
@@ -56,22 +56,20 @@ public class VariableCompletion implements Completion {
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(symbolsRepository::getVariables)
-        .map(Multimap::values)
-        .flatMap(Collection::stream)
-        .filter(matchNames(token))
+    return indexes.find(document.getAnalysisResult(), token).stream()
         .map(this::toCompletionItem)
         .collect(toList());
   }
 
-  private Predicate<VariableNode> matchNames(@NonNull String token) {
-    return it -> it.getName().regionMatches(true, 0, token, 0, token.length());
+  private PrefixIndex<VariableNode> buildIndex(AnalysisResult result) {
+    return new PrefixIndex<>(
+        result
+            .getRootNode()
+            .getDepthFirstStream(ProgramNode.class)
+            .map(symbolsRepository::getVariables)
+            .map(Multimap::values)
+            .flatMap(Collection::stream),
+        VariableNode::getName);
   }
 
   private CompletionItem toCompletionItem(VariableNode it) {
@@ -18,9 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.common.model.Describable;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
-import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.MarkedString;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -37,12 +35,10 @@ public class VariableHover implements HoverProvider {
   public Hover getHover(
       @Nullable CobolDocumentModel document, @NonNull TextDocumentPositionParams position) {
     return Optional.ofNullable(document)
-        .map(CobolDocumentModel::getAnalysisResult)
-        .map(AnalysisResult::getRootNode)
         .flatMap(
-            root ->
-                RangeUtils.findNodeByPosition(
-                    root, position.getTextDocument().getUri(), position.getPosition()))
+            it ->
+                it.findNodeByPosition(
+                    position.getTextDocument().getUri(), position.getPosition()))
         .filter(Describable.class::isInstance)
         .map(Describable.class::cast)
         .map(VariableHover::createHoverInfo)
@@ -25,6 +25,7 @@ import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.core.engine.CobolLanguageEngine;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.service.WatcherService;
@@ -45,8 +46,7 @@ import java.util.function.Function;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.*;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
+import static org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext.Activity.DIAGNOSTICS;
 
 /**
  * This class is a facade that maps the result of the syntax and semantic analysis to a model
@@ -59,11 +59,13 @@ public class CobolLanguageEngineFacade implements LanguageEngineFacade {
 
   private final CobolLanguageEngine engine;
   private final WatcherService watcherService;
+  private final AnalysisMetrics analysisMetrics;
 
   @Inject
-  CobolLanguageEngineFacade(CobolLanguageEngine engine, WatcherService watcherService) {
+  CobolLanguageEngineFacade(CobolLanguageEngine engine, WatcherService watcherService, AnalysisMetrics analysisMetrics) {
     this.engine = engine;
     this.watcherService = watcherService;
+    this.analysisMetrics = analysisMetrics;
   }
 
   /**
@@ -85,7 +87,8 @@ public class CobolLanguageEngineFacade implements LanguageEngineFacade {
     // start watching file specific copybooks
     List<String> fileNameSpecificWatchFolders = filenameSpecificWatchFolders(uri);
     watcherService.addRuntimeWatchers(fileNameSpecificWatchFolders, uri);
-    return toAnalysisResult(engine.run(uri, text, analysisConfig), uri);
+    ResultWithErrors<AnalysisResult> result = engine.run(uri, text, analysisConfig);
+    return analysisMetrics.measure(DIAGNOSTICS, () -> toAnalysisResult(result, uri));
   }
 
   /**
@@ -102,9 +105,7 @@ public class CobolLanguageEngineFacade implements LanguageEngineFacade {
     Node rootNode = result.getResult().getRootNode();
 
     List<String> copyUriList = rootNode
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
+        .getDepthFirstStream(CopyNode.class)
         .map(CopyNode::getDefinitions)
         .flatMap(Collection::stream)
         .map(Location::getUri)
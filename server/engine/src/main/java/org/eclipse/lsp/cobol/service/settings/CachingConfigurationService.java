@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.inject.Singleton;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
@@ -27,16 +28,24 @@ import org.eclipse.lsp.cobol.service.utils.ServerTypeUtil;
 import javax.inject.Inject;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
 
-/** This service fetches configuration settings from the client. */
+/**
+ * This service fetches configuration settings from the client. The fetched settings and the analysis
+ * configurations built from them are kept until the cache is invalidated on the configuration
+ * change, or until the dialects add new settings sections. The concurrent requests share a single
+ * fetch.
+ */
 @Slf4j
 @Singleton
 public class CachingConfigurationService implements ConfigurationService {
   private final SettingsService settingsService;
   private final DialectService dialectService;
+  private final AtomicReference<CachedConfiguration> cache = new AtomicReference<>();
 
   @Inject
   public CachingConfigurationService(SettingsService settingsService, DialectService dialectService) {
@@ -44,7 +53,59 @@ public class CachingConfigurationService implements ConfigurationService {
     this.dialectService = dialectService;
   }
 
-  private CompletableFuture<ConfigurationEntity> createConfigFuture() {
+  @Override
+  public void invalidateCache() {
+    cache.set(null);
+  }
+
+  /**
+   * Get the cached configuration for the current dialects settings sections, or start fetching a new
+   * one if it is absent, failed or was requested for other sections
+   */
+  private CachedConfiguration getCachedConfiguration() {
+    List<String> dialectsSections = dialectService.getSettingsSections();
+    while (true) {
+      CachedConfiguration current = cache.get();
+      if (current != null
+          && current.getDialectsSections().equals(dialectsSections)
+          && !current.getEntity().isCompletedExceptionally()) {
+        return current;
+      }
+      CachedConfiguration created =
+          new CachedConfiguration(dialectsSections, new CompletableFuture<>());
+      if (cache.compareAndSet(current, created)) {
+        fetch(created);
+        return created;
+      }
+    }
+  }
+
+  private void fetch(CachedConfiguration configuration) {
+    CompletableFuture<ConfigurationEntity> future;
+    try {
+      future = createConfigFuture(configuration.getDialectsSections());
+    } catch (RuntimeException e) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+    }
+    if (future == null) {
+      // the client is not able to provide the settings now, so the default ones should not be kept
+      cache.compareAndSet(configuration, null);
+      configuration.getEntity().complete(new ConfigurationEntity());
+      return;
+    }
+    future.whenComplete(
+        (entity, e) -> {
+          if (e == null) {
+            configuration.getEntity().complete(entity);
+          } else {
+            cache.compareAndSet(configuration, null);
+            configuration.getEntity().completeExceptionally(e);
+          }
+        });
+  }
+
+  private CompletableFuture<ConfigurationEntity> createConfigFuture(List<String> dialectsSections) {
     List<String> settingsList = new LinkedList<>(Arrays.asList(
         TARGET_SQL_BACKEND.label,
         ANALYSIS_FEATURES.label,
@@ -53,7 +114,6 @@ public class CachingConfigurationService implements ConfigurationService {
         CICS_TRANSLATOR_ENABLED.label,
         DIALECT_REGISTRY.label));
 
-    List<String> dialectsSections = dialectService.getSettingsSections();
     settingsList.addAll(dialectsSections);
 
     return Optional.ofNullable(settingsService.fetchConfigurations(settingsList))
@@ -61,21 +121,25 @@ public class CachingConfigurationService implements ConfigurationService {
             Optional.ofNullable(future)
                 .map(list -> parseConfig(list, dialectsSections))
                 .orElse(new ConfigurationEntity()))
-        ).orElse(CompletableFuture.completedFuture(new ConfigurationEntity()));
+        ).orElse(null);
   }
 
   @Override
   @SuppressWarnings("java:S2142")
   public AnalysisConfig getConfig(CopybookProcessingMode mode) {
     try {
-      AnalysisConfig config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture().get());
-      if (ServerTypeUtil.isNativeServerType()) {
+      CachedConfiguration cached = getCachedConfiguration();
+      AnalysisConfig config = cached.getConfigs().get(mode);
+      if (config != null) {
         return config;
       }
-      if (dialectService.updateDialects(config.getDialectRegistry())) {
+      config = AnalysisConfigHelper.fromConfigEntity(mode, cached.getEntity().get());
+      if (!ServerTypeUtil.isNativeServerType() && dialectService.updateDialects(config.getDialectRegistry())) {
         // if list of dialects were changed - request config one more time
-        config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture().get());
+        cached = getCachedConfiguration();
+        config = AnalysisConfigHelper.fromConfigEntity(mode, cached.getEntity().get());
       }
+      cached.getConfigs().putIfAbsent(mode, config);
       return config;
     } catch (InterruptedException e) {
       LOG.error("Issue while resolving analysis configuration", e);
@@ -89,7 +153,7 @@ public class CachingConfigurationService implements ConfigurationService {
   @Override
   public List<String> getSubroutineDirectories() {
     try {
-      return createConfigFuture().get().getSubroutines();
+      return getCachedConfiguration().getEntity().get().getSubroutines();
     } catch (InterruptedException e) {
       LOG.error("Issue while resolving subroutine configuration", e);
       Thread.currentThread().interrupt();
@@ -128,4 +192,12 @@ public class CachingConfigurationService implements ConfigurationService {
     }
     return result;
   }
+
+  /** The settings fetched for the given dialects sections and the analysis configurations built of them */
+  @Value
+  private static class CachedConfiguration {
+    List<String> dialectsSections;
+    CompletableFuture<ConfigurationEntity> entity;
+    Map<CopybookProcessingMode, AnalysisConfig> configs = new ConcurrentHashMap<>();
+  }
 }
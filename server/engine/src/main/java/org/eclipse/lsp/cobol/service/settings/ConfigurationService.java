@@ -40,6 +40,9 @@ public interface ConfigurationService {
    */
   AnalysisConfig getConfig(CopybookProcessingMode mode);
 
+  /** Drop the cached configuration, so it is fetched from the client again on the next request */
+  void invalidateCache();
+
   /**
    *Get a Subroutine configuration for the analysis using the settings file
    * @return the list from the Subroutine directories defined in user settings
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+
+import java.util.List;
+
+/**
+ * Utility class to support incremental text document synchronization. It applies the ranged
+ * content changes sent by the client to the stored document text and detects the edits that cannot
+ * affect the analysis result, so the previous result may be reused.
+ */
+@UtilityClass
+public class TextDocumentSyncUtil {
+  private static final int INDICATOR_AREA_INDEX = 6;
+  private static final int MAX_LINE_LENGTH = 80;
+
+  /**
+   * Apply the given content changes to the text in the order they were sent. A change without a
+   * range replaces the whole text.
+   *
+   * @param text the current text of the document
+   * @param changes the list of content changes from a didChange notification
+   * @return the text of the document after applying all the changes
+   */
+  @NonNull
+  public String applyChanges(
+      @NonNull String text, @NonNull List<TextDocumentContentChangeEvent> changes) {
+    String result = text;
+    for (TextDocumentContentChangeEvent change : changes) {
+      if (change.getRange() == null) {
+        result = change.getText();
+      } else {
+        int start = toOffset(result, change.getRange().getStart());
+        int end = Math.max(start, toOffset(result, change.getRange().getEnd()));
+        result = result.substring(0, start) + change.getText() + result.substring(end);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Check if the new text of the document differs from the old one only in fixed-format comment
+   * lines. Such changes neither shift positions of other lines nor produce diagnostics, so the
+   * previous analysis result stays valid.
+   *
+   * @param oldText the text of the document before the change
+   * @param newText the text of the document after the change
+   * @return true if the texts differ, but only in comment lines
+   */
+  public boolean isCommentOnlyChange(@NonNull String oldText, @NonNull String newText) {
+    if (oldText.equals(newText)) {
+      return false;
+    }
+    String[] oldLines = oldText.split("\r?\n", -1);
+    String[] newLines = newText.split("\r?\n", -1);
+    if (oldLines.length != newLines.length) {
+      return false;
+    }
+    for (int i = 0; i < oldLines.length; i++) {
+      if (!oldLines[i].equals(newLines[i])
+          && !(isCommentLine(oldLines[i]) && isCommentLine(newLines[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isCommentLine(String line) {
+    if (line.length() <= INDICATOR_AREA_INDEX || line.length() > MAX_LINE_LENGTH) {
+      return false;
+    }
+    char indicator = line.charAt(INDICATOR_AREA_INDEX);
+    return (indicator == '*' || indicator == '/') && line.indexOf('\t') < 0;
+  }
+
+  private int toOffset(String text, Position position) {
+    int offset = 0;
+    for (int line = 0; line < position.getLine(); line++) {
+      int lineEnd = text.indexOf('\n', offset);
+      if (lineEnd < 0) {
+        return text.length();
+      }
+      offset = lineEnd + 1;
+    }
+    int lineEnd = text.indexOf('\n', offset);
+    int lineLength = (lineEnd < 0 ? text.length() : lineEnd) - offset;
+    return offset + Math.min(position.getCharacter(), lineLength);
+  }
+}
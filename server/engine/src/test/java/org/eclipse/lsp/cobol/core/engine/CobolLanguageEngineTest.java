@@ -31,17 +31,21 @@ import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
 import org.eclipse.lsp.cobol.core.engine.analysis.EmbeddedCodeService;
+import org.eclipse.lsp.cobol.core.engine.analysis.ParserRuntimeManager;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.core.engine.errors.ErrorFinalizerService;
 import org.eclipse.lsp.cobol.core.engine.processor.AstProcessor;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.core.model.DocumentMapping;
 import org.eclipse.lsp.cobol.core.model.OldExtendedDocument;
+import org.eclipse.lsp.cobol.core.model.extendedapi.MetricsResult;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsingStrategy;
 import org.eclipse.lsp.cobol.core.strategy.ErrorMessageHelper;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.SubroutineService;
@@ -59,6 +63,7 @@ import static org.eclipse.lsp.cobol.common.error.ErrorSeverity.ERROR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -79,6 +84,7 @@ class CobolLanguageEngineTest {
   private final DialectService dialectService = mock(DialectService.class);
   private final AstProcessor astProcessor = mock(AstProcessor.class);
   private final SymbolsRepository symbolsRepository = mock(SymbolsRepository.class);
+  private final ParserRuntimeManager parserRuntimeManager = mock(ParserRuntimeManager.class);
 
   @Test
   void testLanguageEngineRun() {
@@ -87,11 +93,14 @@ class CobolLanguageEngineTest {
     AstProcessor astProcessor = mock(AstProcessor.class);
     EmbeddedCodeService embeddedCodeService = mock(EmbeddedCodeService.class);
     SymbolsRepository symbolsRepository = mock(SymbolsRepository.class);
+    AnalysisMetrics analysisMetrics = new AnalysisMetrics();
 
     CobolLanguageEngine engine =
         new CobolLanguageEngine(
             preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
-            dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class));
+            dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class),
+            analysisMetrics, new TwoStageParsingStrategy(mockMessageService, analysisMetrics, true),
+            parserRuntimeManager);
     when(mockMessageService.getMessage(anyString(), anyString(), anyString())).thenReturn("");
     Locality locality =
         Locality.builder()
@@ -169,7 +178,7 @@ class CobolLanguageEngineTest {
     when(preprocessor.cleanUpCode(URI, TEXT))
         .thenReturn(new ResultWithErrors<>(TextTransformations.of(TEXT, URI), ImmutableList.of()));
 
-    when(embeddedCodeService.generateNodes(any(), any(), any(), any(), anyString(), anyList()))
+    when(embeddedCodeService.generateNodes(any(), any(), any(), any(), anyList(), any()))
         .thenReturn(new ResultWithErrors<>(ImmutableList.of(), ImmutableList.of()));
 
     when(grammarPreprocessor.preprocess(any())).thenReturn(new ResultWithErrors<>(new CopybooksRepository(), ImmutableList.of()));
@@ -187,6 +196,17 @@ class CobolLanguageEngineTest {
     assertEquals(NodeType.DIVISION, division.getNodeType());
     assertEquals(programRange, division.getLocality().getRange());
     assertEquals(0, division.getChildren().size());
+
+    MetricsResult metrics = analysisMetrics.snapshot();
+    assertEquals(1, metrics.getCounters().get("ANALYSES"));
+    assertEquals(3, metrics.getCounters().get("AST_NODES"));
+    assertEquals(TEXT.length(), metrics.getCounters().get("EXTENDED_TEXT_LENGTH"));
+    assertEquals(1, metrics.getTimers().get("PARSER").getCount());
+    assertEquals(1, metrics.getCounters().get("SLL_PARSES") + metrics.getCounters().get("LL_PARSES"));
+    assertEquals(1, metrics.getTimers().get("COLD_PARSER").getCount());
+    assertEquals(0, metrics.getTimers().get("WARM_PARSER").getCount());
+    verify(parserRuntimeManager).checkCacheSize();
+    assertEquals(0, metrics.getTimers().get("COPYBOOK_RESOLUTION").getCount());
   }
 
   @Test
@@ -199,7 +219,8 @@ class CobolLanguageEngineTest {
     CobolLanguageEngine engine =
             new CobolLanguageEngine(
                     preprocessor, grammarPreprocessor, mockMessageService, treeListener, mock(SubroutineService.class), null,
-                    dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class));
+                    dialectService, astProcessor, symbolsRepository, embeddedCodeService, mock(ErrorFinalizerService.class),
+                    new AnalysisMetrics(), mock(TwoStageParsingStrategy.class), parserRuntimeManager);
 
     ResultWithErrors<AnalysisResult> actual = engine.run(URI, TEXT, DialectConfigs.getDaCoAnalysisConfig());
     Assertions.assertEquals(actual.getErrors().size(), 1);
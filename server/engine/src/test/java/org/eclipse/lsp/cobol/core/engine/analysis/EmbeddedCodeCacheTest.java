@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.message.LocaleStore;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.eclipse.lsp.cobol.common.copybook.SQLBackend.DATACOM_SERVER;
+import static org.eclipse.lsp.cobol.common.copybook.SQLBackend.DB2_SERVER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** Test for {@link EmbeddedCodeCache} */
+class EmbeddedCodeCacheTest {
+  private static final String TEXT = "HOLD LOCATOR :LOCRES";
+  private static final String RULE = "SQL:procedureDivisionRules";
+
+  private final LocaleStore localeStore = mock(LocaleStore.class);
+  private final AnalysisMetrics analysisMetrics = new AnalysisMetrics();
+
+  @Test
+  void testSameBlockIsParsedOnce() {
+    EmbeddedCodeCache cache = new EmbeddedCodeCache(localeStore, analysisMetrics, 1000);
+    Supplier<EmbeddedCodeTemplate> parser = parser();
+
+    EmbeddedCodeTemplate first = cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+    EmbeddedCodeTemplate second = cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+
+    assertSame(first, second);
+    verify(parser).get();
+    assertEquals(1, analysisMetrics.snapshot().getCounters().get("EMBEDDED_CODE_CACHE_HITS"));
+    assertEquals(1, analysisMetrics.snapshot().getCounters().get("EMBEDDED_CODE_CACHE_MISSES"));
+    assertEquals(1, analysisMetrics.snapshot().getGauges().get("EMBEDDED_CODE_CACHE_SIZE"));
+  }
+
+  @Test
+  void testRuleAndBackendArePartsOfKey() {
+    EmbeddedCodeCache cache = new EmbeddedCodeCache(localeStore, analysisMetrics, 1000);
+    Supplier<EmbeddedCodeTemplate> parser = parser();
+
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DATACOM_SERVER), parser);
+    cache.get(EmbeddedCodeCache.key(TEXT, "SQL:dataDivisionRules", DB2_SERVER), parser);
+    cache.get(EmbeddedCodeCache.key(TEXT + " ", RULE, DB2_SERVER), parser);
+
+    verify(parser, times(4)).get();
+  }
+
+  @Test
+  void testBlocksOverWeightAreNotKept() {
+    EmbeddedCodeCache cache = new EmbeddedCodeCache(localeStore, analysisMetrics, TEXT.length() - 1);
+    Supplier<EmbeddedCodeTemplate> parser = parser();
+
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+
+    verify(parser, times(2)).get();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testCacheIsDroppedOnLocaleChange() {
+    ArgumentCaptor<Consumer<Locale>> subscriber = ArgumentCaptor.forClass(Consumer.class);
+    EmbeddedCodeCache cache = new EmbeddedCodeCache(localeStore, analysisMetrics, 1000);
+    verify(localeStore).subscribeToLocaleChange(subscriber.capture());
+    Supplier<EmbeddedCodeTemplate> parser = parser();
+
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+    subscriber.getValue().accept(Locale.FRENCH);
+    cache.get(EmbeddedCodeCache.key(TEXT, RULE, DB2_SERVER), parser);
+
+    verify(parser, times(2)).get();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Supplier<EmbeddedCodeTemplate> parser() {
+    Supplier<EmbeddedCodeTemplate> parser = mock(Supplier.class);
+    when(parser.get()).thenReturn(new EmbeddedCodeTemplate(ImmutableList.of(), ImmutableList.of()));
+    return parser;
+  }
+}
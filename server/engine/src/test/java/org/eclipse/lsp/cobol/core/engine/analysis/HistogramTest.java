@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.core.model.extendedapi.TimerMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test for {@link Histogram} */
+class HistogramTest {
+
+  @Test
+  void testSnapshot() {
+    Histogram histogram = new Histogram();
+    for (int i = 0; i < 98; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(200));
+    }
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    histogram.record(TimeUnit.SECONDS.toNanos(20));
+
+    TimerMetrics metrics = histogram.snapshot();
+    assertEquals(100, metrics.getCount());
+    assertEquals(20022.6, metrics.getTotalMs(), 0.001);
+    assertEquals(200.226, metrics.getMeanMs(), 0.001);
+    assertEquals(20000, metrics.getMaxMs());
+    assertEquals(0.25, metrics.getP50Ms());
+    assertEquals(0.25, metrics.getP90Ms());
+    assertEquals(5, metrics.getP99Ms());
+    assertEquals(ImmutableMap.of("0.25", 98L, "5.0", 1L, "+Inf", 1L), metrics.getHistogram());
+  }
+
+  @Test
+  void testEmptySnapshot() {
+    TimerMetrics metrics = new Histogram().snapshot();
+    assertEquals(0, metrics.getCount());
+    assertEquals(0, metrics.getMeanMs());
+    assertEquals(0, metrics.getP99Ms());
+    assertEquals(ImmutableMap.of(), metrics.getHistogram());
+  }
+}
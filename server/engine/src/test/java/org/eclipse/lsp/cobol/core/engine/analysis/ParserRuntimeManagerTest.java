@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.analysis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.eclipse.lsp.cobol.common.dialects.ParserRuntime;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link ParserRuntimeManager}. The warm-up runs on the calling thread, so its results can
+ * be checked right after the call.
+ */
+class ParserRuntimeManagerTest {
+  private final DialectService dialectService = mock(DialectService.class);
+  private final CustomThreadPoolExecutor executors = mock(CustomThreadPoolExecutor.class);
+  private final ParserRuntime dialectRuntime = mock(ParserRuntime.class);
+  private final AnalysisMetrics analysisMetrics = new AnalysisMetrics();
+
+  @BeforeEach
+  void init() {
+    when(executors.getThreadPoolExecutor()).thenReturn(MoreExecutors.newDirectExecutorService());
+    when(dialectService.getParserRuntimes()).thenReturn(ImmutableList.of(dialectRuntime));
+  }
+
+  @Test
+  void testWarmUp() {
+    ParserRuntimeManager manager = createManager(0);
+    assertFalse(manager.isWarm());
+
+    manager.warmUpInBackground();
+
+    assertTrue(manager.isWarm());
+    assertTrue(manager.getCacheSize() > 0);
+    verify(dialectRuntime).warmUp();
+    assertEquals(1, analysisMetrics.snapshot().getTimers().get("PARSER_WARM_UP").getCount());
+    assertEquals(manager.getCacheSize(), analysisMetrics.snapshot().getGauges().get("PARSER_CACHE_STATES"));
+  }
+
+  @Test
+  void testCachesAreClearedOverLimit() {
+    ParserRuntimeManager manager = createManager(1);
+    manager.warmUpInBackground();
+
+    manager.checkCacheSize();
+
+    verify(dialectRuntime).clearCache();
+    verify(dialectRuntime, times(2)).warmUp();
+    assertTrue(manager.isWarm());
+    assertEquals(1, analysisMetrics.snapshot().getCounters().get("PARSER_CACHE_CLEARS"));
+  }
+
+  @Test
+  void testCachesAreKeptWhenLimitDisabled() {
+    ParserRuntimeManager manager = createManager(0);
+    manager.warmUpInBackground();
+
+    manager.checkCacheSize();
+
+    verify(dialectRuntime, never()).clearCache();
+    assertEquals(0, analysisMetrics.snapshot().getCounters().get("PARSER_CACHE_CLEARS"));
+  }
+
+  @Test
+  void testFailedWarmUpOfDialectDoesNotStopOthers() {
+    doThrow(new IllegalStateException("broken grammar")).when(dialectRuntime).warmUp();
+    ParserRuntimeManager manager = createManager(0);
+
+    manager.warmUpInBackground();
+
+    assertTrue(manager.isWarm());
+    assertTrue(manager.getCacheSize() > 0);
+  }
+
+  private ParserRuntimeManager createManager(int maxStates) {
+    return new ParserRuntimeManager(
+        dialectService, mock(MessageService.class), analysisMetrics, executors, maxStates);
+  }
+}
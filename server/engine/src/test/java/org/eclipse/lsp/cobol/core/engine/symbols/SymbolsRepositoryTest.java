@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.symbols;
+
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Tests {@link SymbolsRepository} */
+class SymbolsRepositoryTest {
+  private static final String DOCUMENT_URI = "file:///c:/workspace/document.cbl";
+  private static final String DOCUMENT_2_URI = "file:///c:/workspace/document2.cbl";
+
+  @Test
+  void testSymbolsReplacedOnReanalysis() {
+    SymbolsRepository repository = new SymbolsRepository();
+    repository.updateSymbols(
+        DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable(), "PROG2", new SymbolTable()));
+    repository.updateSymbols(DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable()));
+
+    assertEquals(new SymbolsRepository.Usage(1, 1, 0, 0), repository.getUsage());
+  }
+
+  @Test
+  void testSymbolsRemovedOnReset() {
+    SymbolsRepository repository = new SymbolsRepository();
+    repository.updateSymbols(DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable()));
+    repository.updateSymbols(DOCUMENT_2_URI, ImmutableMap.of("PROG2", new SymbolTable()));
+    repository.reset(DOCUMENT_URI);
+
+    assertEquals(new SymbolsRepository.Usage(1, 1, 0, 0), repository.getUsage());
+  }
+
+  @Test
+  void testLeastRecentlyUsedSymbolsEvicted() {
+    SymbolsRepository repository = new SymbolsRepository(2);
+    repository.updateSymbols(
+        DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable(), "PROG2", new SymbolTable()));
+    repository.updateSymbols(DOCUMENT_2_URI, ImmutableMap.of("PROG3", new SymbolTable()));
+
+    assertEquals(new SymbolsRepository.Usage(2, 2, 0, 0), repository.getUsage());
+  }
+
+  @Test
+  void testDocumentRemovedWhenAllItsSymbolsEvicted() {
+    SymbolsRepository repository = new SymbolsRepository(1);
+    repository.updateSymbols(DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable()));
+    repository.updateSymbols(DOCUMENT_2_URI, ImmutableMap.of("PROG2", new SymbolTable()));
+
+    assertEquals(new SymbolsRepository.Usage(1, 1, 0, 0), repository.getUsage());
+  }
+
+  @Test
+  void testSymbolsOfSameProgramKeptByLastAnalysedDocument() {
+    SymbolsRepository repository = new SymbolsRepository();
+    repository.updateSymbols(DOCUMENT_URI, ImmutableMap.of("PROG1", new SymbolTable()));
+    repository.updateSymbols(DOCUMENT_2_URI, ImmutableMap.of("PROG1", new SymbolTable()));
+
+    repository.updateSymbols(DOCUMENT_URI, ImmutableMap.of("PROG2", new SymbolTable()));
+    assertEquals(new SymbolsRepository.Usage(2, 2, 0, 0), repository.getUsage());
+
+    repository.reset(DOCUMENT_URI);
+    assertEquals(new SymbolsRepository.Usage(1, 1, 0, 0), repository.getUsage());
+    repository.reset(DOCUMENT_2_URI);
+    assertEquals(new SymbolsRepository.Usage(0, 0, 0, 0), repository.getUsage());
+  }
+}
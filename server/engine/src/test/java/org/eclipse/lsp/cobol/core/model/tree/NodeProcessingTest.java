@@ -216,6 +216,33 @@ class NodeProcessingTest {
     assertEquals(ImmutableList.of(ERROR_2), errors);
   }
 
+  @Test
+  void testDispatchTableSharedBetweenContexts() {
+    /** Do processing in one step and return the error of the context */
+    class ErrorNode extends Node {
+      ErrorNode() {
+        super(null, NodeType.ROOT);
+      }
+    }
+
+    ErrorNode node = new ErrorNode();
+    node.addChild(new ErrorNode());
+    AstProcessor astProcessor = new AstProcessor();
+    ProcessingContext first = new ProcessingContext(new ArrayList<>(), new SymbolAccumulatorService(), ImmutableMap.of());
+    first.register(
+        new ProcessorDescription(
+            ErrorNode.class, ProcessingPhase.VALIDATION, (n, c) -> c.getErrors().add(ERROR_1)));
+    ProcessingContext second = new ProcessingContext(new ArrayList<>(), new SymbolAccumulatorService(), ImmutableMap.of());
+    second.register(
+        new ProcessorDescription(
+            ErrorNode.class, ProcessingPhase.VALIDATION, (n, c) -> c.getErrors().add(ERROR_2)));
+
+    astProcessor.process(ProcessingPhase.VALIDATION, node, first);
+    astProcessor.process(ProcessingPhase.VALIDATION, node, second);
+    assertEquals(ImmutableList.of(ERROR_1, ERROR_1), first.getErrors());
+    assertEquals(ImmutableList.of(ERROR_2, ERROR_2), second.getErrors());
+  }
+
   private static SyntaxError getError(String message) {
     return SyntaxError.syntaxError().messageTemplate(MessageTemplate.of(message)).build();
   }
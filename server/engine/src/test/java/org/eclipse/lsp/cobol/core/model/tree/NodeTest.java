@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.core.model.tree;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
@@ -24,6 +25,8 @@ import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableDefinitionNode;
 import org.eclipse.lsp.cobol.common.model.SectionType;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -87,4 +90,77 @@ class NodeTest {
     assertTrue(rootFromSection.isPresent());
     assertEquals(rootNode, rootFromSection.get());
   }
+
+  @Test
+  void getDepthFirstStreamByClass() {
+    Node rootNode = new RootNode(LOCALITY, ImmutableMultimap.of());
+    Node program = new ProgramNode(LOCALITY);
+    Node section = section(1);
+    Node copy = new CopyNode(LOCALITY, "CPY");
+    rootNode.addChild(program);
+    program.addChild(section);
+    section.addChild(copy);
+
+    assertEquals(ImmutableList.of(copy), rootNode.getDepthFirstStream(CopyNode.class).collect(Collectors.toList()));
+    assertEquals(ImmutableList.of(program), rootNode.getDepthFirstStream(ProgramNode.class).collect(Collectors.toList()));
+  }
+
+  @Test
+  void getDepthFirstStreamOfDeepTree() {
+    Node rootNode = section(0);
+    Node current = rootNode;
+    for (int i = 1; i < 100_000; i++) {
+      Node child = section(i);
+      current.addChild(child);
+      current = child;
+    }
+    assertEquals(100_000, rootNode.getDepthFirstStream().count());
+  }
+
+  @Test
+  void childrenAreSnapshots() {
+    Node rootNode = section(0);
+    Node first = section(1);
+    Node second = section(2);
+    rootNode.addChild(first);
+    List<Node> children = rootNode.getChildren();
+    rootNode.addChild(second);
+    assertTrue(rootNode.removeChild(first));
+
+    assertEquals(ImmutableList.of(first), children);
+    assertEquals(ImmutableList.of(second), rootNode.getChildren());
+    assertFalse(rootNode.removeChild(first));
+    assertThrows(UnsupportedOperationException.class, () -> children.add(second));
+  }
+
+  @Test
+  void removeChildren() {
+    Node rootNode = section(0);
+    Node copy = new CopyNode(LOCALITY, "CPY");
+    Node section = section(1);
+    rootNode.addChild(copy);
+    rootNode.addChild(section);
+
+    assertEquals(ImmutableList.of(copy), rootNode.removeChildren(Node.hasType(NodeType.COPY)));
+    assertEquals(ImmutableList.of(section), rootNode.getChildren());
+  }
+
+  @Test
+  void frozenTree() {
+    Node rootNode = section(0);
+    Node child = section(1);
+    rootNode.addChild(child);
+
+    assertEquals(2, rootNode.freeze());
+    assertEquals(ImmutableList.of(child), rootNode.getChildren());
+    assertThrows(IllegalStateException.class, () -> rootNode.addChild(section(2)));
+    assertThrows(IllegalStateException.class, () -> child.addChild(section(2)));
+    assertThrows(IllegalStateException.class, () -> rootNode.removeChild(child));
+  }
+
+  private static Node section(int line) {
+    return new SectionNode(
+        Locality.builder().range(new Range(new Position(line, 0), new Position(line, 5))).build(),
+        SectionType.WORKING_STORAGE);
+  }
 }
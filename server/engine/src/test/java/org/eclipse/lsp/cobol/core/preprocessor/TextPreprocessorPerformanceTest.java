@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor;
+
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.mapping.TextTransformations;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReaderImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.rewriter.CobolLineIndicatorProcessorImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.transformer.ContinuationLineTransformation;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriterImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * This test measures the throughput of the text cleaning up on a synthetic fixed format source of
+ * several megabytes with sequence numbers, comments, floating comments, continuation lines and
+ * compiler directives. The result outputs to the console in the form "CLEANUP 4000000 100 40" where
+ * "4000000" is the length of the source in chars, "100" is the average time of one run and "40" is
+ * the throughput in megabytes per second. Disabled by default, to enable provide
+ * <code>-Dtests.perf=true</code> as a system property for the run configuration.
+ */
+class TextPreprocessorPerformanceTest {
+  private static final int LINES = 50000;
+  private static final int WARM_UP_RUNS = 5;
+  private static final int RUNS = 10;
+
+  @Test
+  @EnabledIfSystemProperty(named = "tests.perf", matches = "true")
+  void performanceTest() {
+    MessageService messageService = mock(MessageService.class);
+    TextPreprocessorImpl preprocessor =
+        new TextPreprocessorImpl(
+            new CobolLineReaderImpl(messageService),
+            new CobolLineWriterImpl(),
+            new ContinuationLineTransformation(messageService),
+            new CobolLineIndicatorProcessorImpl());
+    String text = generateSource();
+
+    for (int i = 0; i < WARM_UP_RUNS; i++) {
+      preprocessor.cleanUpCode("PERFTEST.cbl", text);
+    }
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < RUNS; i++) {
+      ResultWithErrors<TextTransformations> result = preprocessor.cleanUpCode("PERFTEST.cbl", text);
+      assertEquals(0, result.getErrors().size(), result.getErrors().toString());
+    }
+    long average = Math.max(1, (System.currentTimeMillis() - start) / RUNS);
+
+    System.out.printf(
+        "CLEANUP %d %d %d\n", text.length(), average, text.length() * 1000L / average / 1024 / 1024);
+  }
+
+  private static String generateSource() {
+    StringBuilder text =
+        new StringBuilder()
+            .append("       CBL XOPTS(SP)\n")
+            .append("000010 IDENTIFICATION DIVISION.                                         PERFTEST\n")
+            .append("000020 PROGRAM-ID. PERFTEST.                                            PERFTEST\n")
+            .append("000030 DATA DIVISION.                                                   PERFTEST\n")
+            .append("000040 WORKING-STORAGE SECTION.                                         PERFTEST\n");
+    for (int line = 0; line < LINES / 4; line++) {
+      text.append(String.format("%06d* COMMENT LINE %-50d PERFTEST\n", line, line))
+          .append(String.format("%06d 01 VAR%-10d PIC X(80) VALUE 'LONG LITERAL CONTINUED ON  PERFTEST\n", line, line))
+          .append(String.format("%06d-    'THE NEXT LINE'.                                            PERFTEST\n", line))
+          .append(String.format("%06d 01 ITEM%-10d PIC 9(4). *> FLOATING COMMENT              PERFTEST\n", line, line));
+    }
+    return text.toString();
+  }
+}
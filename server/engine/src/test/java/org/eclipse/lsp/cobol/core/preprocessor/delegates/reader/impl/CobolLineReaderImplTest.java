@@ -18,6 +18,7 @@ import com.google.common.collect.Lists;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.core.AbstractCobolLinePreprocessorTest;
+import org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum;
 import org.eclipse.lsp.cobol.core.preprocessor.CobolLine;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -130,6 +131,37 @@ class CobolLineReaderImplTest extends AbstractCobolLinePreprocessorTest {
     assertThat(error.getLocation().getLocation().getRange().getStart().getCharacter(), is(80));
   }
 
+  /** All the line separators should split the lines, and "\r\n" should be one separator. */
+  @Test
+  void testLineSeparators() {
+    ResultWithErrors<List<CobolLine>> processed = processText("000010 A.\r\n000020 B.\r000030 C.\n\n");
+
+    assertThat(processed.getResult(), hasSize(4));
+    assertThat(processed.getResult().get(0), hasToString("000010 A."));
+    assertThat(processed.getResult().get(1), hasToString("000020 B."));
+    assertThat(processed.getResult().get(2), hasToString("000030 C."));
+    assertThat(processed.getResult().get(3), hasToString(""));
+    assertThat(processed.getResult().get(3).getPredecessor(), is(processed.getResult().get(2)));
+  }
+
+  /**
+   * The compiler directives may start after the sequence area or after whitespaces, and the whole
+   * directives text should be kept in the content area.
+   */
+  @Test
+  void testCompilerDirectives() {
+    ResultWithErrors<List<CobolLine>> processed =
+        processText("000010 cbl XOPTS(SP)\n\t PROCESS LIST\nCBL\n      *CBL XOPTS(SP)");
+
+    assertThat(processed.getResult().get(0).getType(), is(CobolLineTypeEnum.PREPROCESSED));
+    assertThat(processed.getResult().get(0).getContentArea(), is("       cbl XOPTS(SP)"));
+    assertThat(processed.getResult().get(1).getType(), is(CobolLineTypeEnum.PREPROCESSED));
+    assertThat(processed.getResult().get(1).getContentArea(), is("  PROCESS LIST"));
+    assertThat(processed.getResult().get(2).getType(), is(CobolLineTypeEnum.NORMAL));
+    assertThat(processed.getResult().get(3).getType(), is(CobolLineTypeEnum.COMMENT));
+    assertThat(processed.getErrors(), hasSize(0));
+  }
+
   // END @Test methods
 
   private List<String> createTextToTest() {
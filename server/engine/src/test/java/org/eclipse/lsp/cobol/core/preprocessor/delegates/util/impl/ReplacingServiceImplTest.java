@@ -60,6 +60,34 @@ class ReplacingServiceImplTest {
     assertEquals("01 ABC.", dm2.extendedText());
   }
 
+  /**
+   * Test the service applies the patterns one by one, so a pattern matches the text produced by the
+   * previous ones. Here: "A C" becomes "B C" and then "D".
+   */
+  @Test
+  void testApplyReplacingChainedPatterns() {
+    ReplacingService replacingService = new ReplacingServiceImpl(messageService);
+    DocumentMap documentMap = new DocumentMap(TextTransformations.of("01 A C.\n", ""));
+    replacingService.applyReplacing(documentMap, new ReplaceData(ImmutableList.of(
+            Pair.of("(?<=[\\.\\s\\r\\n])A(?=[\\.\\s\\r\\n])", "B"),
+            Pair.of("(?<=[\\.\\s\\r\\n])B\\s+C(?=[\\.\\s\\r\\n])", "D")), "", new Range()));
+    assertEquals("01 D.\n", documentMap.extendedText());
+  }
+
+  /**
+   * Test the earlier pattern wins when the patterns overlap, even if the later one matches further
+   * left. Here: "B C" is replaced first, so "A B" no longer matches.
+   */
+  @Test
+  void testApplyReplacingOverlappingPatterns() {
+    ReplacingService replacingService = new ReplacingServiceImpl(messageService);
+    DocumentMap documentMap = new DocumentMap(TextTransformations.of("01 A B C.\n", ""));
+    replacingService.applyReplacing(documentMap, new ReplaceData(ImmutableList.of(
+            Pair.of("(?<=[\\.\\s\\r\\n])B\\s+C(?=[\\.\\s\\r\\n])", "X"),
+            Pair.of("(?<=[\\.\\s\\r\\n])A\\s+B(?=[\\.\\s\\r\\n])", "Y")), "", new Range()));
+    assertEquals("01 A X.\n", documentMap.extendedText());
+  }
+
   /**
    * Test the way service retrieves the replacing pattern from the pseudo text. It should remove all
    * the equals chars and provide a trimmed regex that matches expected token sequence ignoring the
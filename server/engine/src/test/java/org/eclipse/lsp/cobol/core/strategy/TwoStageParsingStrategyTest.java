@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import org.antlr.v4.runtime.*;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.*;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test that {@link TwoStageParsingStrategy} builds the same trees and reports the same errors as
+ * the parsing in the LL mode only, for both the valid and the invalid sources
+ */
+class TwoStageParsingStrategyTest {
+  private static final String COBOL_PROGRAM =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 CNT PIC 9(4).\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           MOVE 1 TO CNT.\n"
+          + "           IF CNT > 0\n"
+          + "              DISPLAY CNT\n"
+          + "           END-IF.\n"
+          + "           GOBACK.\n";
+  private static final String COBOL_PROGRAM_WITH_ERRORS =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           MOVE 1 TO .\n"
+          + "           IF THEN DISPLAY.\n"
+          + "           GOBACK.\n";
+  private static final String SQL_SAVEPOINT = "SAVEPOINT %s ON ROLLBACK RETAIN CURSORS";
+  private static final String LONG_NAME = String.join("", Collections.nCopies(130, "A"));
+  private static final String SQL_WITH_ERRORS = "SELECT FROM WHERE";
+  private static final String CICS_COMMAND = "RETURN";
+  private static final String CICS_WITH_ERRORS = "RETURN TRANSID(";
+
+  private final MessageService messageService =
+      mock(
+          MessageService.class,
+          invocation ->
+              invocation.getArguments().length == 0 ? null : String.valueOf(invocation.getArguments()[0]));
+
+  static Stream<Arguments> sources() {
+    return Stream.of(
+        Arguments.of("COBOL", COBOL_PROGRAM),
+        Arguments.of("COBOL", COBOL_PROGRAM_WITH_ERRORS),
+        Arguments.of("SQL", String.format(SQL_SAVEPOINT, "SP1")),
+        Arguments.of("SQL", String.format(SQL_SAVEPOINT, LONG_NAME)),
+        Arguments.of("SQL", SQL_WITH_ERRORS),
+        Arguments.of("CICS", CICS_COMMAND),
+        Arguments.of("CICS", CICS_WITH_ERRORS));
+  }
+
+  @ParameterizedTest
+  @MethodSource("sources")
+  void testTwoStageParsingIsEquivalentToLL(String language, String text) {
+    ParseResult expected = parse(language, text, false, new AnalysisMetrics());
+    ParseResult actual = parse(language, text, true, new AnalysisMetrics());
+
+    assertEquals(expected.tree, actual.tree);
+    assertEquals(expected.errors, actual.errors);
+  }
+
+  @Test
+  void testFallbackToLLOnSyntaxError() {
+    AnalysisMetrics metrics = new AnalysisMetrics();
+    ParseResult result = parse("COBOL", COBOL_PROGRAM_WITH_ERRORS, true, metrics);
+
+    assertFalse(result.errors.isEmpty());
+    Map<String, Long> counters = metrics.snapshot().getCounters();
+    assertEquals(0, counters.get("SLL_PARSES"));
+    assertEquals(1, counters.get("LL_PARSES"));
+  }
+
+  @Test
+  void testActionErrorsReportedOnceInSLL() {
+    AnalysisMetrics metrics = new AnalysisMetrics();
+    ParseResult result = parse("SQL", String.format(SQL_SAVEPOINT, LONG_NAME), true, metrics);
+
+    assertEquals(1, result.errors.size());
+    Map<String, Long> counters = metrics.snapshot().getCounters();
+    assertEquals(1, counters.get("SLL_PARSES"));
+    assertEquals(0, counters.get("LL_PARSES"));
+  }
+
+  private ParseResult parse(String language, String text, boolean twoStage, AnalysisMetrics metrics) {
+    TwoStageParsingStrategy strategy = new TwoStageParsingStrategy(messageService, metrics, twoStage);
+    RecordingErrorListener listener = new RecordingErrorListener();
+    switch (language) {
+      case "COBOL":
+        return run(strategy, listener, new CobolParser(tokens(new CobolLexer(CharStreams.fromString(text)))),
+            CobolParser::startRule);
+      case "SQL":
+        return run(strategy, listener, new Db2SqlParser(tokens(new Db2SqlLexer(CharStreams.fromString(text)))),
+            Db2SqlParser::procedureDivisionRules);
+      default:
+        return run(strategy, listener, new CICSParser(tokens(new CICSLexer(CharStreams.fromString(text)))),
+            CICSParser::allCicsRules);
+    }
+  }
+
+  private static CommonTokenStream tokens(Lexer lexer) {
+    lexer.removeErrorListeners();
+    return new CommonTokenStream(lexer);
+  }
+
+  private static <P extends Parser> ParseResult run(
+      TwoStageParsingStrategy strategy,
+      RecordingErrorListener listener,
+      P parser,
+      Function<P, ParserRuleContext> startRule) {
+    ParserRuleContext tree = strategy.parse(parser, listener, startRule);
+    return new ParseResult(tree.toStringTree(parser), listener.errors);
+  }
+
+  /** The parse tree in the LISP format and the reported errors */
+  private static final class ParseResult {
+    private final String tree;
+    private final List<String> errors;
+
+    ParseResult(String tree, List<String> errors) {
+      this.tree = tree;
+      this.errors = errors;
+    }
+  }
+
+  /** The error listener keeping the positions and the messages of the errors */
+  private static final class RecordingErrorListener extends BaseErrorListener {
+    private final List<String> errors = new ArrayList<>();
+
+    @Override
+    public void syntaxError(
+        Recognizer<?, ?> recognizer,
+        Object offendingSymbol,
+        int line,
+        int charPositionInLine,
+        String msg,
+        RecognitionException e) {
+      errors.add(line + ":" + charPositionInLine + " " + msg);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.positive;
+
+import org.eclipse.lsp.cobol.test.engine.UseCase;
+import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This test measures the time that the Language Engine needs to analyze a synthetic program with
+ * 1000 paragraphs in 10 sections and 50000 PERFORM statements, so the resolution of code block
+ * usages dominates. The result outputs to the console in the form "PERFORM 50000 10" where "10" is
+ * the analysis time. Disabled by default, to enable provide <code>-Dtests.perf=true</code> as a
+ * system property for the run configuration.
+ */
+class CodeBlockUsagePerformanceTest {
+  private static final int SECTIONS = 10;
+  private static final int PARAGRAPHS_PER_SECTION = 100;
+  private static final int PERFORMS_PER_PARAGRAPH = 50;
+
+  @Test
+  @EnabledIfSystemProperty(named = "tests.perf", matches = "true")
+  void performanceTest() {
+    String text = generateProgram();
+
+    long start = System.currentTimeMillis();
+    List<Diagnostic> result =
+        UseCaseUtils.analyzeForErrors(
+            UseCase.builder().documentUri("PERFTEST.cbl").text(text).build());
+    long stop = System.currentTimeMillis();
+
+    assertEquals(0, result.size(), result.toString());
+    System.out.printf(
+        "PERFORM %d %d\n",
+        SECTIONS * PARAGRAPHS_PER_SECTION * PERFORMS_PER_PARAGRAPH, stop - start);
+  }
+
+  private static String generateProgram() {
+    StringBuilder text =
+        new StringBuilder()
+            .append("       IDENTIFICATION DIVISION.\n")
+            .append("       PROGRAM-ID. PERFTEST.\n")
+            .append("       PROCEDURE DIVISION.\n");
+    for (int section = 0; section < SECTIONS; section++) {
+      text.append(String.format("       SECT%d SECTION.\n", section));
+      for (int paragraph = 0; paragraph < PARAGRAPHS_PER_SECTION; paragraph++) {
+        text.append(String.format("       PARA%d-%d.\n", section, paragraph));
+        for (int perform = 0; perform < PERFORMS_PER_PARAGRAPH; perform++) {
+          int target = (paragraph + perform) % PARAGRAPHS_PER_SECTION;
+          text.append(String.format("           PERFORM PARA%d-%d.\n", section, target));
+        }
+      }
+    }
+    return text.append("           GOBACK.\n").toString();
+  }
+}
@@ -344,7 +344,7 @@ public class PositiveTestUtility {
       Multimap<String, CodeBlockReference> paragraphDefFromLSPEngine,
       Multimap<String, Node> programDefinitionFromLSPEngine) {
       SymbolsRepository repo = new SymbolsRepository();
-      repo.updateSymbols(symbolTableMap);
+      repo.updateSymbols("", symbolTableMap);
     rootNode
         .getDepthFirstStream()
         .filter(node -> node.getNodeType() == NodeType.PROGRAM)
@@ -36,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 /** Test to check CachingConfigurationServiceTest */
@@ -155,4 +156,51 @@ class CachingConfigurationServiceTest {
             ImmutableMap.of("dialect", dialectsSettings)),
         configuration.getConfig(CopybookProcessingMode.DISABLED));
   }
+
+  @Test
+  void testConfigurationCachedUntilInvalidated() {
+    SettingsService settingsService = spy(SettingsService.class);
+    when(settingsService.fetchConfigurations(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+    DialectService dialectService = mock(DialectService.class);
+    when(dialectService.getSettingsSections()).thenReturn(ImmutableList.of("dialect"));
+
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+
+    AnalysisConfig config = configuration.getConfig(CopybookProcessingMode.ENABLED);
+    assertSame(config, configuration.getConfig(CopybookProcessingMode.ENABLED));
+    assertEquals(CopybookProcessingMode.DISABLED,
+        configuration.getConfig(CopybookProcessingMode.DISABLED).getCopybookConfig().getCopybookProcessingMode());
+    assertEquals(ImmutableList.of(), configuration.getSubroutineDirectories());
+    verify(settingsService, times(1)).fetchConfigurations(anyList());
+
+    configuration.invalidateCache();
+    configuration.getConfig(CopybookProcessingMode.ENABLED);
+    verify(settingsService, times(2)).fetchConfigurations(anyList());
+
+    when(dialectService.getSettingsSections()).thenReturn(ImmutableList.of("dialect", "another"));
+    configuration.getConfig(CopybookProcessingMode.ENABLED);
+    verify(settingsService, times(3)).fetchConfigurations(anyList());
+  }
+
+  @Test
+  void testFailedFetchNotCached() {
+    SettingsService settingsService = spy(SettingsService.class);
+    CompletableFuture<List<Object>> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException("Client is not available"));
+    when(settingsService.fetchConfigurations(anyList()))
+        .thenReturn(failed)
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    DialectService dialectService = mock(DialectService.class);
+    when(dialectService.getSettingsSections()).thenReturn(ImmutableList.of());
+
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+
+    assertEquals(AnalysisConfig.defaultConfig(CopybookProcessingMode.ENABLED),
+        configuration.getConfig(CopybookProcessingMode.ENABLED));
+    configuration.getConfig(CopybookProcessingMode.ENABLED);
+    configuration.getConfig(CopybookProcessingMode.ENABLED);
+    verify(settingsService, times(2)).fetchConfigurations(anyList());
+  }
 }
@@ -21,6 +21,7 @@ import com.google.gson.JsonPrimitive;
 import org.eclipse.lsp.cobol.common.error.ErrorCode;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.analysis.ParserRuntimeManager;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
@@ -98,6 +99,7 @@ class CobolLanguageServerTest {
     ConfigurationService configurationService = mock(ConfigurationService.class);
     CopybookNameService copybookNameService = mock(CopybookNameService.class);
     MessageService messageService = mock(MessageService.class);
+    ParserRuntimeManager parserRuntimeManager = mock(ParserRuntimeManager.class);
     Keywords keywords = mock(Keywords.class);
 
     DialectService dialectService = mock(DialectService.class);
@@ -119,11 +121,13 @@ class CobolLanguageServerTest {
             copybookNameService,
             keywords,
             dialectService,
-            messageService);
+            messageService,
+            parserRuntimeManager);
 
     server.initialized(new InitializedParams());
 
     verify(watchingService).watchConfigurationChange();
+    verify(parserRuntimeManager).warmUpInBackground();
     verify(watchingService).watchPredefinedFolder();
     verify(settingsService).fetchConfiguration(CPY_LOCAL_PATHS.label);
     verify(settingsService).fetchConfiguration(LOCALE.label);
@@ -163,6 +167,7 @@ class CobolLanguageServerTest {
     Keywords keywords = mock(Keywords.class);
     CobolTextDocumentService textService = mock(CobolTextDocumentService.class);
     MessageService messageService = mock(MessageService.class);
+    ParserRuntimeManager parserRuntimeManager = mock(ParserRuntimeManager.class);
 
     DialectService dialectService = mock(DialectService.class);
     when(dialectService.getSettingsSections()).thenReturn(ImmutableList.of("daco"));
@@ -184,7 +189,8 @@ class CobolLanguageServerTest {
             copybookNameService,
             keywords,
             dialectService,
-            messageService);
+            messageService,
+            parserRuntimeManager);
 
     server.initialized(new InitializedParams());
     verify(textService, times(1)).notifyExtensionConfig(any());
@@ -210,6 +216,7 @@ class CobolLanguageServerTest {
             null,
             null,
             null,
+            null,
             null);
     InitializeParams initializeParams = getInitializeParams();
 
@@ -266,6 +273,7 @@ class CobolLanguageServerTest {
             null,
             null,
             null,
+            null,
             null);
     assertEquals(1, stateService.getExitCode());
     server.shutdown();
@@ -273,7 +281,7 @@ class CobolLanguageServerTest {
   }
 
   private void checkOnlySupportedCapabilitiesAreSet(ServerCapabilities capabilities) {
-    assertEquals(TextDocumentSyncKind.Full, capabilities.getTextDocumentSync().getLeft());
+    assertEquals(TextDocumentSyncKind.Incremental, capabilities.getTextDocumentSync().getLeft());
     assertTrue(capabilities.getWorkspace().getWorkspaceFolders().getSupported());
     assertTrue(capabilities.getDefinitionProvider().getLeft());
     assertTrue(capabilities.getReferencesProvider().getLeft());
@@ -17,12 +17,15 @@ package org.eclipse.lsp.cobol.service;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import org.awaitility.Awaitility;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.CopyDefinition;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
@@ -124,6 +127,52 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
     verify(communications).publishDiagnostics(anyMap());
   }
 
+  @Test
+  void testIncrementalDidChange() {
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    when(engine.analyze(anyString(), anyString(), any(AnalysisConfig.class)))
+        .thenReturn(AnalysisResult.builder().build());
+    when(configurationService.getConfig(any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    service.notifyExtensionConfig(ImmutableList.of());
+    openDocument(service);
+
+    service.didChange(
+        new DidChangeTextDocumentParams(
+            new VersionedTextDocumentIdentifier(DOCUMENT_URI, 2),
+            ImmutableList.of(
+                new TextDocumentContentChangeEvent(
+                    new Range(new Position(0, 30), new Position(0, 30)), 0, "s"))));
+    waitFor(service, DOCUMENT_URI);
+
+    assertEquals(INCORRECT_TEXT_EXAMPLE, closeGetter(service).get(DOCUMENT_URI).getText());
+    verify(engine).analyze(DOCUMENT_URI, INCORRECT_TEXT_EXAMPLE, AnalysisConfig.defaultConfig(ENABLED));
+  }
+
+  @Test
+  void testDidChangeOfCommentReusesAnalysisResult() {
+    String text = TEXT_EXAMPLE + "\n      * Comment";
+    AnalysisResult result = AnalysisResult.builder().build();
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    when(engine.analyze(anyString(), anyString(), any(AnalysisConfig.class))).thenReturn(result);
+    when(configurationService.getConfig(any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    service.notifyExtensionConfig(ImmutableList.of());
+    service.didOpen(
+        new DidOpenTextDocumentParams(new TextDocumentItem(DOCUMENT_URI, LANGUAGE, 1, text)));
+    waitFor(service, DOCUMENT_URI);
+
+    service.didChange(
+        new DidChangeTextDocumentParams(
+            new VersionedTextDocumentIdentifier(DOCUMENT_URI, 2),
+            ImmutableList.of(
+                new TextDocumentContentChangeEvent(
+                    new Range(new Position(1, 16), new Position(1, 16)), 0, "s"))));
+
+    CobolDocumentModel document = closeGetter(service).get(DOCUMENT_URI);
+    assertEquals(text + "s", document.getText());
+    assertSame(result, document.getAnalysisResult());
+    verify(engine, times(1)).analyze(anyString(), anyString(), any(AnalysisConfig.class));
+  }
+
   @Test
   void testDidClose() {
     doNothing().when(communications).publishDiagnostics(anyMap());
@@ -139,6 +188,7 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
     DidCloseTextDocumentParams closedDocument = new DidCloseTextDocumentParams(testDocument);
     service.didClose(closedDocument);
     assertEquals(Collections.EMPTY_MAP, closeGetter(service));
+    verify(symbolsRepository).reset(DOCUMENT_URI);
   }
 
   @Test
@@ -423,6 +473,65 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
         DOCUMENT_WITH_ERRORS_URI);
   }
 
+  /**
+   * This test verifies that if {@link RunAnalysisEvent} has the URIs of the changed copybooks, only
+   * the open documents that use them, directly or through the nested copybooks, are analyzed again.
+   */
+  @Test
+  void observerCallbackForChangedCopybook() {
+    when(engine.analyze(anyString(), anyString(), any(AnalysisConfig.class)))
+        .thenReturn(AnalysisResult.builder().build());
+    when(configurationService.getConfig(any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    service.notifyExtensionConfig(ImmutableList.of());
+
+    openDocument(service);
+    service.didOpen(
+        new DidOpenTextDocumentParams(
+            new TextDocumentItem(DOCUMENT_WITH_ERRORS_URI, LANGUAGE, 1, INCORRECT_TEXT_EXAMPLE)));
+    waitFor(service, DOCUMENT_WITH_ERRORS_URI);
+
+    CopybookName parent = new CopybookName("PARENT");
+    CopybookName nested = new CopybookName("NESTED");
+    copybookReferenceRepo.storeCopybookUsageReference(
+        parent,
+        DOCUMENT_URI,
+        new CopybookModel(parent.toCopybookId(DOCUMENT_URI), parent, PARENT_CPY_URI, TEXT_EXAMPLE));
+    copybookReferenceRepo.storeCopybookUsageReference(
+        nested,
+        PARENT_CPY_URI,
+        new CopybookModel(nested.toCopybookId(DOCUMENT_URI), nested, NESTED_CPY_URI, TEXT_EXAMPLE));
+
+    service.onRunAnalysisEventCallback(new RunAnalysisEvent(false, ImmutableSet.of(NESTED_CPY_URI)));
+
+    verify(engine, times(2)).analyze(eq(DOCUMENT_URI), anyString(), any(AnalysisConfig.class));
+    verify(engine, times(1))
+        .analyze(eq(DOCUMENT_WITH_ERRORS_URI), anyString(), any(AnalysisConfig.class));
+  }
+
+  /**
+   * This test verifies that an open document is analyzed again if {@link RunAnalysisEvent} has its
+   * URI decoded, while the client opened it with the encoded one.
+   */
+  @Test
+  void observerCallbackForChangedEncodedDocument() {
+    String encodedUri = "file:///c%3A/workspace/CHANGED%20DOC.cbl";
+    when(engine.analyze(anyString(), anyString(), any(AnalysisConfig.class)))
+        .thenReturn(AnalysisResult.builder().build());
+    when(configurationService.getConfig(any())).thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+    mockSettingServiceForCopybooks(Boolean.FALSE);
+    service.notifyExtensionConfig(ImmutableList.of());
+
+    service.didOpen(
+        new DidOpenTextDocumentParams(new TextDocumentItem(encodedUri, LANGUAGE, 1, TEXT_EXAMPLE)));
+    waitFor(service, encodedUri);
+
+    service.onRunAnalysisEventCallback(
+        new RunAnalysisEvent(false, ImmutableSet.of("file:///c:/workspace/CHANGED DOC.cbl")));
+
+    verify(engine, times(2)).analyze(eq(encodedUri), anyString(), any(AnalysisConfig.class));
+  }
+
   /**
    * Test on the textDocument/codeAction request the {@link CodeActions} delegate called. The
    * specific logic tested in CodeActionsTest, here it is only to verify that the
@@ -14,7 +14,9 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.eclipse.lsp.cobol.common.error.ErrorCode.MISSING_COPYBOOK;
@@ -29,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +53,7 @@ import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.service.settings.SettingsServiceImpl;
 import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
@@ -79,6 +83,7 @@ class WorkspaceServiceTest {
 
   @Test
   void testExecuteCommand() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DataBusBroker broker = mock(DataBusBroker.class);
     CopybookService copybookService = mock(CopybookService.class);
     String copybookName = "COPYBOOK";
@@ -96,7 +101,7 @@ class WorkspaceServiceTest {
             subroutineService,
             stateService,
             copybookNameService,
-            null, messageService);
+            null, messageService, configurationService);
 
     CompletableFuture<Object> result =
         service.executeCommand(
@@ -120,6 +125,7 @@ class WorkspaceServiceTest {
    */
   @Test
   void testExecuteNonExistingCommand() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DataBusBroker broker = mock(DataBusBroker.class);
     CopybookService copybookService = mock(CopybookService.class);
     CopybookNameService copybookNameService = mock(CopybookNameService.class);
@@ -133,7 +139,7 @@ class WorkspaceServiceTest {
             null,
             stateService,
             copybookNameService,
-            null, null);
+            null, null, configurationService);
 
     CompletableFuture<Object> result =
         service.executeCommand(new ExecuteCommandParams("Missing command name", emptyList()));
@@ -149,6 +155,7 @@ class WorkspaceServiceTest {
   /** Test a new watcher created when a new path add in setting.json */
   @Test
   void testChangeConfigurationNewPath() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
     SettingsService settingsService = mock(SettingsServiceImpl.class);
     WatcherService watchingService = mock(WatcherService.class);
@@ -169,7 +176,7 @@ class WorkspaceServiceTest {
             subroutineService,
             stateService,
             copybookNameService,
-                keywords, messageService);
+                keywords, messageService, configurationService);
 
     ArgumentCaptor<List<String>> watcherCaptor = forClass(List.class);
     String path = "foo/bar";
@@ -189,6 +196,7 @@ class WorkspaceServiceTest {
     verify(watchingService).removeWatchers(emptyList());
     verify(copybookService).invalidateCache();
     verify(subroutineService).invalidateCache();
+    verify(configurationService).invalidateCache();
     verify(localeStore).notifyLocaleStore();
 
     assertEquals(path, watcherCaptor.getValue().get(0));
@@ -199,6 +207,7 @@ class WorkspaceServiceTest {
   /** Test no watchers added or removed when the path list not changed */
   @Test
   void testChangeConfigurationNoChangesInPaths() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
     SettingsService settingsService = mock(SettingsService.class);
     WatcherService watchingService = mock(WatcherService.class);
@@ -219,7 +228,7 @@ class WorkspaceServiceTest {
             subroutineService,
             stateService,
             copybookNameService,
-                keywords, messageService);
+                keywords, messageService, configurationService);
 
     String path = "foo/bar";
 
@@ -238,12 +247,14 @@ class WorkspaceServiceTest {
     verify(watchingService).removeWatchers(emptyList());
     verify(copybookService).invalidateCache();
     verify(subroutineService).invalidateCache();
+    verify(configurationService).invalidateCache();
     verify(localeStore).notifyLocaleStore();
   }
 
   /** Test an existing watcher removed when its path doesn't exist in setting.json */
   @Test
   void testChangeConfigurationPathRemoved() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
     SettingsService settingsService = mock(SettingsService.class);
     WatcherService watchingService = mock(WatcherService.class);
@@ -263,7 +274,7 @@ class WorkspaceServiceTest {
             localeStore,
             subroutineService,
             stateService,
-            copybookNameService, keywords, messageService);
+            copybookNameService, keywords, messageService, configurationService);
 
     ArgumentCaptor<List<String>> watcherCaptor = forClass(List.class);
     JsonArray arr = new JsonArray();
@@ -285,6 +296,7 @@ class WorkspaceServiceTest {
     verify(watchingService).removeWatchers(watcherCaptor.capture());
     verify(copybookService).invalidateCache();
     verify(subroutineService).invalidateCache();
+    verify(configurationService).invalidateCache();
     assertEquals(path, watcherCaptor.getValue().get(0));
 
     verify(broker).postData(any(RunAnalysisEvent.class));
@@ -293,6 +305,7 @@ class WorkspaceServiceTest {
   /** Test no watchers added or removed when the path is empty */
   @Test
   void testChangeConfigurationNoPathToRegister() {
+    ConfigurationService configurationService = mock(ConfigurationService.class);
     DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
     SettingsService settingsService = mock(SettingsService.class);
     WatcherService watchingService = mock(WatcherService.class);
@@ -312,7 +325,7 @@ class WorkspaceServiceTest {
             localeStore,
             subroutineService,
             stateService,
-            copybookNameService, keywords, messageService);
+            copybookNameService, keywords, messageService, configurationService);
 
     when(copybookNameService.copybookLocalFolders())
         .thenReturn(completedFuture(emptyList()));
@@ -329,6 +342,7 @@ class WorkspaceServiceTest {
     verify(watchingService).removeWatchers(emptyList());
     verify(copybookService).invalidateCache();
     verify(subroutineService).invalidateCache();
+    verify(configurationService).invalidateCache();
   }
 
   /**
@@ -366,6 +380,46 @@ class WorkspaceServiceTest {
     checkWatchers(new FileEvent("file:///c:/workspace/COBOL/.copybooks", Changed));
   }
 
+  /**
+   * This test verifies that if the watched files only changed, the caches are invalidated only for
+   * them, and the analysis is requested only for the documents that depend on them
+   */
+  @Test
+  void testDidChangeWatchedFilesInvalidatesChangedFilesOnly() {
+    String uri = "file:///c:/workspace/COBOL/.copybooks/CpyName.cpy";
+    DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
+    CopybookService copybookService = mock(CopybookService.class);
+    SubroutineService subroutineService = mock(SubroutineService.class);
+    CopybookNameService copybookNameService = mock(CopybookNameService.class);
+
+    WorkspaceService service =
+        new CobolWorkspaceServiceImpl(
+            broker,
+            null,
+            null,
+            copybookService,
+            null,
+            subroutineService,
+            stateService,
+            copybookNameService, null, null, null);
+
+    service.didChangeWatchedFiles(
+        new DidChangeWatchedFilesParams(singletonList(new FileEvent(uri, Changed))));
+
+    verify(copybookService).invalidateCache(uri);
+    verify(copybookService, never()).invalidateCache();
+    verify(subroutineService, never()).invalidateCache();
+    verify(broker).postData(new RunAnalysisEvent(false, singleton(uri)));
+
+    service.didChangeWatchedFiles(
+        new DidChangeWatchedFilesParams(
+            asList(new FileEvent(uri, Changed), new FileEvent(uri, Created))));
+
+    verify(copybookService).invalidateCache();
+    verify(subroutineService).invalidateCache();
+    verify(broker).postData(new RunAnalysisEvent(false));
+  }
+
   private void checkWatchers(FileEvent event) {
     DefaultDataBusBroker broker = mock(DefaultDataBusBroker.class);
     CopybookService copybookService = mock(CopybookService.class);
@@ -381,7 +435,7 @@ class WorkspaceServiceTest {
             null,
             subroutineService,
             stateService,
-            copybookNameService, null, null);
+            copybookNameService, null, null, null);
 
     DidChangeWatchedFilesParams params = new DidChangeWatchedFilesParams(singletonList(event));
     service.didChangeWatchedFiles(params);
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.service.copybooks;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,7 @@ class CopybookReferenceRepoImplTest {
 
   public static final String DOCUMENT_URI = "file:///c:/workspace/document.cbl";
   private static final String CPY_URI = "file:///c:/workspace/.c4z/.copybooks/PARENT.CPY";
+  private static final String NESTED_CPY_URI = "file:///c:/workspace/.c4z/.copybooks/NESTED.CPY";
   public static final String COPYBOOK_CONTENT = "sample copybook text";
 
   @Test
@@ -45,6 +47,19 @@ class CopybookReferenceRepoImplTest {
     assertEquals(DOCUMENT_URI, referencedCopybookModels.getUri());
   }
 
+  @Test
+  void getDependentDocuments() {
+    CopybookReferenceRepo repo = storeReferences();
+    CopybookName nestedName = new CopybookName("NESTED");
+    repo.storeCopybookUsageReference(
+        nestedName,
+        CPY_URI,
+        new CopybookModel(nestedName.toCopybookId(DOCUMENT_URI), nestedName, NESTED_CPY_URI, COPYBOOK_CONTENT));
+    assertEquals(ImmutableSet.of(CPY_URI, DOCUMENT_URI), repo.getDependentDocuments(NESTED_CPY_URI));
+    assertEquals(ImmutableSet.of(DOCUMENT_URI), repo.getDependentDocuments(CPY_URI));
+    assertEquals(ImmutableSet.of(), repo.getDependentDocuments(DOCUMENT_URI));
+  }
+
   private Set<CopybookModel> setUpRepo() {
     CopybookReferenceRepo repo = storeReferences();
     return repo.getCopybookUsageReference(CPY_URI);
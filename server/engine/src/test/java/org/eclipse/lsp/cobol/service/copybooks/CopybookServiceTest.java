@@ -16,6 +16,8 @@ package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.copybook.*;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisMetrics;
+import org.eclipse.lsp.cobol.core.model.extendedapi.MetricsResult;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
 import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
@@ -31,10 +33,12 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode.ENABLED;
@@ -70,6 +74,7 @@ class CopybookServiceTest {
   private final DataBusBroker broker = mock(DataBusBroker.class);
   private final CobolLanguageClient client = mock(CobolLanguageClient.class);
   private final CopybookReferenceRepo copybookReferenceRepo = new CopybookReferenceRepoImpl();
+  private final AnalysisMetrics analysisMetrics = new AnalysisMetrics();
   private final FileSystemService files = mock(FileSystemService.class);
   private final TextPreprocessor preprocessor = mock(TextPreprocessor.class);
   private final Path cpyPath = mock(Path.class);
@@ -114,6 +119,21 @@ class CopybookServiceTest {
     verify(files).getContentByPath(cpyPath);
   }
 
+  /** Test the copybook resolved once is taken from the cache and both lookups are counted */
+  @Test
+  void testCacheHitsAndMissesCounted() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    MetricsResult metrics = analysisMetrics.snapshot();
+    assertEquals(1, metrics.getCounters().get("COPYBOOK_CACHE_MISSES"));
+    assertEquals(1, metrics.getCounters().get("COPYBOOK_CACHE_HITS"));
+    assertEquals(1, metrics.getTimers().get("COPYBOOK_RESOLUTION").getCount());
+    verify(files).getContentByPath(cpyPath);
+  }
+
   /**
    * Test a main positive scenario when the copybook exists, and the request invoked while copybook
    * analysis is enabled.
@@ -431,10 +451,102 @@ class CopybookServiceTest {
     assertTrue(copybookService.getCopybooksForDownloading().isEmpty());
   }
 
+  /**
+   * Test that the prefetched copybooks are resolved with a single batch request and then served from
+   * the cache, while the unresolved ones are registered for downloading.
+   */
+  @Test
+  void testPrefetchResolvesCopybooksInBatch() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CopybookName invalidName = createCopybook(INVALID_CPY_NAME);
+    when(client.resolveCopybooks("document", asList(VALID_CPY_NAME, INVALID_CPY_NAME), "COBOL"))
+        .thenReturn(completedFuture(asList(VALID_CPY_URI, null)));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(
+        asList(validName, invalidName, validName), DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    CopybookModel copybookModel =
+        copybookService.resolve(
+            validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    assertEquals(
+        new CopybookModel(validName.toCopybookId(DOCUMENT_URI), validName, VALID_CPY_URI, CONTENT),
+        copybookModel);
+    verify(client).resolveCopybooks("document", asList(VALID_CPY_NAME, INVALID_CPY_NAME), "COBOL");
+    verify(client, never()).resolveCopybook(anyString(), anyString(), anyString());
+    assertEquals(
+        Collections.singleton(invalidName),
+        copybookService.getCopybooksForDownloading().get("document"));
+  }
+
+  /** Test the prefetched copybook is counted once as a miss, and only the later lookups as hits */
+  @Test
+  void testPrefetchedCopybookCountedOnce() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    when(client.resolveCopybooks("document", singletonList(VALID_CPY_NAME), "COBOL"))
+        .thenReturn(completedFuture(singletonList(VALID_CPY_URI)));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(singletonList(copybookName), DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    copybookService.resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    MetricsResult metrics = analysisMetrics.snapshot();
+    assertEquals(1, metrics.getCounters().get("COPYBOOK_CACHE_MISSES"));
+    assertEquals(1, metrics.getCounters().get("COPYBOOK_CACHE_HITS"));
+  }
+
+  /** Test that copybooks are resolved one by one if the client doesn't support batch resolution. */
+  @Test
+  void testPrefetchFallsBackIfBatchNotSupported() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    when(client.resolveCopybooks(anyString(), any(), anyString()))
+        .thenThrow(new UnsupportedOperationException());
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(singletonList(copybookName), DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    CopybookModel copybookModel =
+        copybookService.resolve(
+            copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    assertEquals(CONTENT, copybookModel.getContent());
+    verify(client).resolveCopybook("document", VALID_CPY_NAME, "COBOL");
+  }
+
+  /**
+   * Test that a copybook that fails to load while prefetching doesn't fail the others, and is
+   * resolved on demand instead.
+   */
+  @Test
+  void testPrefetchSkipsCopybookFailedToLoad() {
+    CopybookName validName = createCopybook(VALID_CPY_NAME);
+    CopybookName parentName = createCopybook(PARENT_CPY_NAME);
+    when(client.resolveCopybooks("document", asList(VALID_CPY_NAME, PARENT_CPY_NAME), "COBOL"))
+        .thenReturn(completedFuture(asList(VALID_CPY_URI, PARENT_CPY_URI)));
+    when(client.resolveCopybook("document", PARENT_CPY_NAME, "COBOL"))
+        .thenReturn(completedFuture(PARENT_CPY_URI));
+    when(files.getPathFromURI(PARENT_CPY_URI)).thenThrow(new IllegalArgumentException("Unsupported URI"));
+
+    CopybookServiceImpl copybookService = createCopybookService();
+    copybookService.prefetch(asList(validName, parentName), DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    CopybookModel validModel =
+        copybookService.resolve(
+            validName.toCopybookId(DOCUMENT_URI), validName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+    CopybookModel parentModel =
+        copybookService.resolve(
+            parentName.toCopybookId(DOCUMENT_URI), parentName, DOCUMENT_URI, DOCUMENT_URI, cpyConfig, false);
+
+    assertEquals(CONTENT, validModel.getContent());
+    verify(client, never()).resolveCopybook("document", VALID_CPY_NAME, "COBOL");
+    assertNull(parentModel.getUri());
+    verify(client).resolveCopybook("document", PARENT_CPY_NAME, "COBOL");
+  }
+
   private CopybookServiceImpl createCopybookService() {
     ClientProvider provider = new ClientProvider();
     provider.setClient(client);
-    return new CopybookServiceImpl(broker, provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), copybookReferenceRepo);
+    return new CopybookServiceImpl(broker, provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"),
+        new PersistentCopybookCache(null, 3, ""), copybookReferenceRepo, analysisMetrics, 2);
   }
 
   private CopybookName createCopybook(String displayName) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/** Tests {@link PersistentCopybookCache} */
+class PersistentCopybookCacheTest {
+  private static final String URI = "file:///c:/workspace/.c4z/.copybooks/CPY.cpy";
+  private static final String CONTENT = "       01 A PIC 9.";
+  private static final String CLEAN_TEXT = "       01 A PIC 9.\n";
+  private static final String VERSION = "1:abc";
+
+  @TempDir Path folder;
+
+  @Test
+  void testCleanTextRestoredAfterRestart() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(folder.resolve("copybooks.bin"), 10, VERSION);
+    cache.store(URI, CONTENT, CLEAN_TEXT);
+    cache.flush();
+
+    PersistentCopybookCache restarted =
+        new PersistentCopybookCache(folder.resolve("copybooks.bin"), 10, VERSION);
+    assertEquals(Optional.of(CLEAN_TEXT), restarted.getCleanText(URI, CONTENT));
+    assertEquals(Optional.empty(), restarted.getCleanText(URI, CONTENT + " "));
+    assertEquals(new PersistentCopybookCache.Statistics(1, 1, 0), restarted.getStatistics());
+  }
+
+  @Test
+  void testCleanTextOfOtherVersionNotReused() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(folder.resolve("copybooks.bin"), 10, VERSION);
+    cache.store(URI, CONTENT, CLEAN_TEXT);
+    cache.flush();
+
+    PersistentCopybookCache upgraded =
+        new PersistentCopybookCache(folder.resolve("copybooks.bin"), 10, "2:def");
+    assertEquals(Optional.empty(), upgraded.getCleanText(URI, CONTENT));
+    assertEquals(new PersistentCopybookCache.Statistics(0, 1, 0), upgraded.getStatistics());
+  }
+
+  @Test
+  void testEldestEntriesEvicted() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(folder.resolve("copybooks.bin"), 1, VERSION);
+    cache.store(URI, CONTENT, CLEAN_TEXT);
+    cache.store("file:///c:/workspace/.c4z/.copybooks/CPY2.cpy", CONTENT, CLEAN_TEXT);
+
+    assertEquals(Optional.empty(), cache.getCleanText(URI, CONTENT));
+    assertEquals(new PersistentCopybookCache.Statistics(0, 1, 1), cache.getStatistics());
+  }
+
+  @Test
+  void testCacheDisabledWithoutFile() {
+    PersistentCopybookCache cache = new PersistentCopybookCache(null, 10, VERSION);
+    cache.store(URI, CONTENT, CLEAN_TEXT);
+    cache.flush();
+
+    assertEquals(Optional.empty(), cache.getCleanText(URI, CONTENT));
+  }
+
+  @Test
+  void testTruncatedFileDropped() throws IOException {
+    Path cacheFile = folder.resolve("copybooks.bin");
+    PersistentCopybookCache cache = new PersistentCopybookCache(cacheFile, 10, VERSION);
+    cache.store(URI, CONTENT, CLEAN_TEXT);
+    cache.store("file:///c:/workspace/.c4z/.copybooks/CPY2.cpy", CONTENT, CLEAN_TEXT);
+    cache.flush();
+    byte[] bytes = Files.readAllBytes(cacheFile);
+    Files.write(cacheFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+    PersistentCopybookCache restarted = new PersistentCopybookCache(cacheFile, 10, VERSION);
+    assertEquals(Optional.empty(), restarted.getCleanText(URI, CONTENT));
+    assertFalse(Files.exists(cacheFile));
+  }
+
+  @Test
+  void testCorruptFileDropped() throws IOException {
+    Path cacheFile = folder.resolve("copybooks.bin");
+    try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(cacheFile))) {
+      output.writeInt(2);
+      output.writeInt(Integer.MAX_VALUE);
+    }
+
+    PersistentCopybookCache cache = new PersistentCopybookCache(cacheFile, 10, VERSION);
+    assertEquals(Optional.empty(), cache.getCleanText(URI, CONTENT));
+    assertFalse(Files.exists(cacheFile));
+  }
+}
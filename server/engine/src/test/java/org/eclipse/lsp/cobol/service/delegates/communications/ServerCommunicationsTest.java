@@ -22,12 +22,14 @@ import org.eclipse.lsp.cobol.common.file.FileSystemService;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+import org.eclipse.lsp.cobol.service.utils.TestThreadPoolExecutor;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -37,8 +39,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.lsp.cobol.test.engine.UseCaseUtils.DOCUMENT_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.eclipse.lsp4j.MessageType.Info;
 import static org.mockito.Mockito.*;
 
@@ -111,6 +116,8 @@ class ServerCommunicationsTest {
     // Prepare diagnostic map
     Diagnostic diagnostic = new Diagnostic(new Range(), "\r\ntest\r\n");
     List<Diagnostic> diagnostics = ImmutableList.of(diagnostic);
+    when(customExecutor.getScheduledThreadPoolExecutor())
+        .thenReturn(new TestThreadPoolExecutor().getScheduledThreadPoolExecutor());
 
     communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics));
 
@@ -119,6 +126,94 @@ class ServerCommunicationsTest {
     verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
   }
 
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should publish only the URIs which
+   * diagnostics changed since the last publication.
+   */
+  @Test
+  void testPublishOnlyChangedDiagnostics() {
+    String uri = UUID.randomUUID().toString();
+    String anotherUri = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "test"));
+    List<Diagnostic> changedDiagnostics = ImmutableList.of(new Diagnostic(new Range(), "changed"));
+    when(customExecutor.getScheduledThreadPoolExecutor())
+        .thenReturn(new TestThreadPoolExecutor().getScheduledThreadPoolExecutor());
+
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics, anotherUri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics, anotherUri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics, anotherUri, changedDiagnostics));
+
+    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+    verify(client, never())
+        .publishDiagnostics(eq(new PublishDiagnosticsParams(anotherUri, ImmutableList.of())));
+    verify(client, times(1))
+        .publishDiagnostics(eq(new PublishDiagnosticsParams(anotherUri, changedDiagnostics)));
+  }
+
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should compare the diagnostics
+   * themselves, so the lists with the same hash code are still published.
+   */
+  @Test
+  void testPublishDiagnosticsWithSameHashCode() {
+    String uri = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "Aa"));
+    List<Diagnostic> changedDiagnostics = ImmutableList.of(new Diagnostic(new Range(), "BB"));
+    assertEquals(diagnostics.hashCode(), changedDiagnostics.hashCode());
+    when(customExecutor.getScheduledThreadPoolExecutor())
+        .thenReturn(new TestThreadPoolExecutor().getScheduledThreadPoolExecutor());
+
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics));
+    communications.publishDiagnostics(ImmutableMap.of(uri, changedDiagnostics));
+
+    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+    verify(client, times(1)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, changedDiagnostics)));
+  }
+
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should forget the URI once its
+   * diagnostics are cleared, e.g. when the document is closed, and publish them again after that.
+   */
+  @Test
+  void testPublishDiagnosticsAfterClearing() {
+    String uri = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "test"));
+    when(customExecutor.getScheduledThreadPoolExecutor())
+        .thenReturn(new TestThreadPoolExecutor().getScheduledThreadPoolExecutor());
+
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics));
+    communications.publishDiagnostics(ImmutableMap.of(uri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics));
+
+    verify(client, times(2)).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+    verify(client, times(1))
+        .publishDiagnostics(eq(new PublishDiagnosticsParams(uri, ImmutableList.of())));
+  }
+
+  /**
+   * Method {@link ServerCommunications#publishDiagnostics(Map)} should send the diagnostics of the
+   * same URI received within the debounce window only once, with the latest values.
+   */
+  @Test
+  void testPublishDiagnosticsCoalesced() {
+    String uri = UUID.randomUUID().toString();
+    List<Diagnostic> diagnostics = ImmutableList.of(new Diagnostic(new Range(), "test"));
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    when(customExecutor.getScheduledThreadPoolExecutor()).thenReturn(scheduler);
+    ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+
+    communications.publishDiagnostics(ImmutableMap.of(uri, ImmutableList.of()));
+    communications.publishDiagnostics(ImmutableMap.of(uri, diagnostics));
+
+    verify(scheduler, times(1)).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+    verify(client, never()).publishDiagnostics(any());
+    flush.getValue().run();
+    verify(client, times(1)).publishDiagnostics(any());
+    verify(client).publishDiagnostics(eq(new PublishDiagnosticsParams(uri, diagnostics)));
+  }
+
+
   @Test
   void testNotifyProgressBegin() throws NoSuchFieldException {
     String uri = UUID.randomUUID().toString();
@@ -74,6 +74,6 @@ class MockCompletionModel {
               CopyNode nameNode = new CopyNode(Locality.builder().build(), name);
               rootNode.addChild(nameNode);
             });
-      REPO.updateSymbols(SYMBOL_SERVICE.getProgramSymbols());
+      REPO.updateSymbols("", SYMBOL_SERVICE.getProgramSymbols());
   }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** This test asserts the logic of the {@link PrefixIndex} class */
+class PrefixIndexTest {
+  private final PrefixIndex<String> index =
+      new PrefixIndex<>(
+          Stream.of("ADD", "Address", "add", "ACCEPT", "BY", "ADDZ"), Function.identity());
+
+  @Test
+  void testFindIgnoresCase() {
+    assertEquals(ImmutableList.of("ADD", "add", "Address", "ADDZ"), index.find("ad"));
+    assertEquals(ImmutableList.of("ADD", "add", "Address", "ADDZ"), index.find("Ad"));
+  }
+
+  @Test
+  void testFindByFullName() {
+    assertEquals(ImmutableList.of("ADDZ"), index.find("addz"));
+    assertEquals(ImmutableList.of(), index.find("addd"));
+  }
+
+  @Test
+  void testEmptyPrefixReturnsAll() {
+    assertEquals(6, index.find("").size());
+    assertEquals(ImmutableList.of(), PrefixIndex.<String>empty().find(""));
+  }
+}
@@ -22,7 +22,9 @@ import org.eclipse.lsp.cobol.service.CobolTextDocumentService;
 import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.SyncProvider;
 import org.eclipse.lsp.cobol.service.WatcherService;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookIdentificationService;
+import org.eclipse.lsp.cobol.service.copybooks.CopybookReferenceRepo;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookReferenceRepoImpl;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.service.delegates.actions.CodeActions;
@@ -58,6 +60,8 @@ public class MockTextDocumentService {
   @Mock protected CopybookIdentificationService copybookIdentificationService;
   @Mock protected CopybookService copybookService;
   @Mock protected WatcherService watcherService;
+  @Mock protected SymbolsRepository symbolsRepository;
+  protected CopybookReferenceRepo copybookReferenceRepo = new CopybookReferenceRepoImpl();
 
   /**
    * Give a dummy {@link CobolTextDocumentService} with mocked attributes for testing. All tasks run
@@ -79,9 +83,10 @@ public class MockTextDocumentService {
         .hoverProvider(hoverProvider)
         .configurationService(configurationService)
         .copybookService(copybookService)
-        .copybookReferenceRepo(new CopybookReferenceRepoImpl())
+        .copybookReferenceRepo(copybookReferenceRepo)
         .syncProvider(new SyncProvider())
         .watcherService(watcherService)
+        .symbolsRepository(symbolsRepository)
         .build();
   }
 
@@ -105,6 +110,7 @@ public class MockTextDocumentService {
         .configurationService(configurationService)
         .syncProvider(new SyncProvider())
         .watcherService(watcherService)
+        .symbolsRepository(symbolsRepository)
         .build();
   }
 
@@ -27,4 +27,9 @@ public class MockTextPreprocessor implements TextPreprocessor {
   public ResultWithErrors<TextTransformations> cleanUpCode(String documentUri, String cobolCode) {
     return new ResultWithErrors<>(TextTransformations.of(cobolCode, documentUri), ImmutableList.of());
   }
+
+  @Override
+  public String getVersion() {
+    return "mock";
+  }
 }
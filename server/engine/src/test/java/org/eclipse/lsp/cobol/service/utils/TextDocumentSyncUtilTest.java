@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests {@link TextDocumentSyncUtil} */
+class TextDocumentSyncUtilTest {
+  private static final String TEXT =
+      "       IDENTIFICATION DIVISION.\n"
+          + "      * A comment line\n"
+          + "       PROGRAM-ID. TEST1.";
+
+  @Test
+  void testFullTextChange() {
+    assertEquals(
+        "new text",
+        TextDocumentSyncUtil.applyChanges(
+            TEXT, ImmutableList.of(new TextDocumentContentChangeEvent("new text"))));
+  }
+
+  @Test
+  void testRangedChangesAppliedInOrder() {
+    TextDocumentContentChangeEvent rename =
+        new TextDocumentContentChangeEvent(range(2, 19, 2, 24), 5, "TEST2");
+    TextDocumentContentChangeEvent insertLine =
+        new TextDocumentContentChangeEvent(range(1, 0, 1, 0), 0, "      * New line\n");
+    assertEquals(
+        "       IDENTIFICATION DIVISION.\n"
+            + "      * New line\n"
+            + "      * A comment line\n"
+            + "       PROGRAM-ID. TEST2.",
+        TextDocumentSyncUtil.applyChanges(TEXT, ImmutableList.of(rename, insertLine)));
+  }
+
+  @Test
+  void testChangeBeyondLineEndIsClamped() {
+    TextDocumentContentChangeEvent change =
+        new TextDocumentContentChangeEvent(range(0, 100, 0, 100), 0, " ");
+    assertEquals(
+        "       IDENTIFICATION DIVISION. \n",
+        TextDocumentSyncUtil.applyChanges(
+            "       IDENTIFICATION DIVISION.\n", ImmutableList.of(change)));
+  }
+
+  @Test
+  void testCommentOnlyChange() {
+    assertTrue(
+        TextDocumentSyncUtil.isCommentOnlyChange(
+            TEXT, TEXT.replace("A comment line", "Another comment")));
+    assertFalse(TextDocumentSyncUtil.isCommentOnlyChange(TEXT, TEXT));
+    assertFalse(
+        TextDocumentSyncUtil.isCommentOnlyChange(TEXT, TEXT.replace("TEST1", "TEST2")));
+    assertFalse(
+        TextDocumentSyncUtil.isCommentOnlyChange(TEXT, TEXT.replace("      *", "       ")));
+    assertFalse(TextDocumentSyncUtil.isCommentOnlyChange(TEXT, TEXT + "\n      * New line"));
+  }
+
+  private static Range range(int startLine, int startChar, int endLine, int endChar) {
+    return new Range(new Position(startLine, startChar), new Position(endLine, endChar));
+  }
+}
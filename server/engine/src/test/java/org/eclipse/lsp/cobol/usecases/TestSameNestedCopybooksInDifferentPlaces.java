@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.usecases;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.test.CobolText;
+import org.eclipse.lsp.cobol.test.engine.UseCaseEngine;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that a copybook with a nested copybook can be included several times, and the usages in
+ * the nested copybook are found for each of the entries. Here: OUTER is processed once and reused
+ * for the second copy statement.
+ */
+class TestSameNestedCopybooksInDifferentPlaces {
+  private static final String TEXT =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 {$*CHILD} PIC 9.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "       {#*FIRST}.\n"
+          + "           COPY {~OUTER}.\n"
+          + "       {#*SECOND}.\n"
+          + "           COPY {~OUTER}.\n";
+
+  private static final String OUTER = "           COPY {~INNER}.\n";
+  private static final String INNER = "           MOVE 1 TO {$CHILD}.\n";
+
+  @Test
+  void test() {
+    UseCaseEngine.runTest(
+        TEXT,
+        ImmutableList.of(new CobolText("OUTER", OUTER), new CobolText("INNER", INNER)),
+        ImmutableMap.of());
+  }
+}